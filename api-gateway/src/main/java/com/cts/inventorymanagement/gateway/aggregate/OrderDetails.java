@@ -0,0 +1,16 @@
+package com.cts.inventorymanagement.gateway.aggregate;
+
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * Everything an order page needs in one document. Downstream bodies are passed
+ * through unchanged. When a product or stock lookup fails, its field is null, the
+ * failure is listed in {@code errors}, and {@code partial} is set.
+ */
+public record OrderDetails(JsonNode order, List<Line> lines, boolean partial, List<String> errors) {
+
+    public record Line(Long productId, Integer quantity, JsonNode product, JsonNode stock) {
+    }
+}
@@ -0,0 +1,112 @@
+package com.cts.inventorymanagement.gateway.aggregate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+/**
+ * Builds {@link OrderDetails}: loads the order from order-service, then fetches the
+ * product and stock of every distinct product on it from product-service and
+ * stock-service, all concurrently. Each lookup has its own timeout. A failed lookup
+ * leaves a gap in the document instead of failing it; only a failed order lookup
+ * fails the whole request.
+ */
+@Component
+public class OrderDetailsAggregator {
+
+    private static final int MAX_CONCURRENT_PRODUCTS = 16;
+
+    private final WebClient webClient;
+    private final Duration timeout;
+
+    public OrderDetailsAggregator(WebClient serviceWebClient,
+                                  @Value("${gateway.aggregation.timeout:2s}") Duration timeout) {
+        this.webClient = serviceWebClient;
+        this.timeout = timeout;
+    }
+
+    public Mono<OrderDetails> aggregate(Long orderId, String authorization) {
+        return get("http://order-service/orders/by-id/{id}", orderId, authorization)
+                .timeout(timeout)
+                .flatMap(order -> enrich(order, authorization));
+    }
+
+    private Mono<OrderDetails> enrich(JsonNode order, String authorization) {
+        Set<Long> productIds = new LinkedHashSet<>();
+        order.path("items").forEach(item -> productIds.add(item.path("productId").asLong()));
+
+        List<String> errors = Collections.synchronizedList(new ArrayList<>());
+        return Flux.fromIterable(productIds)
+                .flatMap(productId -> Mono.zip(
+                                lookup("product", "http://product-service/products/{id}", productId, authorization, errors),
+                                lookup("stock", "http://stock-service/stocks/{id}", productId, authorization, errors))
+                        .map(found -> Map.entry(productId, found)), MAX_CONCURRENT_PRODUCTS)
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue)
+                .map(found -> {
+                    List<OrderDetails.Line> lines = new ArrayList<>();
+                    order.path("items").forEach(item -> {
+                        Long productId = item.path("productId").asLong();
+                        Tuple2<Fetched, Fetched> parts = found.get(productId);
+                        lines.add(new OrderDetails.Line(productId, item.path("quantity").asInt(),
+                                parts.getT1().body(), parts.getT2().body()));
+                    });
+                    List<String> sortedErrors = errors.stream().sorted().collect(Collectors.toList());
+                    return new OrderDetails(order, lines, !sortedErrors.isEmpty(), sortedErrors);
+                });
+    }
+
+    private Mono<Fetched> lookup(String kind, String uri, Long productId, String authorization, List<String> errors) {
+        return get(uri, productId, authorization)
+                .timeout(timeout)
+                .map(Fetched::new)
+                .defaultIfEmpty(Fetched.MISSING)
+                .onErrorResume(error -> {
+                    errors.add(kind + " " + productId + ": " + describe(error));
+                    return Mono.just(Fetched.MISSING);
+                });
+    }
+
+    private Mono<JsonNode> get(String uri, Long id, String authorization) {
+        return webClient.get()
+                .uri(uri, id)
+                .headers(headers -> {
+                    if (authorization != null) {
+                        headers.set(HttpHeaders.AUTHORIZATION, authorization);
+                    }
+                })
+                .retrieve()
+                .bodyToMono(JsonNode.class);
+    }
+
+    private static String describe(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return String.valueOf(response.getStatusCode().value());
+        }
+        if (error instanceof TimeoutException) {
+            return "timeout";
+        }
+        return "unavailable";
+    }
+
+    private record Fetched(JsonNode body) {
+        static final Fetched MISSING = new Fetched(null);
+    }
+}
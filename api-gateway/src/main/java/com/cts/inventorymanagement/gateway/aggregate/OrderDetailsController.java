@@ -0,0 +1,51 @@
+package com.cts.inventorymanagement.gateway.aggregate;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.cts.inventorymanagement.gateway.util.JwtUtil;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code GET /order-details/{orderId}}: one round trip for an order page instead of
+ * one call per order line. Served by the gateway itself, so it checks the token here
+ * rather than through AuthenticationFilter.
+ */
+@RestController
+public class OrderDetailsController {
+
+    private final OrderDetailsAggregator aggregator;
+    private final JwtUtil jwtUtil;
+
+    public OrderDetailsController(OrderDetailsAggregator aggregator, JwtUtil jwtUtil) {
+        this.aggregator = aggregator;
+        this.jwtUtil = jwtUtil;
+    }
+
+    @GetMapping("/order-details/{orderId}")
+    public Mono<OrderDetails> getOrderDetails(@PathVariable Long orderId,
+                                              @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization) {
+        return authenticate(authorization)
+                .then(Mono.defer(() -> aggregator.aggregate(orderId, authorization)))
+                .onErrorMap(WebClientResponseException.class,
+                        e -> new ResponseStatusException(e.getStatusCode(), "Order lookup failed"))
+                .onErrorMap(e -> !(e instanceof ResponseStatusException),
+                        e -> new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Order service unavailable"));
+    }
+
+    private Mono<Void> authenticate(String authorization) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            return Mono.error(new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Missing Authorization header"));
+        }
+        return jwtUtil.validateToken(authorization.substring(7))
+                .onErrorMap(e -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Unauthorized access to the application"))
+                .then();
+    }
+}
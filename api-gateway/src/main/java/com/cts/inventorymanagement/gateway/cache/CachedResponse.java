@@ -0,0 +1,72 @@
+package com.cts.inventorymanagement.gateway.cache;
+
+import java.util.Set;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * A fully buffered downstream response that can be written to any number of
+ * client responses.
+ */
+public record CachedResponse(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+
+    private static final Set<String> NOT_REPLAYED = Set.of(
+            HttpHeaders.CONTENT_LENGTH.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.CONNECTION.toLowerCase());
+
+    public static CachedResponse of(HttpStatusCode status, HttpHeaders headers, byte[] body) {
+        HttpHeaders copy = new HttpHeaders();
+        headers.forEach((name, values) -> {
+            if (!NOT_REPLAYED.contains(name.toLowerCase())) {
+                copy.addAll(name, values);
+            }
+        });
+        return new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(copy), body);
+    }
+
+    /** Approximate memory held by this response, used for size-bounded eviction. */
+    public long weight() {
+        long headerBytes = 0;
+        for (var entry : headers.entrySet()) {
+            headerBytes += entry.getKey().length();
+            for (String value : entry.getValue()) {
+                headerBytes += value.length();
+            }
+        }
+        return body.length + headerBytes;
+    }
+
+    /** Copy for another client: cookies set for the original client are not shared. */
+    public CachedResponse withoutCookies() {
+        if (!headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return this;
+        }
+        HttpHeaders copy = new HttpHeaders();
+        copy.putAll(headers);
+        copy.remove(HttpHeaders.SET_COOKIE);
+        return new CachedResponse(status, HttpHeaders.readOnlyHttpHeaders(copy), body);
+    }
+
+    /**
+     * Writes this response to a client. Headers already set on the client response by
+     * earlier filters (rate limit state, cache status) are kept.
+     */
+    public Mono<Void> writeTo(ServerHttpResponse response) {
+        response.setStatusCode(status);
+        HttpHeaders target = response.getHeaders();
+        headers.forEach((name, values) -> {
+            if (!target.containsKey(name)) {
+                target.put(name, values);
+            }
+        });
+        response.getHeaders().setContentLength(body.length);
+        DataBuffer buffer = response.bufferFactory().wrap(body);
+        return response.writeWith(Mono.just(buffer));
+    }
+}
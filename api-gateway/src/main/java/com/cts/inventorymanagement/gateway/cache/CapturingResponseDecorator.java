@@ -0,0 +1,52 @@
+package com.cts.inventorymanagement.gateway.cache;
+
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Buffers the body written to a client response and hands the complete response to
+ * a callback before it goes out, so the callback can store it and add headers such
+ * as ETag. Streamed responses ({@code writeAndFlushWith}) pass through uncaptured.
+ */
+public class CapturingResponseDecorator extends ServerHttpResponseDecorator {
+
+    private final Function<CachedResponse, Mono<Void>> onCaptured;
+
+    public CapturingResponseDecorator(ServerHttpResponse delegate, Function<CachedResponse, Mono<Void>> onCaptured) {
+        super(delegate);
+        this.onCaptured = onCaptured;
+    }
+
+    @Override
+    public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+        return DataBufferUtils.join(Flux.from(body))
+                .map(CapturingResponseDecorator::drain)
+                .defaultIfEmpty(new byte[0])
+                .flatMap(bytes -> onCaptured.apply(capture(this, bytes))
+                        .then(Mono.defer(() -> super.writeWith(Mono.just(bufferFactory().wrap(bytes))))));
+    }
+
+    static CachedResponse capture(ServerHttpResponse response, byte[] bytes) {
+        return CachedResponse.of(response.getStatusCode() != null ? response.getStatusCode() : HttpStatus.OK,
+                response.getHeaders(), bytes);
+    }
+
+    static byte[] drain(DataBuffer buffer) {
+        try {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            return bytes;
+        } finally {
+            DataBufferUtils.release(buffer);
+        }
+    }
+}
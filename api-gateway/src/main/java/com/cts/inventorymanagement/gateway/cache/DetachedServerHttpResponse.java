@@ -0,0 +1,59 @@
+package com.cts.inventorymanagement.gateway.cache;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.server.reactive.AbstractServerHttpResponse;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * A response that is not connected to any client. Used to run a request through the
+ * rest of the filter chain in the background (e.g. to revalidate a cache entry) and
+ * collect what the downstream service returned.
+ */
+public class DetachedServerHttpResponse extends AbstractServerHttpResponse {
+
+    private volatile byte[] body = new byte[0];
+
+    public DetachedServerHttpResponse(DataBufferFactory bufferFactory) {
+        super(bufferFactory);
+    }
+
+    /** The captured response; only meaningful once the filter chain has completed. */
+    public CachedResponse toCachedResponse() {
+        return CapturingResponseDecorator.capture(this, body);
+    }
+
+    @Override
+    public <T> T getNativeResponse() {
+        throw new IllegalStateException("Detached response has no native response");
+    }
+
+    @Override
+    protected Mono<Void> writeWithInternal(Publisher<? extends DataBuffer> body) {
+        return DataBufferUtils.join(Flux.from(body))
+                .map(CapturingResponseDecorator::drain)
+                .doOnNext(bytes -> this.body = bytes)
+                .then();
+    }
+
+    @Override
+    protected Mono<Void> writeAndFlushWithInternal(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+        return writeWithInternal(Flux.from(body).concatMap(Flux::from));
+    }
+
+    @Override
+    protected void applyStatusCode() {
+    }
+
+    @Override
+    protected void applyHeaders() {
+    }
+
+    @Override
+    protected void applyCookies() {
+    }
+}
@@ -0,0 +1,29 @@
+package com.cts.inventorymanagement.gateway.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.http.server.reactive.ServerHttpRequest;
+
+/**
+ * Identity of a read request for caching and coalescing: path, query parameters in
+ * sorted order, and the values of the headers the response varies on.
+ */
+public final class RequestKeys {
+
+    private RequestKeys() {
+    }
+
+    public static String of(ServerHttpRequest request, List<String> varyHeaders) {
+        StringBuilder key = new StringBuilder(request.getPath().value());
+        Map<String, List<String>> query = new TreeMap<>(request.getQueryParams());
+        if (!query.isEmpty()) {
+            key.append('?').append(query);
+        }
+        for (String header : varyHeaders) {
+            key.append('|').append(header).append('=').append(request.getHeaders().getOrEmpty(header));
+        }
+        return key.toString();
+    }
+}
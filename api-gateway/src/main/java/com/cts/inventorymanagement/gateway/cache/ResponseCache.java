@@ -0,0 +1,73 @@
+package com.cts.inventorymanagement.gateway.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * LRU cache of responses bounded by entry count and by total bytes. Operations are
+ * short critical sections on one monitor, so callers on the event loop never wait
+ * behind I/O.
+ */
+public class ResponseCache {
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long bytes;
+
+    public ResponseCache(int maxEntries, long maxBytes) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+    }
+
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized void put(String key, Entry entry) {
+        if (entry.response().weight() > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            bytes -= previous.response().weight();
+        }
+        bytes += entry.response().weight();
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && eldest.hasNext()) {
+            bytes -= eldest.next().getValue().response().weight();
+            eldest.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        bytes = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    /**
+     * A cached response with its ETag and the time it was stored
+     * ({@link System#nanoTime()}). {@code revalidating} ensures only one background
+     * refresh runs per entry.
+     */
+    public record Entry(CachedResponse response, String etag, long storedAt, AtomicBoolean revalidating) {
+
+        public Entry(CachedResponse response, String etag, long storedAt) {
+            this(response, etag, storedAt, new AtomicBoolean());
+        }
+
+        public long ageNanos(long now) {
+            return now - storedAt;
+        }
+    }
+}
@@ -1,16 +1,26 @@
 package com.cts.inventorymanagement.gateway.config;
 
 
+import org.springframework.cloud.client.loadbalancer.reactive.ReactorLoadBalancerExchangeFilterFunction;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
 
+/**
+ * lb:// routes and the aggregation client pick instances with the peak-EWMA load
+ * balancer from inventory-common instead of round robin.
+ */
 @Configuration
 public class AppConfig {
 
+	/**
+	 * Non-blocking client for calls the gateway makes itself (aggregation, signing keys). Resolves
+	 * {@code http://<service-id>} through the load balancer and keeps the tracing
+	 * customizations of the auto-configured builder.
+	 */
 	@Bean
-	public RestTemplate template()
+	public WebClient serviceWebClient(WebClient.Builder builder, ReactorLoadBalancerExchangeFilterFunction loadBalancer)
 	{
-		return new RestTemplate();
+		return builder.filter(loadBalancer).build();
 	}
 }
@@ -0,0 +1,170 @@
+package com.cts.inventorymanagement.gateway.filter;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Admission control per route. Each route gets a {@link GradientConcurrencyLimit},
+ * and requests over the current limit are rejected at once with 503 and Retry-After
+ * instead of queueing in front of the downstream service.
+ *
+ * <p>Metrics per route: {@code gateway.concurrency.limit},
+ * {@code gateway.concurrency.inflight} and {@code gateway.concurrency.rejected}.
+ */
+@Component
+public class AdaptiveConcurrencyFilter extends AbstractGatewayFilterFactory<AdaptiveConcurrencyFilter.Config> {
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, RouteLimit> limits = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        return (exchange, chain) -> {
+            RouteLimit routeLimit = limits.computeIfAbsent(routeId(exchange), id -> register(id, config));
+            GradientConcurrencyLimit limit = routeLimit.limit();
+            if (!limit.tryAcquire()) {
+                routeLimit.rejected().increment();
+                return reject(exchange, config);
+            }
+
+            int inFlightAtStart = limit.inFlight();
+            long start = System.nanoTime();
+            return Mono.defer(() -> chain.filter(exchange)).doFinally(signal -> {
+                if (signal == SignalType.CANCEL) {
+                    limit.release();
+                } else {
+                    limit.release(System.nanoTime() - start, inFlightAtStart, isDropped(exchange, signal));
+                }
+            });
+        };
+    }
+
+    // Errors raised before the request reached the downstream service (e.g. a failed
+    // authentication) say nothing about its capacity and don't count as drops
+    private static boolean isDropped(ServerWebExchange exchange, SignalType signal) {
+        if (signal == SignalType.ON_ERROR) {
+            return ServerWebExchangeUtils.isAlreadyRouted(exchange);
+        }
+        HttpStatusCode status = exchange.getResponse().getStatusCode();
+        return status != null && (status.value() == 502 || status.value() == 503 || status.value() == 504);
+    }
+
+    private static Mono<Void> reject(ServerWebExchange exchange, Config config) {
+        exchange.getResponse().setStatusCode(HttpStatus.SERVICE_UNAVAILABLE);
+        exchange.getResponse().getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(config.getRetryAfterSeconds()));
+        return exchange.getResponse().setComplete();
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    private RouteLimit register(String routeId, Config config) {
+        GradientConcurrencyLimit limit = new GradientConcurrencyLimit(config.getInitialLimit(), config.getMinLimit(),
+                config.getMaxLimit(), config.getSmoothing(), config.getBackoffRatio(), config.getBaselineWindow());
+        Gauge.builder("gateway.concurrency.limit", limit, GradientConcurrencyLimit::limit)
+                .description("Current adaptive concurrency limit")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Gauge.builder("gateway.concurrency.inflight", limit, GradientConcurrencyLimit::inFlight)
+                .description("Requests currently admitted")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        Counter rejected = Counter.builder("gateway.concurrency.rejected")
+                .description("Requests rejected with 503 because the route was at its limit")
+                .tag("route", routeId)
+                .register(meterRegistry);
+        return new RouteLimit(limit, rejected);
+    }
+
+    private record RouteLimit(GradientConcurrencyLimit limit, Counter rejected) {
+    }
+
+    public static class Config {
+        private int initialLimit = 20;
+        private int minLimit = 4;
+        private int maxLimit = 500;
+        private double smoothing = 0.2;
+        private double backoffRatio = 0.9;
+        private int baselineWindow = 600;
+        private int retryAfterSeconds = 1;
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public int getBaselineWindow() {
+            return baselineWindow;
+        }
+
+        public void setBaselineWindow(int baselineWindow) {
+            this.baselineWindow = baselineWindow;
+        }
+
+        public int getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public void setRetryAfterSeconds(int retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+}
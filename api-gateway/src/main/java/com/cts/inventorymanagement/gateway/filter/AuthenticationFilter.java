@@ -4,9 +4,10 @@ package com.cts.inventorymanagement.gateway.filter;
 import org.springframework.http.HttpHeaders;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
 import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
 import com.cts.inventorymanagement.gateway.util.JwtUtil;
 import com.cts.inventorymanagement.gateway.validator.RouteValidator;
@@ -16,11 +17,18 @@ import com.cts.inventorymanagement.gateway.validator.RouteValidator;
 @Component
 public class AuthenticationFilter extends AbstractGatewayFilterFactory<AuthenticationFilter.Config> {
 
-    @Autowired
-    private RouteValidator routeValidator;
+    /** Exchange attribute holding the subject of a validated token, for filters further down the chain. */
+    public static final String JWT_SUBJECT_ATTR = AuthenticationFilter.class.getName() + ".subject";
+
+    /**
+     * Runs ahead of the filters that have to wrap the response before
+     * {@link NettyWriteResponseFilter} (rate limiting, caching), so they only ever see
+     * authenticated requests.
+     */
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 30;
 
     @Autowired
-    private RestTemplate template;
+    private RouteValidator routeValidator;
 
     @Autowired
     private JwtUtil jwtutil;
@@ -31,7 +39,7 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
 
     @Override
     public GatewayFilter apply(Config config) {
-        return (exchange, chain) -> {
+        return new OrderedGatewayFilter((exchange, chain) -> {
             if (routeValidator.isSecured.test(exchange.getRequest())) {
                 if (!exchange.getRequest().getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
                     throw new RuntimeException("Missing Authorization header");
@@ -42,16 +50,19 @@ public class AuthenticationFilter extends AbstractGatewayFilterFactory<Authentic
                     authHeader = authHeader.substring(7);
                 }
 
-                try {
-                    // Validate the token using JwtUtil or call the auth service
-                    jwtutil.validateToken(authHeader);
-                } catch (Exception e) {
-                    System.out.println("Invalid access!...");
-                    throw new RuntimeException("Unauthorized access to the application");
-                }
+                // Checked locally against auth-service's published keys; no call per request
+                return jwtutil.validateToken(authHeader)
+                        .onErrorMap(e -> {
+                            System.out.println("Invalid access!...");
+                            return new RuntimeException("Unauthorized access to the application");
+                        })
+                        .flatMap(claims -> {
+                            exchange.getAttributes().put(JWT_SUBJECT_ATTR, claims.getSubject());
+                            return chain.filter(exchange);
+                        });
             }
             return chain.filter(exchange);
-        };
+        }, ORDER);
     }
 
     public static class Config {
@@ -0,0 +1,108 @@
+package com.cts.inventorymanagement.gateway.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrency limit that adapts to observed latency, in the style of the gradient
+ * limiters from Netflix concurrency-limits.
+ *
+ * <p>A slow moving average of the round trip time is the baseline. Each sample
+ * compares it with the recent RTT. While latency stays near the baseline, the limit
+ * grows by about {@code sqrt(limit)}. When latency climbs, meaning requests are
+ * queueing downstream, the limit shrinks in proportion. A dropped request (5xx or
+ * an error) cuts the limit multiplicatively, as in AIMD.
+ *
+ * <p>Acquire and release are lock-free. A sample is skipped rather than waited for
+ * when another thread is already updating the limit, so Netty event loops never
+ * block here.
+ */
+class GradientConcurrencyLimit {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double backoffRatio;
+    private final double baselineDecay;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final ReentrantLock sampleLock = new ReentrantLock();
+
+    private volatile double limit;
+    private double baselineRttNanos;
+    private double recentRttNanos;
+
+    GradientConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, double smoothing,
+                             double backoffRatio, int baselineWindow) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.backoffRatio = backoffRatio;
+        this.baselineDecay = 2.0 / (baselineWindow + 1);
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+
+    /** Claims a slot, or returns {@code false} when the limit is already reached. */
+    boolean tryAcquire() {
+        int current;
+        do {
+            current = inFlight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+        } while (!inFlight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /** Releases a slot without feeding the limit, e.g. when the client cancelled. */
+    void release() {
+        inFlight.decrementAndGet();
+    }
+
+    /**
+     * Releases a slot and updates the limit from one completed request.
+     *
+     * @param rttNanos        time the request spent past admission
+     * @param inFlightAtStart requests in flight when this one was admitted
+     * @param dropped         whether the request failed in a way that signals overload
+     */
+    void release(long rttNanos, int inFlightAtStart, boolean dropped) {
+        inFlight.decrementAndGet();
+        if (!sampleLock.tryLock()) {
+            return;
+        }
+        try {
+            double current = limit;
+            if (dropped) {
+                limit = Math.max(minLimit, current * backoffRatio);
+                return;
+            }
+            if (baselineRttNanos == 0) {
+                baselineRttNanos = rttNanos;
+                recentRttNanos = rttNanos;
+                return;
+            }
+            recentRttNanos = recentRttNanos * 0.5 + rttNanos * 0.5;
+            baselineRttNanos = baselineRttNanos * (1 - baselineDecay) + rttNanos * baselineDecay;
+
+            // Don't grow the limit when the route isn't using it
+            if (inFlightAtStart < current / 2) {
+                return;
+            }
+            double gradient = Math.max(0.5, Math.min(1.0, baselineRttNanos / recentRttNanos));
+            double target = current * gradient + Math.sqrt(current);
+            double next = current * (1 - smoothing) + target * smoothing;
+            limit = Math.max(minLimit, Math.min(maxLimit, next));
+        } finally {
+            sampleLock.unlock();
+        }
+    }
+
+    int inFlight() {
+        return inFlight.get();
+    }
+
+    double limit() {
+        return limit;
+    }
+}
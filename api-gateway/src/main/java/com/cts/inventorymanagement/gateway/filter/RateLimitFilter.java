@@ -0,0 +1,183 @@
+package com.cts.inventorymanagement.gateway.filter;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.HasRouteId;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * In-memory token bucket per client and route. The client is the JWT subject that
+ * {@link AuthenticationFilter} stored on the exchange, or the remote IP when the
+ * route is not authenticated. It runs right after AuthenticationFilter and before
+ * any response caching, whatever the order in the route definition.
+ *
+ * <p>Buckets use GCRA (generic cell rate algorithm). The whole state of a client is
+ * one {@link AtomicLong} holding the time its bucket will be full again. That gives a
+ * token bucket with {@code replenishRate} tokens per second, bursts of up to
+ * {@code burstCapacity}, and continuous (sliding) refill. A check is one CAS, with
+ * no locks or timers on the event loop. Buckets that have refilled completely are
+ * dropped every {@code gateway.ratelimit.sweep-interval} on a bounded-elastic thread.
+ * Buckets are kept per route id, so a route rebuilt on refresh keeps its clients' state.
+ */
+@Component
+public class RateLimitFilter extends AbstractGatewayFilterFactory<RateLimitFilter.Config> implements DisposableBean {
+
+    public static final int ORDER = AuthenticationFilter.ORDER + 10;
+
+    private final MeterRegistry meterRegistry;
+
+    // Bucket maps by route id; filters built without a route get a key of their own
+    private final ConcurrentMap<String, ConcurrentMap<String, AtomicLong>> bucketMaps = new ConcurrentHashMap<>();
+    private final AtomicLong unnamedFilters = new AtomicLong();
+    private final Disposable sweeping;
+    private final LongSupplier nanoClock;
+
+    @Autowired
+    public RateLimitFilter(MeterRegistry meterRegistry,
+                           @Value("${gateway.ratelimit.sweep-interval:30s}") Duration sweepInterval) {
+        this(meterRegistry, sweepInterval, System::nanoTime);
+    }
+
+    RateLimitFilter(MeterRegistry meterRegistry, Duration sweepInterval, LongSupplier nanoClock) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+        this.nanoClock = nanoClock;
+        this.sweeping = Flux.interval(sweepInterval, sweepInterval, Schedulers.boundedElastic())
+                .onBackpressureDrop()
+                .subscribe(tick -> sweep());
+    }
+
+    @Override
+    public void destroy() {
+        sweeping.dispose();
+    }
+
+    void sweep() {
+        long now = nanoClock.getAsLong();
+        for (ConcurrentMap<String, AtomicLong> buckets : bucketMaps.values()) {
+            // A bucket that has refilled completely carries no state worth keeping. A
+            // request racing the removal may get one extra token, which is harmless.
+            buckets.values().removeIf(fullAt -> fullAt.get() <= now);
+        }
+    }
+
+    int bucketCount(String routeId) {
+        ConcurrentMap<String, AtomicLong> buckets = bucketMaps.get(routeId);
+        return buckets != null ? buckets.size() : 0;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("replenishRate", "burstCapacity");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, config.getReplenishRate());
+        long tolerance = interval * (Math.max(1, config.getBurstCapacity()) - 1);
+        String route = config.getRouteId() != null ? config.getRouteId() : "unnamed-" + unnamedFilters.incrementAndGet();
+        ConcurrentMap<String, AtomicLong> buckets = bucketMaps.computeIfAbsent(route, id -> new ConcurrentHashMap<>());
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            long now = nanoClock.getAsLong();
+            AtomicLong fullAt = buckets.computeIfAbsent(clientKey(exchange), key -> new AtomicLong(now));
+            long current;
+            long next;
+            do {
+                current = fullAt.get();
+                long base = Math.max(current, now);
+                if (base - now > tolerance) {
+                    return reject(exchange, config, base - now - tolerance);
+                }
+                next = base + interval;
+            } while (!fullAt.compareAndSet(current, next));
+
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            headers.set("X-RateLimit-Remaining", String.valueOf((tolerance - (next - now)) / interval + 1));
+            headers.set("X-RateLimit-Replenish-Rate", String.valueOf(config.getReplenishRate()));
+            headers.set("X-RateLimit-Burst-Capacity", String.valueOf(config.getBurstCapacity()));
+            return chain.filter(exchange);
+        }, ORDER);
+    }
+
+    private Mono<Void> reject(ServerWebExchange exchange, Config config, long waitNanos) {
+        meterRegistry.counter("gateway.ratelimit.rejected", "route", routeId(exchange)).increment();
+        exchange.getResponse().setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1)));
+        headers.set("X-RateLimit-Remaining", "0");
+        headers.set("X-RateLimit-Replenish-Rate", String.valueOf(config.getReplenishRate()));
+        headers.set("X-RateLimit-Burst-Capacity", String.valueOf(config.getBurstCapacity()));
+        return exchange.getResponse().setComplete();
+    }
+
+    private static String clientKey(ServerWebExchange exchange) {
+        String subject = exchange.getAttribute(AuthenticationFilter.JWT_SUBJECT_ATTR);
+        if (subject != null) {
+            return "sub:" + subject;
+        }
+        InetSocketAddress remote = exchange.getRequest().getRemoteAddress();
+        return remote != null && remote.getAddress() != null ? "ip:" + remote.getAddress().getHostAddress() : "ip:unknown";
+    }
+
+    private static String routeId(ServerWebExchange exchange) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        return route != null ? route.getId() : "unknown";
+    }
+
+    public static class Config implements HasRouteId {
+        private int replenishRate = 50;
+        private int burstCapacity = 100;
+        private String routeId;
+
+        public int getReplenishRate() {
+            return replenishRate;
+        }
+
+        public void setReplenishRate(int replenishRate) {
+            this.replenishRate = replenishRate;
+        }
+
+        public int getBurstCapacity() {
+            return burstCapacity;
+        }
+
+        public void setBurstCapacity(int burstCapacity) {
+            this.burstCapacity = burstCapacity;
+        }
+
+        @Override
+        public String getRouteId() {
+            return routeId;
+        }
+
+        @Override
+        public void setRouteId(String routeId) {
+            this.routeId = routeId;
+        }
+    }
+}
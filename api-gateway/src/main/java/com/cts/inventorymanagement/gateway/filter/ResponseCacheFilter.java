@@ -0,0 +1,254 @@
+package com.cts.inventorymanagement.gateway.filter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.ServerWebExchangeDecorator;
+
+import com.cts.inventorymanagement.gateway.cache.CachedResponse;
+import com.cts.inventorymanagement.gateway.cache.CapturingResponseDecorator;
+import com.cts.inventorymanagement.gateway.cache.DetachedServerHttpResponse;
+import com.cts.inventorymanagement.gateway.cache.RequestKeys;
+import com.cts.inventorymanagement.gateway.cache.ResponseCache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caches successful GET responses of a route in memory.
+ *
+ * <p>Entries are keyed by path, sorted query parameters and the configured vary
+ * headers, and bounded by count and total bytes (LRU). A fresh entry (younger than
+ * {@code ttl}) is served directly. Within the following {@code staleWhileRevalidate}
+ * window the stale copy is still served while one background request refreshes it.
+ * Every cached response carries an ETag, and a matching {@code If-None-Match} gets a
+ * 304. Any non-GET request through the route clears its cache.
+ *
+ * <p>The filter has to wrap the response before {@link NettyWriteResponseFilter}
+ * picks it up, so it runs at a fixed order after authentication and rate limiting.
+ * Outcomes are counted in {@code gateway.cache.requests{route,result}}.
+ */
+@Component
+public class ResponseCacheFilter extends AbstractGatewayFilterFactory<ResponseCacheFilter.Config> {
+
+    public static final int ORDER = NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 10;
+
+    private static final Logger log = LoggerFactory.getLogger(ResponseCacheFilter.class);
+
+    private final MeterRegistry meterRegistry;
+
+    public ResponseCacheFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public List<String> shortcutFieldOrder() {
+        return List.of("ttl", "staleWhileRevalidate");
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        ResponseCache cache = new ResponseCache(config.getMaxEntries(), config.getMaxSize().toBytes());
+        long ttl = config.getTtl().toNanos();
+        long staleWindow = config.getStaleWhileRevalidate().toNanos();
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            ServerHttpRequest request = exchange.getRequest();
+            if (!HttpMethod.GET.equals(request.getMethod())) {
+                if (HttpMethod.HEAD.equals(request.getMethod()) || HttpMethod.OPTIONS.equals(request.getMethod())) {
+                    return chain.filter(exchange);
+                }
+                return chain.filter(exchange).doFinally(signal -> cache.clear());
+            }
+
+            String key = RequestKeys.of(request, config.getVaryHeaders());
+            long now = System.nanoTime();
+            ResponseCache.Entry entry = cache.get(key);
+            if (entry != null && entry.ageNanos(now) <= ttl) {
+                record(exchange, "hit");
+                return serve(exchange, entry, now, "HIT");
+            }
+            if (entry != null && entry.ageNanos(now) <= ttl + staleWindow) {
+                record(exchange, "stale");
+                if (entry.revalidating().compareAndSet(false, true)) {
+                    revalidate(exchange, chain, cache, key, entry);
+                }
+                return serve(exchange, entry, now, "STALE");
+            }
+
+            record(exchange, "miss");
+            ServerHttpResponse response = exchange.getResponse();
+            CapturingResponseDecorator capturing = new CapturingResponseDecorator(response, captured -> {
+                if (isCacheable(captured)) {
+                    ResponseCache.Entry stored = new ResponseCache.Entry(captured, etag(captured), System.nanoTime());
+                    cache.put(key, stored);
+                    response.getHeaders().setETag(stored.etag());
+                }
+                response.getHeaders().set("X-Cache", "MISS");
+                return Mono.empty();
+            });
+            return chain.filter(exchange.mutate().response(capturing).build());
+        }, ORDER);
+    }
+
+    private Mono<Void> serve(ServerWebExchange exchange, ResponseCache.Entry entry, long now, String outcome) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        headers.setETag(entry.etag());
+        headers.set(HttpHeaders.AGE, String.valueOf(TimeUnit.NANOSECONDS.toSeconds(entry.ageNanos(now))));
+        headers.set("X-Cache", outcome);
+        if (exchange.getRequest().getHeaders().getIfNoneMatch().contains(entry.etag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            return response.setComplete();
+        }
+        return entry.response().writeTo(response);
+    }
+
+    /**
+     * Replays the request through the rest of the chain against a detached response
+     * and replaces the entry with the result. The client has already been answered
+     * from the stale copy.
+     */
+    private void revalidate(ServerWebExchange exchange, GatewayFilterChain chain, ResponseCache cache,
+                            String key, ResponseCache.Entry entry) {
+        DetachedServerHttpResponse detached = new DetachedServerHttpResponse(exchange.getResponse().bufferFactory());
+        ServerWebExchange background = new BackgroundExchange(exchange, detached);
+        chain.filter(background)
+                .then(Mono.fromSupplier(detached::toCachedResponse))
+                .doFinally(signal -> entry.revalidating().set(false))
+                .subscribe(captured -> {
+                    if (isCacheable(captured)) {
+                        cache.put(key, new ResponseCache.Entry(captured, etag(captured), System.nanoTime()));
+                    }
+                }, error -> log.debug("Revalidation of {} failed: {}", key, error.toString()));
+    }
+
+    private static boolean isCacheable(CachedResponse response) {
+        if (response.status().value() != HttpStatus.OK.value() || response.headers().containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        String cacheControl = response.headers().getCacheControl();
+        return cacheControl == null || !(cacheControl.contains("no-store") || cacheControl.contains("private"));
+    }
+
+    private static String etag(CachedResponse response) {
+        String upstream = response.headers().getETag();
+        return upstream != null ? upstream : "\"0" + DigestUtils.md5DigestAsHex(response.body()) + '"';
+    }
+
+    private void record(ServerWebExchange exchange, String result) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        meterRegistry.counter("gateway.cache.requests", "route", route != null ? route.getId() : "unknown",
+                "result", result).increment();
+    }
+
+    /**
+     * Copy of a client exchange for a background request: own attributes, no
+     * conditional headers, and a response that goes nowhere.
+     */
+    private static class BackgroundExchange extends ServerWebExchangeDecorator {
+
+        private final ServerHttpRequest request;
+        private final ServerHttpResponse response;
+        private final Map<String, Object> attributes;
+
+        BackgroundExchange(ServerWebExchange delegate, ServerHttpResponse response) {
+            super(delegate);
+            this.request = delegate.getRequest().mutate()
+                    .headers(headers -> {
+                        headers.remove(HttpHeaders.IF_NONE_MATCH);
+                        headers.remove(HttpHeaders.IF_MODIFIED_SINCE);
+                        headers.setCacheControl(CacheControl.noCache());
+                    })
+                    .build();
+            this.response = response;
+            this.attributes = new ConcurrentHashMap<>(delegate.getAttributes());
+        }
+
+        @Override
+        public ServerHttpRequest getRequest() {
+            return request;
+        }
+
+        @Override
+        public ServerHttpResponse getResponse() {
+            return response;
+        }
+
+        @Override
+        public Map<String, Object> getAttributes() {
+            return attributes;
+        }
+    }
+
+    public static class Config {
+        private Duration ttl = Duration.ofSeconds(5);
+        private Duration staleWhileRevalidate = Duration.ofSeconds(30);
+        private int maxEntries = 1000;
+        private DataSize maxSize = DataSize.ofMegabytes(16);
+        private List<String> varyHeaders = List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getStaleWhileRevalidate() {
+            return staleWhileRevalidate;
+        }
+
+        public void setStaleWhileRevalidate(Duration staleWhileRevalidate) {
+            this.staleWhileRevalidate = staleWhileRevalidate;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public DataSize getMaxSize() {
+            return maxSize;
+        }
+
+        public void setMaxSize(DataSize maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        public List<String> getVaryHeaders() {
+            return varyHeaders;
+        }
+
+        public void setVaryHeaders(List<String> varyHeaders) {
+            this.varyHeaders = varyHeaders;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.cts.inventorymanagement.gateway.filter;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.OrderedGatewayFilter;
+import org.springframework.cloud.gateway.filter.factory.AbstractGatewayFilterFactory;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+
+import com.cts.inventorymanagement.gateway.cache.CachedResponse;
+import com.cts.inventorymanagement.gateway.cache.CapturingResponseDecorator;
+import com.cts.inventorymanagement.gateway.cache.RequestKeys;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * Collapses identical GET requests that are in flight at the same time into one
+ * downstream call. The first request (the leader) is forwarded. Requests with the
+ * same key that arrive before its response start wait for that response and get a
+ * copy of it. A request arriving after the response has started is forwarded again,
+ * so nothing older than the request itself is ever served.
+ *
+ * <p>Requests are keyed like {@link ResponseCacheFilter}. Authentication and rate
+ * limiting still run per request, and cookies are never copied to other clients. If
+ * the leader is cancelled or its response is streamed, waiters send their own
+ * request instead. Outcomes are counted in
+ * {@code gateway.singleflight.requests{route,result}}.
+ */
+@Component
+public class SingleFlightFilter extends AbstractGatewayFilterFactory<SingleFlightFilter.Config> {
+
+    public static final int ORDER = ResponseCacheFilter.ORDER + 5;
+
+    private static final LeaderAbandonedException LEADER_ABANDONED = new LeaderAbandonedException();
+
+    private final MeterRegistry meterRegistry;
+
+    public SingleFlightFilter(MeterRegistry meterRegistry) {
+        super(Config.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public GatewayFilter apply(Config config) {
+        ConcurrentMap<String, Sinks.One<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+        return new OrderedGatewayFilter((exchange, chain) -> {
+            if (!HttpMethod.GET.equals(exchange.getRequest().getMethod())) {
+                return chain.filter(exchange);
+            }
+
+            String key = RequestKeys.of(exchange.getRequest(), config.getVaryHeaders());
+            Sinks.One<CachedResponse> flight = Sinks.one();
+            Sinks.One<CachedResponse> leader = inFlight.putIfAbsent(key, flight);
+            if (leader != null) {
+                record(exchange, "coalesced");
+                return follow(exchange, chain, leader);
+            }
+
+            record(exchange, "leader");
+            ServerHttpResponse response = exchange.getResponse();
+            CapturingResponseDecorator capturing = new CapturingResponseDecorator(response, captured -> {
+                inFlight.remove(key, flight);
+                flight.tryEmitValue(captured);
+                return Mono.empty();
+            });
+            return chain.filter(exchange.mutate().response(capturing).build())
+                    .doOnError(error -> {
+                        if (inFlight.remove(key, flight)) {
+                            flight.tryEmitError(error);
+                        }
+                    })
+                    .doFinally(signal -> {
+                        if (inFlight.remove(key, flight)) {
+                            flight.tryEmitError(LEADER_ABANDONED);
+                        }
+                    });
+        }, ORDER);
+    }
+
+    private Mono<Void> follow(ServerWebExchange exchange, GatewayFilterChain chain, Sinks.One<CachedResponse> leader) {
+        return leader.asMono()
+                .flatMap(shared -> shared.withoutCookies().writeTo(exchange.getResponse()))
+                .onErrorResume(LeaderAbandonedException.class, abandoned -> {
+                    record(exchange, "fallback");
+                    return chain.filter(exchange);
+                });
+    }
+
+    private void record(ServerWebExchange exchange, String result) {
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        meterRegistry.counter("gateway.singleflight.requests", "route", route != null ? route.getId() : "unknown",
+                "result", result).increment();
+    }
+
+    /** Signals waiters that the leader finished without a response they can share. */
+    private static final class LeaderAbandonedException extends RuntimeException {
+
+        LeaderAbandonedException() {
+            super("Coalesced request ended without a shareable response", null, false, false);
+        }
+    }
+
+    public static class Config {
+        private List<String> varyHeaders = List.of(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+
+        public List<String> getVaryHeaders() {
+            return varyHeaders;
+        }
+
+        public void setVaryHeaders(List<String> varyHeaders) {
+            this.varyHeaders = varyHeaders;
+        }
+    }
+}
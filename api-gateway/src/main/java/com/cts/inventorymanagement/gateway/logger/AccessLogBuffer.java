@@ -0,0 +1,69 @@
+package com.cts.inventorymanagement.gateway.logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Bounded lock-free ring of access log records with many producers (the Netty event
+ * loops) and a single consumer (the writer thread). A producer claims a slot with one
+ * CAS and never waits. When the ring is full the record is dropped and counted
+ * instead.
+ */
+class AccessLogBuffer {
+
+    private final AtomicReferenceArray<AccessLogRecord> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile long head;
+
+    AccessLogBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    boolean offer(AccessLogRecord record) {
+        long claimed;
+        do {
+            claimed = tail.get();
+            if (claimed - head >= slots.length()) {
+                dropped.incrementAndGet();
+                return false;
+            }
+        } while (!tail.compareAndSet(claimed, claimed + 1));
+        slots.set((int) (claimed & mask), record);
+        return true;
+    }
+
+    /**
+     * Hands up to {@code max} records to the consumer, in claim order. Stops early at a
+     * slot that was claimed but not yet filled. Only the writer thread may call this.
+     */
+    int drain(Consumer<AccessLogRecord> consumer, int max) {
+        long next = head;
+        int drained = 0;
+        while (drained < max) {
+            int slot = (int) (next & mask);
+            AccessLogRecord record = slots.get(slot);
+            if (record == null) {
+                break;
+            }
+            slots.lazySet(slot, null);
+            next++;
+            drained++;
+            consumer.accept(record);
+        }
+        head = next;
+        return drained;
+    }
+
+    int size() {
+        return (int) Math.max(0, tail.get() - head);
+    }
+
+    long dropped() {
+        return dropped.get();
+    }
+}
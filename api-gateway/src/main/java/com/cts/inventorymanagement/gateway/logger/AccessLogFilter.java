@@ -0,0 +1,130 @@
+package com.cts.inventorymanagement.gateway.logger;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ServerWebExchangeUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+/**
+ * Records one access log entry per request: method, path, route, status, latency and
+ * response bytes. Successful requests are sampled at {@code gateway.access-log.sample-rate}.
+ * Requests that fail (status at or above {@code gateway.access-log.always-log-status}, or
+ * an error) are always logged, as are requests the client abandoned, which are logged
+ * with status 499 once the exchange is cancelled. The entry is only queued here; {@link AccessLogWriter}
+ * formats and writes it on its own thread.
+ */
+@Component
+public class AccessLogFilter implements GlobalFilter, Ordered {
+
+    // Non-standard status (from nginx) for a request the client closed before the response
+    static final int CLIENT_CLOSED_REQUEST = 499;
+
+    private final AccessLogWriter writer;
+    private final Tracer tracer;
+    private final double sampleRate;
+    private final int alwaysLogStatus;
+
+    public AccessLogFilter(AccessLogWriter writer, Tracer tracer,
+                           @Value("${gateway.access-log.sample-rate:1.0}") double sampleRate,
+                           @Value("${gateway.access-log.always-log-status:500}") int alwaysLogStatus) {
+        this.writer = writer;
+        this.tracer = tracer;
+        this.sampleRate = sampleRate;
+        this.alwaysLogStatus = alwaysLogStatus;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        long start = System.nanoTime();
+        Span span = tracer.currentSpan();
+        String traceId = span != null ? span.context().traceId() : null;
+        CountingResponse response = new CountingResponse(exchange.getResponse());
+
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        // doFinally also sees cancellation (client gone), which neither success nor error report
+        return chain.filter(exchange.mutate().response(response).build())
+                .doOnError(failure::set)
+                .doFinally(signal -> record(exchange, response, start, traceId, signal, failure.get()));
+    }
+
+    private void record(ServerWebExchange exchange, CountingResponse response, long start, String traceId,
+                        SignalType signal, Throwable error) {
+        int status = signal == SignalType.CANCEL ? CLIENT_CLOSED_REQUEST : status(response.getStatusCode(), error);
+        if (status < alwaysLogStatus && error == null && signal == SignalType.ON_COMPLETE
+                && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            return;
+        }
+        Route route = exchange.getAttribute(ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR);
+        writer.submit(new AccessLogRecord(System.currentTimeMillis(),
+                exchange.getRequest().getMethod().name(),
+                exchange.getRequest().getPath().value(),
+                route != null ? route.getId() : "-",
+                status,
+                TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start),
+                response.bytes(),
+                traceId,
+                signal,
+                error != null ? error.getClass().getSimpleName() : null));
+    }
+
+    // The error handler sets the final status after the chain, so derive it here
+    private static int status(HttpStatusCode status, Throwable error) {
+        if (error instanceof ResponseStatusException statusException) {
+            return statusException.getStatusCode().value();
+        }
+        if (error != null) {
+            return 500;
+        }
+        return status != null ? status.value() : 200;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 10;
+    }
+
+    private static class CountingResponse extends ServerHttpResponseDecorator {
+
+        private final AtomicLong bytes = new AtomicLong();
+
+        CountingResponse(ServerHttpResponse delegate) {
+            super(delegate);
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            return super.writeWith(Flux.from(body).doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount())));
+        }
+
+        @Override
+        public Mono<Void> writeAndFlushWith(Publisher<? extends Publisher<? extends DataBuffer>> body) {
+            return super.writeAndFlushWith(Flux.from(body)
+                    .map(chunk -> Flux.from(chunk).doOnNext(buffer -> bytes.addAndGet(buffer.readableByteCount()))));
+        }
+
+        long bytes() {
+            return bytes.get();
+        }
+    }
+}
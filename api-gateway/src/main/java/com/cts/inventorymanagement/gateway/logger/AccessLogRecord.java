@@ -0,0 +1,28 @@
+package com.cts.inventorymanagement.gateway.logger;
+
+import reactor.core.publisher.SignalType;
+
+/** One request as written to the access log. */
+public record AccessLogRecord(long timestampMillis, String method, String path, String route, int status,
+                              long latencyMicros, long bytes, String traceId, SignalType signal, String error) {
+
+    String format() {
+        StringBuilder line = new StringBuilder(128)
+                .append(method).append(' ').append(path)
+                .append(" route=").append(route)
+                .append(" status=").append(status)
+                .append(" latency_us=").append(latencyMicros)
+                .append(" bytes=").append(bytes)
+                .append(" ts=").append(timestampMillis);
+        if (traceId != null) {
+            line.append(" trace=").append(traceId);
+        }
+        if (signal != null && signal != SignalType.ON_COMPLETE) {
+            line.append(" signal=").append(signal);
+        }
+        if (error != null) {
+            line.append(" error=").append(error);
+        }
+        return line.toString();
+    }
+}
@@ -0,0 +1,96 @@
+package com.cts.inventorymanagement.gateway.logger;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Background thread that drains the access log ring and writes one line per record
+ * to the {@code access-log} logger, so formatting and appender I/O never run on a
+ * Netty event loop. Remaining records are flushed on shutdown.
+ *
+ * <p>Metrics: {@code gateway.accesslog.queued} and {@code gateway.accesslog.dropped}.
+ */
+@Component
+public class AccessLogWriter implements SmartLifecycle {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("access-log");
+    private static final int BATCH = 256;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+
+    private final AccessLogBuffer buffer;
+    private volatile Thread thread;
+    private volatile boolean running;
+
+    public AccessLogWriter(@Value("${gateway.access-log.capacity:8192}") int capacity, MeterRegistry meterRegistry) {
+        this.buffer = new AccessLogBuffer(capacity);
+        Gauge.builder("gateway.accesslog.queued", buffer, AccessLogBuffer::size)
+                .description("Access log records waiting for the writer")
+                .register(meterRegistry);
+        FunctionCounter.builder("gateway.accesslog.dropped", buffer, AccessLogBuffer::dropped)
+                .description("Access log records dropped because the buffer was full")
+                .register(meterRegistry);
+    }
+
+    /** Queues a record without blocking. Returns {@code false} if it was dropped. */
+    public boolean submit(AccessLogRecord record) {
+        return buffer.offer(record);
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        thread = new Thread(this::run, "access-log-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread writer = thread;
+        if (writer != null) {
+            LockSupport.unpark(writer);
+            try {
+                writer.join(TimeUnit.SECONDS.toMillis(2));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        while (running) {
+            if (drain() == 0) {
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            }
+        }
+        while (drain() > 0) {
+            // flush what was queued before shutdown
+        }
+    }
+
+    private int drain() {
+        return buffer.drain(record -> {
+            if (record.status() >= 500 || record.error() != null) {
+                accessLog.warn(record.format());
+            } else {
+                accessLog.info(record.format());
+            }
+        }, BATCH);
+    }
+}
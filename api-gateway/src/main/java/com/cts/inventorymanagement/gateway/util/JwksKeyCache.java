@@ -0,0 +1,121 @@
+package com.cts.inventorymanagement.gateway.util;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.PublicKey;
+import java.security.spec.RSAPublicKeySpec;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import reactor.core.publisher.Mono;
+
+/**
+ * Token verification keys from auth-service's JWK set, one ready parser per key id.
+ * The set is fetched at startup and again only when a token names a key id we do not
+ * know (auth-service rotated its key). Concurrent misses share one fetch, and misses
+ * within {@code gateway.jwt.min-refresh-interval} of the last fetch are answered from
+ * what we have, so tokens with made-up key ids cannot hammer auth-service.
+ */
+@Component
+public class JwksKeyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(JwksKeyCache.class);
+
+    private final WebClient webClient;
+    private final String jwksUri;
+    private final long minRefreshNanos;
+    private final Duration timeout;
+
+    private volatile Map<String, JwtParser> parsers = Map.of();
+    private volatile long lastFetchNanos;
+    private final AtomicReference<Mono<Map<String, JwtParser>>> inFlight = new AtomicReference<>();
+
+    public JwksKeyCache(WebClient serviceWebClient,
+                        @Value("${gateway.jwt.jwks-uri:http://auth-service/auth/.well-known/jwks.json}") String jwksUri,
+                        @Value("${gateway.jwt.min-refresh-interval:30s}") Duration minRefreshInterval,
+                        @Value("${gateway.jwt.fetch-timeout:2s}") Duration timeout) {
+        this.webClient = serviceWebClient;
+        this.jwksUri = jwksUri;
+        this.minRefreshNanos = minRefreshInterval.toNanos();
+        this.timeout = timeout;
+        this.lastFetchNanos = System.nanoTime() - minRefreshNanos;
+    }
+
+    /** Parser verifying tokens signed with {@code kid}; empty if auth-service does not publish it. */
+    public Mono<JwtParser> parser(String kid) {
+        JwtParser parser = parsers.get(kid);
+        if (parser != null) {
+            return Mono.just(parser);
+        }
+        return refresh().flatMap(current -> Mono.justOrEmpty(current.get(kid)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void prefetch() {
+        refresh().subscribe(keys -> log.info("Loaded {} token signing key(s)", keys.size()),
+                error -> log.warn("Could not load token signing keys yet: {}", error.toString()));
+    }
+
+    private Mono<Map<String, JwtParser>> refresh() {
+        Mono<Map<String, JwtParser>> running = inFlight.get();
+        if (running != null) {
+            return running;
+        }
+        if (!parsers.isEmpty() && System.nanoTime() - lastFetchNanos < minRefreshNanos) {
+            return Mono.just(parsers);
+        }
+        Mono<Map<String, JwtParser>> fetch = webClient.get().uri(jwksUri)
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .timeout(timeout)
+                .map(JwksKeyCache::parse)
+                .doOnNext(fetched -> parsers = fetched)
+                .doFinally(signal -> {
+                    lastFetchNanos = System.nanoTime();
+                    inFlight.set(null);
+                })
+                .cache();
+        if (!inFlight.compareAndSet(null, fetch)) {
+            running = inFlight.get();
+            return running != null ? running : Mono.just(parsers);
+        }
+        return fetch;
+    }
+
+    private static Map<String, JwtParser> parse(JsonNode jwks) {
+        Map<String, JwtParser> parsed = new HashMap<>();
+        for (JsonNode jwk : jwks.path("keys")) {
+            if (!"RSA".equals(jwk.path("kty").asText()) || !jwk.hasNonNull("kid")) {
+                continue;
+            }
+            try {
+                PublicKey key = KeyFactory.getInstance("RSA").generatePublic(
+                        new RSAPublicKeySpec(unsigned(jwk.path("n").asText()), unsigned(jwk.path("e").asText())));
+                parsed.put(jwk.get("kid").asText(), Jwts.parserBuilder().setSigningKey(key).build());
+            } catch (GeneralSecurityException | IllegalArgumentException e) {
+                log.warn("Skipping unusable signing key {}: {}", jwk.get("kid").asText(), e.toString());
+            }
+        }
+        return Map.copyOf(parsed);
+    }
+
+    private static BigInteger unsigned(String base64Url) {
+        return new BigInteger(1, Base64.getUrlDecoder().decode(base64Url));
+    }
+}
@@ -2,33 +2,63 @@ package com.cts.inventorymanagement.gateway.util;
 
 
 import java.nio.charset.StandardCharsets;
-
-import java.security.Key;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Base64;
 
 import org.springframework.stereotype.Service;
 
-import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.security.Keys;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import reactor.core.publisher.Mono;
 
 
 
+/**
+ * Verifies RS256 tokens locally against the public keys auth-service publishes, so
+ * a request never waits on auth-service. Only an unknown key id triggers a fetch.
+ * Tokens whose id is in the {@link RevocationList} are rejected.
+ */
 @Service
 public class JwtUtil {
 
-    // Your preset secret value (should be loaded from configuration in production)
-    public static final String SECRET = "FAwq03T8oLdM38iVlWZqEsKNG3fjfa6SRbPGzMC1hQn/Sf7M/IKjP3TVUz9uOIYCA5z2nNJx436/tMnSAKQCow==";
+    private static final ObjectMapper HEADER_READER = new ObjectMapper();
+
+    private final JwksKeyCache keys;
+    private final RevocationList revocations;
 
-    
+    public JwtUtil(JwksKeyCache keys, RevocationList revocations) {
+        this.keys = keys;
+        this.revocations = revocations;
+    }
+
+    public Mono<Claims> validateToken(String token) {
+        String kid;
+        try {
+            kid = keyId(token);
+        } catch (Exception e) {
+            return Mono.error(new MalformedJwtException("Unreadable token header", e));
+        }
+        return keys.parser(kid)
+                .switchIfEmpty(Mono.error(() -> new JwtException("Unknown signing key " + kid)))
+                .map(parser -> {
+                    Claims claims = parser.parseClaimsJws(token).getBody();
+                    if (claims.getId() != null && revocations.mightBeRevoked(claims.getId())) {
+                        throw new JwtException("Token has been revoked");
+                    }
+                    return claims;
+                });
+    }
 
-    public void validateToken(String token) {
-        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
-         Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static String keyId(String token) throws Exception {
+        int dot = token.indexOf('.');
+        JsonNode header = HEADER_READER.readTree(
+                new String(Base64.getUrlDecoder().decode(token.substring(0, dot)), StandardCharsets.UTF_8));
+        if (!header.hasNonNull("kid")) {
+            throw new MalformedJwtException("Token has no key id");
+        }
+        return header.get("kid").asText();
     }
 }
@@ -0,0 +1,153 @@
+package com.cts.inventorymanagement.gateway.util;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Bloom filter of revoked access token ids, polled from auth-service's
+ * {@code /auth/revocations} every {@code gateway.jwt.revocations-refresh-interval}
+ * (conditional GET, so an unchanged filter costs a 304). A check is a few bit tests,
+ * with no I/O.
+ *
+ * <p>A false positive rejects a valid token (the client refreshes and gets a new id);
+ * a revoked token is never let through once the filter containing it has been
+ * loaded. If auth-service cannot be reached the last filter stays in use. Seconds
+ * since the last successful poll are in {@code gateway.jwt.revocations.age}.
+ */
+@Component
+public class RevocationList implements DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(RevocationList.class);
+
+    private final WebClient webClient;
+    private final String revocationsUri;
+    private final Duration refreshInterval;
+
+    private volatile Filter filter = Filter.EMPTY;
+    private volatile String etag;
+    private volatile long loadedAtNanos = System.nanoTime();
+    private volatile Disposable polling;
+
+    public RevocationList(WebClient serviceWebClient,
+                          @Value("${gateway.jwt.revocations-uri:http://auth-service/auth/revocations}") String revocationsUri,
+                          @Value("${gateway.jwt.revocations-refresh-interval:5s}") Duration refreshInterval,
+                          MeterRegistry meterRegistry) {
+        this.webClient = serviceWebClient;
+        this.revocationsUri = revocationsUri;
+        this.refreshInterval = refreshInterval;
+        Gauge.builder("gateway.jwt.revocations.age", this,
+                        list -> TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - list.loadedAtNanos))
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    public boolean mightBeRevoked(String jti) {
+        return filter.mightContain(jti);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void startPolling() {
+        polling = Flux.interval(Duration.ZERO, refreshInterval)
+                .onBackpressureDrop()
+                .concatMap(tick -> poll()
+                        .onErrorResume(error -> {
+                            log.debug("Revocation list refresh failed: {}", error.toString());
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        Disposable current = polling;
+        if (current != null) {
+            current.dispose();
+        }
+    }
+
+    private Mono<Void> poll() {
+        return webClient.get().uri(revocationsUri)
+                .headers(headers -> {
+                    if (etag != null) {
+                        headers.setIfNoneMatch(etag);
+                    }
+                })
+                .exchangeToMono(response -> {
+                    if (response.statusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+                        loadedAtNanos = System.nanoTime();
+                        return response.releaseBody();
+                    }
+                    if (!response.statusCode().is2xxSuccessful()) {
+                        return response.createError();
+                    }
+                    String newEtag = response.headers().asHttpHeaders().getFirst(HttpHeaders.ETAG);
+                    return response.bodyToMono(JsonNode.class).doOnNext(json -> {
+                        filter = Filter.from(json);
+                        etag = newEtag;
+                        loadedAtNanos = System.nanoTime();
+                    }).then();
+                })
+                .timeout(refreshInterval);
+    }
+
+    /** Read side of auth-service's filter; bit positions must be computed the same way. */
+    record Filter(long[] words, int numBits, int numHashes) {
+
+        static final Filter EMPTY = new Filter(new long[1], 64, 1);
+
+        static Filter from(JsonNode json) {
+            ByteBuffer bytes = ByteBuffer.wrap(Base64.getDecoder().decode(json.path("bits").asText()));
+            long[] words = new long[bytes.remaining() / Long.BYTES];
+            bytes.asLongBuffer().get(words);
+            int numBits = json.path("numBits").asInt();
+            if (words.length == 0 || numBits != words.length * 64) {
+                throw new IllegalArgumentException("Malformed revocation filter");
+            }
+            return new Filter(words, numBits, Math.max(1, json.path("numHashes").asInt()));
+        }
+
+        boolean mightContain(String id) {
+            long hash = fnv1a(id);
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < numHashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, numBits);
+                if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static long fnv1a(String id) {
+            long hash = 0xcbf29ce484222325L;
+            for (byte b : id.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xff;
+                hash *= 0x100000001b3L;
+            }
+            return hash;
+        }
+    }
+}
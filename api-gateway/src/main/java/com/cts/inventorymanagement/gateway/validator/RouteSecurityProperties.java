@@ -0,0 +1,45 @@
+package com.cts.inventorymanagement.gateway.validator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Route security table bound from {@code gateway.security.*}. Every path that starts
+ * with an open route's {@code path} is public for that route's {@code methods}, or for
+ * all methods when none are listed. Everything else needs a valid token.
+ */
+public class RouteSecurityProperties {
+
+    public static final String PREFIX = "gateway.security";
+
+    private List<OpenRoute> openRoutes = new ArrayList<>();
+
+    public List<OpenRoute> getOpenRoutes() {
+        return openRoutes;
+    }
+
+    public void setOpenRoutes(List<OpenRoute> openRoutes) {
+        this.openRoutes = openRoutes;
+    }
+
+    public static class OpenRoute {
+        private String path;
+        private List<String> methods = new ArrayList<>();
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+    }
+}
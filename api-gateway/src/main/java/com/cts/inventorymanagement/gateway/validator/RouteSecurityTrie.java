@@ -0,0 +1,115 @@
+package com.cts.inventorymanagement.gateway.validator;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.http.HttpMethod;
+
+/**
+ * Immutable character trie over the open route prefixes. Each node stores the
+ * methods that are public below it as a bit set, so a lookup walks the path once,
+ * in O(path length), and allocates nothing.
+ */
+final class RouteSecurityTrie {
+
+    private static final HttpMethod[] METHODS = HttpMethod.values();
+    private static final int ALL_METHODS = (1 << METHODS.length) - 1;
+
+    private final Node root;
+
+    private RouteSecurityTrie(Node root) {
+        this.root = root;
+    }
+
+    static RouteSecurityTrie compile(RouteSecurityProperties properties) {
+        Builder root = new Builder();
+        for (RouteSecurityProperties.OpenRoute route : properties.getOpenRoutes()) {
+            if (route.getPath() == null || route.getPath().isEmpty()) {
+                throw new IllegalArgumentException("Open route without a path in " + RouteSecurityProperties.PREFIX);
+            }
+            Builder node = root;
+            for (int i = 0; i < route.getPath().length(); i++) {
+                node = node.children.computeIfAbsent(route.getPath().charAt(i), c -> new Builder());
+            }
+            node.openMethods |= methodMask(route);
+        }
+        return new RouteSecurityTrie(root.build());
+    }
+
+    /** Whether any open route prefix of {@code path} allows {@code method}. */
+    boolean isOpen(String path, HttpMethod method) {
+        int bit = bit(method);
+        if (bit == 0) {
+            return false;
+        }
+        Node node = root;
+        for (int i = 0; i < path.length(); i++) {
+            node = node.child(path.charAt(i));
+            if (node == null) {
+                return false;
+            }
+            if ((node.openMethods & bit) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int methodMask(RouteSecurityProperties.OpenRoute route) {
+        if (route.getMethods() == null || route.getMethods().isEmpty()) {
+            return ALL_METHODS;
+        }
+        int mask = 0;
+        for (String name : route.getMethods()) {
+            int bit = bit(HttpMethod.valueOf(name.trim().toUpperCase()));
+            if (bit == 0) {
+                throw new IllegalArgumentException("Unknown HTTP method '" + name + "' for open route " + route.getPath());
+            }
+            mask |= bit;
+        }
+        return mask;
+    }
+
+    private static int bit(HttpMethod method) {
+        for (int i = 0; i < METHODS.length; i++) {
+            if (METHODS[i].equals(method)) {
+                return 1 << i;
+            }
+        }
+        return 0;
+    }
+
+    private static final class Node {
+        private final char[] keys;
+        private final Node[] children;
+        private final int openMethods;
+
+        Node(char[] keys, Node[] children, int openMethods) {
+            this.keys = keys;
+            this.children = children;
+            this.openMethods = openMethods;
+        }
+
+        Node child(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+
+    private static final class Builder {
+        private final Map<Character, Builder> children = new TreeMap<>();
+        private int openMethods;
+
+        Node build() {
+            char[] keys = new char[children.size()];
+            Node[] nodes = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, Builder> entry : children.entrySet()) {
+                keys[i] = entry.getKey();
+                nodes[i++] = entry.getValue().build();
+            }
+            return new Node(keys, nodes, openMethods);
+        }
+    }
+}
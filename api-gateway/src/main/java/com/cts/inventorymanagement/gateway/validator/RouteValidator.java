@@ -1,22 +1,57 @@
 package com.cts.inventorymanagement.gateway.validator;
 
 
-import java.util.List;
 import java.util.function.Predicate;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.stereotype.Component;
 
+/**
+ * Decides which requests need a token. The open routes come from
+ * {@code gateway.security.open-routes} and are compiled into a {@link RouteSecurityTrie}
+ * at startup. The table is recompiled when any {@code gateway.security.*} property
+ * changes at runtime (an {@link EnvironmentChangeEvent}, e.g. after a refresh). A
+ * table that fails to compile is logged and the previous one stays in use.
+ */
 @Component
 public class RouteValidator {
 
-    public static final List<String> openApiEndpoints = List.of(
-            "/auth/register",
-            "/auth/token",
-            "/eureka"
-    );
+    private static final Logger log = LoggerFactory.getLogger(RouteValidator.class);
 
-    public Predicate<ServerHttpRequest> isSecured = 
-            request -> openApiEndpoints.stream()
-                    .noneMatch(uri -> request.getURI().getPath().startsWith(uri));
+    private final Environment environment;
+    private volatile RouteSecurityTrie openRoutes;
+
+    public RouteValidator(Environment environment) {
+        this.environment = environment;
+        this.openRoutes = compile();
+    }
+
+    public Predicate<ServerHttpRequest> isSecured =
+            request -> !openRoutes.isOpen(request.getPath().value(), request.getMethod());
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().noneMatch(key -> key.startsWith(RouteSecurityProperties.PREFIX))) {
+            return;
+        }
+        try {
+            openRoutes = compile();
+            log.info("Reloaded route security table");
+        } catch (RuntimeException e) {
+            log.error("Invalid route security table, keeping the previous one: {}", e.getMessage());
+        }
+    }
+
+    private RouteSecurityTrie compile() {
+        RouteSecurityProperties properties = Binder.get(environment)
+                .bind(RouteSecurityProperties.PREFIX, RouteSecurityProperties.class)
+                .orElseGet(RouteSecurityProperties::new);
+        return RouteSecurityTrie.compile(properties);
+    }
 }
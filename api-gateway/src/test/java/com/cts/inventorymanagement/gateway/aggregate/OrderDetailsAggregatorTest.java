@@ -0,0 +1,110 @@
+package com.cts.inventorymanagement.gateway.aggregate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import reactor.core.publisher.Mono;
+
+class OrderDetailsAggregatorTest {
+
+    private static final String ORDER = "{\"orderId\":7,\"items\":[{\"productId\":1,\"quantity\":2},"
+            + "{\"productId\":2,\"quantity\":1},{\"productId\":1,\"quantity\":3}]}";
+
+    // Responses by path; a path without one never answers
+    private final Map<String, ClientResponse> responses = new ConcurrentHashMap<>();
+    private final List<String> requested = new CopyOnWriteArrayList<>();
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final OrderDetailsAggregator aggregator = new OrderDetailsAggregator(WebClient.builder()
+            .exchangeFunction(request -> {
+                String target = request.url().getHost() + request.url().getPath();
+                requested.add(target);
+                authorizations.add(String.valueOf(request.headers().getFirst(HttpHeaders.AUTHORIZATION)));
+                ClientResponse response = responses.get(target);
+                return response != null ? Mono.just(response) : Mono.never();
+            })
+            .build(), Duration.ofMillis(200));
+
+    @Test
+    void combinesOrderProductsAndStock() {
+        respond("order-service/orders/by-id/7", ORDER);
+        respond("product-service/products/1", "{\"name\":\"bolt\"}");
+        respond("product-service/products/2", "{\"name\":\"nut\"}");
+        respond("stock-service/stocks/1", "{\"quantity\":40}");
+        respond("stock-service/stocks/2", "{\"quantity\":9}");
+
+        OrderDetails details = aggregator.aggregate(7L, "Bearer t").block();
+
+        assertThat(details.partial()).isFalse();
+        assertThat(details.errors()).isEmpty();
+        assertThat(details.lines()).extracting(OrderDetails.Line::productId).containsExactly(1L, 2L, 1L);
+        assertThat(details.lines()).extracting(OrderDetails.Line::quantity).containsExactly(2, 1, 3);
+        assertThat(details.lines().get(1).product().path("name").asText()).isEqualTo("nut");
+        assertThat(details.lines().get(2).stock().path("quantity").asInt()).isEqualTo(40);
+        // One lookup per distinct product, each with the caller's token
+        assertThat(requested).hasSize(5);
+        assertThat(authorizations).containsOnly("Bearer t");
+    }
+
+    @Test
+    void slowLookupLeavesAGapInsteadOfFailing() {
+        respond("order-service/orders/by-id/7", ORDER);
+        respond("product-service/products/1", "{\"name\":\"bolt\"}");
+        respond("product-service/products/2", "{\"name\":\"nut\"}");
+        respond("stock-service/stocks/1", "{\"quantity\":40}");
+
+        OrderDetails details = aggregator.aggregate(7L, null).block(Duration.ofSeconds(5));
+
+        assertThat(details.partial()).isTrue();
+        assertThat(details.errors()).containsExactly("stock 2: timeout");
+        assertThat(details.lines().get(1).product()).isNotNull();
+        assertThat(details.lines().get(1).stock()).isNull();
+        assertThat(authorizations).containsOnly("null");
+    }
+
+    @Test
+    void failedLookupIsReportedWithItsStatus() {
+        respond("order-service/orders/by-id/7", ORDER);
+        respond("product-service/products/1", "{\"name\":\"bolt\"}");
+        responses.put("product-service/products/2", ClientResponse.create(HttpStatus.NOT_FOUND).build());
+        respond("stock-service/stocks/1", "{\"quantity\":40}");
+        respond("stock-service/stocks/2", "{\"quantity\":9}");
+
+        OrderDetails details = aggregator.aggregate(7L, "Bearer t").block();
+
+        assertThat(details.partial()).isTrue();
+        assertThat(details.errors()).containsExactly("product 2: 404");
+        assertThat(details.lines().get(1).product()).isNull();
+        assertThat(details.lines().get(1).stock()).isNotNull();
+    }
+
+    @Test
+    void missingOrderFailsTheWholeRequest() {
+        responses.put("order-service/orders/by-id/7", ClientResponse.create(HttpStatus.NOT_FOUND).build());
+
+        Throwable error = catchThrowable(() -> aggregator.aggregate(7L, "Bearer t").block());
+
+        assertThat(error).isInstanceOf(WebClientResponseException.NotFound.class);
+        assertThat(requested).containsExactly("order-service/orders/by-id/7");
+    }
+
+    private void respond(String target, String json) {
+        responses.put(target, ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(json)
+                .build());
+    }
+}
@@ -0,0 +1,75 @@
+package com.cts.inventorymanagement.gateway.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+class ResponseCacheTest {
+
+    @Test
+    void evictsLeastRecentlyUsedOverTheEntryLimit() {
+        ResponseCache cache = new ResponseCache(2, 1000);
+        cache.put("a", entry(10));
+        cache.put("b", entry(10));
+        cache.get("a");
+
+        cache.put("c", entry(10));
+
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("b")).isNull();
+        assertThat(cache.get("c")).isNotNull();
+        assertThat(cache.bytes()).isEqualTo(20);
+    }
+
+    @Test
+    void evictsUntilTheBytesFit() {
+        ResponseCache cache = new ResponseCache(10, 100);
+        cache.put("a", entry(40));
+        cache.put("b", entry(40));
+
+        cache.put("c", entry(60));
+
+        assertThat(cache.get("a")).isNull();
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.bytes()).isEqualTo(100);
+    }
+
+    @Test
+    void replacingAnEntryCountsOnlyTheNewBytes() {
+        ResponseCache cache = new ResponseCache(10, 100);
+        cache.put("a", entry(40));
+
+        cache.put("a", entry(30));
+
+        assertThat(cache.size()).isEqualTo(1);
+        assertThat(cache.bytes()).isEqualTo(30);
+    }
+
+    @Test
+    void skipsAResponseLargerThanTheWholeCache() {
+        ResponseCache cache = new ResponseCache(10, 100);
+        cache.put("a", entry(40));
+
+        cache.put("b", entry(101));
+
+        assertThat(cache.get("a")).isNotNull();
+        assertThat(cache.get("b")).isNull();
+    }
+
+    @Test
+    void clearForgetsEverything() {
+        ResponseCache cache = new ResponseCache(10, 100);
+        cache.put("a", entry(40));
+
+        cache.clear();
+
+        assertThat(cache.size()).isZero();
+        assertThat(cache.bytes()).isZero();
+    }
+
+    private static ResponseCache.Entry entry(int bodyBytes) {
+        return new ResponseCache.Entry(CachedResponse.of(HttpStatus.OK, new HttpHeaders(), new byte[bodyBytes]), "\"e\"", 0L);
+    }
+}
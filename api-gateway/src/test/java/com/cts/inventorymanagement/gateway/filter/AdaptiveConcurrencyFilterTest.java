@@ -0,0 +1,72 @@
+package com.cts.inventorymanagement.gateway.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+class AdaptiveConcurrencyFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GatewayFilter filter = new AdaptiveConcurrencyFilter(meterRegistry).apply(config());
+
+    @Test
+    void rejectsOverTheLimitWithRetryAfter() {
+        Disposable pending = filter.filter(exchange(), exchange -> Mono.never()).subscribe();
+
+        MockServerWebExchange rejected = exchange();
+        filter.filter(rejected, exchange -> Mono.empty()).block();
+
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(meterRegistry.counter("gateway.concurrency.rejected", "route", "unknown").count()).isEqualTo(1);
+        assertThat(meterRegistry.get("gateway.concurrency.inflight").gauge().value()).isEqualTo(1);
+        pending.dispose();
+    }
+
+    @Test
+    void cancelledRequestFreesItsSlot() {
+        filter.filter(exchange(), exchange -> Mono.never()).subscribe().dispose();
+
+        MockServerWebExchange next = exchange();
+        filter.filter(next, exchange -> Mono.empty()).block();
+
+        assertThat(next.getResponse().getStatusCode()).isNull();
+        assertThat(meterRegistry.get("gateway.concurrency.limit").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void gatewayErrorCutsTheLimit() {
+        AdaptiveConcurrencyFilter.Config config = config();
+        config.setInitialLimit(10);
+        GatewayFilter filter = new AdaptiveConcurrencyFilter(meterRegistry).apply(config);
+
+        filter.filter(exchange(), exchange -> {
+            exchange.getResponse().setStatusCode(HttpStatus.BAD_GATEWAY);
+            return Mono.empty();
+        }).block();
+
+        assertThat(meterRegistry.get("gateway.concurrency.limit").gauge().value()).isEqualTo(5);
+    }
+
+    private static AdaptiveConcurrencyFilter.Config config() {
+        AdaptiveConcurrencyFilter.Config config = new AdaptiveConcurrencyFilter.Config();
+        config.setInitialLimit(1);
+        config.setMinLimit(1);
+        config.setBackoffRatio(0.5);
+        config.setRetryAfterSeconds(2);
+        return config;
+    }
+
+    private static MockServerWebExchange exchange() {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/orders"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.cts.inventorymanagement.gateway.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class GradientConcurrencyLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(10);
+
+    @Test
+    void admitsUpToTheLimit() {
+        GradientConcurrencyLimit limit = limit(2);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.inFlight()).isEqualTo(2);
+
+        limit.release();
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void growsWhileLatencyHoldsAndTheRouteIsBusy() {
+        GradientConcurrencyLimit limit = limit(10);
+        sample(limit, FAST, 10);
+
+        for (int i = 0; i < 20; i++) {
+            sample(limit, FAST, 10);
+        }
+
+        assertThat(limit.limit()).isGreaterThan(10);
+    }
+
+    @Test
+    void neverGrowsPastTheMaximum() {
+        GradientConcurrencyLimit limit = limit(10);
+
+        for (int i = 0; i < 1000; i++) {
+            sample(limit, FAST, 100);
+        }
+
+        assertThat(limit.limit()).isEqualTo(100);
+    }
+
+    @Test
+    void doesNotGrowWhenTheRouteUsesLessThanHalf() {
+        GradientConcurrencyLimit limit = limit(10);
+
+        for (int i = 0; i < 20; i++) {
+            sample(limit, FAST, 4);
+        }
+
+        assertThat(limit.limit()).isEqualTo(10);
+    }
+
+    @Test
+    void shrinksWhenLatencyClimbs() {
+        GradientConcurrencyLimit limit = limit(10);
+        sample(limit, FAST, 10);
+
+        sample(limit, SLOW, 10);
+        assertThat(limit.limit()).isLessThan(10);
+
+        // A gradient of 0.5 settles where limit / 2 + sqrt(limit) = limit
+        for (int i = 0; i < 50; i++) {
+            sample(limit, SLOW, 10);
+        }
+        assertThat(limit.limit()).isLessThan(5);
+    }
+
+    @Test
+    void dropCutsTheLimitDownToTheMinimum() {
+        GradientConcurrencyLimit limit = limit(10);
+
+        limit.tryAcquire();
+        limit.release(FAST, 10, true);
+        assertThat(limit.limit()).isEqualTo(5);
+        assertThat(limit.inFlight()).isZero();
+
+        for (int i = 0; i < 5; i++) {
+            limit.tryAcquire();
+            limit.release(FAST, 10, true);
+        }
+        assertThat(limit.limit()).isEqualTo(2);
+    }
+
+    private static GradientConcurrencyLimit limit(int initialLimit) {
+        return new GradientConcurrencyLimit(initialLimit, 2, 100, 0.2, 0.5, 600);
+    }
+
+    private static void sample(GradientConcurrencyLimit limit, long rttNanos, int inFlightAtStart) {
+        limit.tryAcquire();
+        limit.release(rttNanos, inFlightAtStart, false);
+    }
+}
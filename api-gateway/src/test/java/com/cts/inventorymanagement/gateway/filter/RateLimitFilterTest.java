@@ -0,0 +1,157 @@
+package com.cts.inventorymanagement.gateway.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class RateLimitFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    // Sweeps only when a test asks for one
+    private final RateLimitFilter factory = new RateLimitFilter(meterRegistry, Duration.ofHours(1), clock::get);
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private final GatewayFilterChain chain = exchange -> {
+        forwarded.incrementAndGet();
+        return Mono.empty();
+    };
+
+    @AfterEach
+    void stopSweeping() {
+        factory.destroy();
+    }
+
+    @Test
+    void allowsBurstThenRejectsWithRetryAfter() {
+        GatewayFilter filter = factory.apply(config(1, 3));
+
+        for (int i = 0; i < 3; i++) {
+            MockServerWebExchange exchange = exchange("alice");
+            filter.filter(exchange, chain).block();
+            assertThat(exchange.getResponse().getStatusCode()).isNull();
+            assertThat(exchange.getResponse().getHeaders().getFirst("X-RateLimit-Remaining"))
+                    .isEqualTo(String.valueOf(2 - i));
+        }
+
+        // Half a token has come back since; the next one is due in half a second
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        MockServerWebExchange rejected = exchange("alice");
+        filter.filter(rejected, chain).block();
+        assertThat(rejected.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(rejected.getResponse().getHeaders().getFirst("X-RateLimit-Remaining")).isEqualTo("0");
+        assertThat(forwarded.get()).isEqualTo(3);
+        assertThat(meterRegistry.counter("gateway.ratelimit.rejected", "route", "unknown").count()).isEqualTo(1);
+    }
+
+    @Test
+    void limitsEachClientSeparately() {
+        GatewayFilter filter = factory.apply(config(1, 1));
+
+        filter.filter(exchange("alice"), chain).block();
+        MockServerWebExchange bob = exchange("bob");
+        filter.filter(bob, chain).block();
+        MockServerWebExchange aliceAgain = exchange("alice");
+        filter.filter(aliceAgain, chain).block();
+
+        assertThat(bob.getResponse().getStatusCode()).isNull();
+        assertThat(aliceAgain.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    @Test
+    void refillsContinuously() {
+        // One token every 10ms
+        GatewayFilter filter = factory.apply(config(100, 1));
+
+        filter.filter(exchange("alice"), chain).block();
+        MockServerWebExchange tooSoon = exchange("alice");
+        filter.filter(tooSoon, chain).block();
+        assertThat(tooSoon.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+        MockServerWebExchange halfway = exchange("alice");
+        filter.filter(halfway, chain).block();
+        assertThat(halfway.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(5));
+        MockServerWebExchange refilled = exchange("alice");
+        filter.filter(refilled, chain).block();
+        assertThat(refilled.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void sweepForgetsFullBucketsOnly() {
+        GatewayFilter filter = factory.apply(config(100, 1));
+        filter.filter(exchange("alice"), chain).block();
+
+        // Right after the request alice's bucket is still empty, so the sweep keeps it
+        factory.sweep();
+        MockServerWebExchange limited = exchange("alice");
+        filter.filter(limited, chain).block();
+        assertThat(limited.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        factory.sweep();
+        MockServerWebExchange fresh = exchange("alice");
+        filter.filter(fresh, chain).block();
+        assertThat(fresh.getResponse().getStatusCode()).isNull();
+    }
+
+    @Test
+    void sweepCoversEveryRoute() {
+        GatewayFilter products = factory.apply(config("products", 100, 1));
+        GatewayFilter orders = factory.apply(config("orders", 100, 1));
+        products.filter(exchange("alice"), chain).block();
+        orders.filter(exchange("alice"), chain).block();
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+        factory.sweep();
+
+        assertThat(factory.bucketCount("products")).isZero();
+        assertThat(factory.bucketCount("orders")).isZero();
+    }
+
+    @Test
+    void rebuiltRouteKeepsItsBuckets() {
+        factory.apply(config("products", 100, 1)).filter(exchange("alice"), chain).block();
+
+        MockServerWebExchange limited = exchange("alice");
+        factory.apply(config("products", 100, 1)).filter(limited, chain).block();
+
+        assertThat(limited.getResponse().getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+    private static RateLimitFilter.Config config(String routeId, int replenishRate, int burstCapacity) {
+        RateLimitFilter.Config config = config(replenishRate, burstCapacity);
+        config.setRouteId(routeId);
+        return config;
+    }
+
+    private static RateLimitFilter.Config config(int replenishRate, int burstCapacity) {
+        RateLimitFilter.Config config = new RateLimitFilter.Config();
+        config.setReplenishRate(replenishRate);
+        config.setBurstCapacity(burstCapacity);
+        return config;
+    }
+
+    private static MockServerWebExchange exchange(String subject) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/products"));
+        exchange.getAttributes().put(AuthenticationFilter.JWT_SUBJECT_ATTR, subject);
+        return exchange;
+    }
+}
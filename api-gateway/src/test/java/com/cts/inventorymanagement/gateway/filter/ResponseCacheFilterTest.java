@@ -0,0 +1,114 @@
+package com.cts.inventorymanagement.gateway.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.publisher.Mono;
+
+class ResponseCacheFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger forwarded = new AtomicInteger();
+    private HttpStatus downstreamStatus = HttpStatus.OK;
+    private final GatewayFilterChain chain = exchange -> {
+        int call = forwarded.incrementAndGet();
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(downstreamStatus);
+        byte[] body = ("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    };
+
+    @Test
+    void secondGetIsServedFromTheCache() {
+        GatewayFilter filter = filter(Duration.ofMinutes(1), Duration.ZERO);
+
+        MockServerWebExchange first = get("/products?b=2&a=1");
+        filter.filter(first, chain).block();
+        MockServerWebExchange second = get("/products?a=1&b=2");
+        filter.filter(second, chain).block();
+
+        assertThat(forwarded.get()).isEqualTo(1);
+        assertThat(first.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(second.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("HIT");
+        assertThat(second.getResponse().getBodyAsString().block()).isEqualTo("{\"call\":1}");
+        assertThat(second.getResponse().getHeaders().getETag()).isEqualTo(first.getResponse().getHeaders().getETag());
+        assertThat(meterRegistry.counter("gateway.cache.requests", "route", "unknown", "result", "hit").count()).isEqualTo(1);
+    }
+
+    @Test
+    void matchingIfNoneMatchGetsNotModified() {
+        GatewayFilter filter = filter(Duration.ofMinutes(1), Duration.ZERO);
+        MockServerWebExchange first = get("/products");
+        filter.filter(first, chain).block();
+
+        MockServerWebExchange conditional = MockServerWebExchange.from(MockServerHttpRequest.get("/products")
+                .header(HttpHeaders.IF_NONE_MATCH, first.getResponse().getHeaders().getETag()));
+        filter.filter(conditional, chain).block();
+
+        assertThat(conditional.getResponse().getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(forwarded.get()).isEqualTo(1);
+    }
+
+    @Test
+    void staleEntryIsServedWhileOneRequestRefreshesIt() {
+        GatewayFilter filter = filter(Duration.ZERO, Duration.ofMinutes(1));
+        filter.filter(get("/products"), chain).block();
+
+        MockServerWebExchange stale = get("/products");
+        filter.filter(stale, chain).block();
+        MockServerWebExchange refreshed = get("/products");
+        filter.filter(refreshed, chain).block();
+
+        assertThat(stale.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("STALE");
+        assertThat(stale.getResponse().getBodyAsString().block()).isEqualTo("{\"call\":1}");
+        assertThat(refreshed.getResponse().getBodyAsString().block()).isEqualTo("{\"call\":2}");
+    }
+
+    @Test
+    void errorsAreNotCached() {
+        GatewayFilter filter = filter(Duration.ofMinutes(1), Duration.ZERO);
+        downstreamStatus = HttpStatus.INTERNAL_SERVER_ERROR;
+
+        filter.filter(get("/products"), chain).block();
+        filter.filter(get("/products"), chain).block();
+
+        assertThat(forwarded.get()).isEqualTo(2);
+    }
+
+    @Test
+    void writeThroughTheRouteClearsItsCache() {
+        GatewayFilter filter = filter(Duration.ofMinutes(1), Duration.ZERO);
+        filter.filter(get("/products"), chain).block();
+
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/products")), exchange -> Mono.empty()).block();
+        MockServerWebExchange after = get("/products");
+        filter.filter(after, chain).block();
+
+        assertThat(after.getResponse().getHeaders().getFirst("X-Cache")).isEqualTo("MISS");
+        assertThat(forwarded.get()).isEqualTo(2);
+    }
+
+    private GatewayFilter filter(Duration ttl, Duration staleWhileRevalidate) {
+        ResponseCacheFilter.Config config = new ResponseCacheFilter.Config();
+        config.setTtl(ttl);
+        config.setStaleWhileRevalidate(staleWhileRevalidate);
+        return new ResponseCacheFilter(meterRegistry).apply(config);
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+}
@@ -0,0 +1,118 @@
+package com.cts.inventorymanagement.gateway.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilter;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class SingleFlightFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final GatewayFilter filter = new SingleFlightFilter(meterRegistry).apply(new SingleFlightFilter.Config());
+    private final AtomicInteger forwarded = new AtomicInteger();
+    // Downstream answers once the test releases it
+    private final Sinks.Empty<Void> downstream = Sinks.empty();
+    private final GatewayFilterChain chain = exchange -> {
+        int call = forwarded.incrementAndGet();
+        return downstream.asMono().then(Mono.defer(() -> {
+            ServerHttpResponse response = exchange.getResponse();
+            response.setStatusCode(HttpStatus.OK);
+            response.getHeaders().add(HttpHeaders.SET_COOKIE, "session=leader");
+            byte[] body = ("{\"call\":" + call + "}").getBytes(StandardCharsets.UTF_8);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+        }));
+    };
+
+    @Test
+    void concurrentIdenticalGetsShareOneDownstreamCall() {
+        MockServerWebExchange leader = get("/products/1");
+        MockServerWebExchange follower = get("/products/1");
+        filter.filter(leader, chain).subscribe();
+        filter.filter(follower, chain).subscribe();
+
+        downstream.tryEmitEmpty();
+
+        assertThat(forwarded.get()).isEqualTo(1);
+        assertThat(leader.getResponse().getBodyAsString().block()).isEqualTo("{\"call\":1}");
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo("{\"call\":1}");
+        assertThat(follower.getResponse().getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(meterRegistry.counter("gateway.singleflight.requests", "route", "unknown", "result", "coalesced").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void cookiesStayWithTheLeader() {
+        MockServerWebExchange leader = get("/products/1");
+        MockServerWebExchange follower = get("/products/1");
+        filter.filter(leader, chain).subscribe();
+        filter.filter(follower, chain).subscribe();
+
+        downstream.tryEmitEmpty();
+
+        assertThat(leader.getResponse().getHeaders().get(HttpHeaders.SET_COOKIE)).containsExactly("session=leader");
+        assertThat(follower.getResponse().getHeaders().containsKey(HttpHeaders.SET_COOKIE)).isFalse();
+    }
+
+    @Test
+    void differentQueriesAreNotCoalesced() {
+        filter.filter(get("/products?page=0"), chain).subscribe();
+        filter.filter(get("/products?page=1"), chain).subscribe();
+
+        downstream.tryEmitEmpty();
+
+        assertThat(forwarded.get()).isEqualTo(2);
+    }
+
+    @Test
+    void requestAfterTheResponseIsForwardedAgain() {
+        downstream.tryEmitEmpty();
+        filter.filter(get("/products/1"), chain).block();
+
+        MockServerWebExchange later = get("/products/1");
+        filter.filter(later, chain).block();
+
+        assertThat(forwarded.get()).isEqualTo(2);
+        assertThat(later.getResponse().getBodyAsString().block()).isEqualTo("{\"call\":2}");
+    }
+
+    @Test
+    void followerSendsItsOwnRequestWhenTheLeaderIsCancelled() {
+        Disposable leader = filter.filter(get("/products/1"), chain).subscribe();
+        MockServerWebExchange follower = get("/products/1");
+        filter.filter(follower, chain).subscribe();
+
+        leader.dispose();
+        downstream.tryEmitEmpty();
+
+        assertThat(forwarded.get()).isEqualTo(2);
+        assertThat(follower.getResponse().getBodyAsString().block()).isEqualTo("{\"call\":2}");
+        assertThat(meterRegistry.counter("gateway.singleflight.requests", "route", "unknown", "result", "fallback").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void postsAreNeverCoalesced() {
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/products")), chain).subscribe();
+        filter.filter(MockServerWebExchange.from(MockServerHttpRequest.post("/products")), chain).subscribe();
+
+        assertThat(forwarded.get()).isEqualTo(2);
+    }
+
+    private static MockServerWebExchange get(String uri) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get(uri));
+    }
+}
@@ -0,0 +1,113 @@
+package com.cts.inventorymanagement.gateway.logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class AccessLogBufferTest {
+
+    @Test
+    void drainsInOfferOrder() {
+        AccessLogBuffer buffer = new AccessLogBuffer(8);
+        for (int i = 0; i < 5; i++) {
+            assertThat(buffer.offer(record("p", i))).isTrue();
+        }
+        assertThat(buffer.size()).isEqualTo(5);
+
+        List<Integer> seen = new ArrayList<>();
+        assertThat(buffer.drain(record -> seen.add(record.status()), 3)).isEqualTo(3);
+        assertThat(buffer.drain(record -> seen.add(record.status()), 10)).isEqualTo(2);
+
+        assertThat(seen).containsExactly(0, 1, 2, 3, 4);
+        assertThat(buffer.size()).isZero();
+    }
+
+    @Test
+    void dropsAndCountsWhenFull() {
+        AccessLogBuffer buffer = new AccessLogBuffer(4);
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(record("p", i))).isTrue();
+        }
+
+        assertThat(buffer.offer(record("p", 4))).isFalse();
+        assertThat(buffer.dropped()).isEqualTo(1);
+
+        // Draining frees slots for new records, which wrap around the ring
+        buffer.drain(record -> { }, 2);
+        assertThat(buffer.offer(record("p", 5))).isTrue();
+        List<Integer> seen = new ArrayList<>();
+        buffer.drain(record -> seen.add(record.status()), 10);
+        assertThat(seen).containsExactly(2, 3, 5);
+    }
+
+    @Test
+    void roundsCapacityUpToAPowerOfTwo() {
+        AccessLogBuffer buffer = new AccessLogBuffer(5);
+        int accepted = 0;
+        while (buffer.offer(record("p", accepted))) {
+            accepted++;
+        }
+        assertThat(accepted).isEqualTo(8);
+    }
+
+    @Test
+    void concurrentProducersLoseNothingThatWasAccepted() throws Exception {
+        int producers = 4;
+        int perProducer = 20_000;
+        AccessLogBuffer buffer = new AccessLogBuffer(1024);
+        ExecutorService pool = Executors.newFixedThreadPool(producers);
+        CountDownLatch start = new CountDownLatch(1);
+        int[] accepted = new int[producers];
+        List<Future<?>> futures = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < perProducer; i++) {
+                    if (buffer.offer(record("p" + producer, i))) {
+                        accepted[producer]++;
+                    }
+                }
+                return null;
+            }));
+        }
+
+        Map<String, Integer> lastSeen = new HashMap<>();
+        Map<String, Integer> received = new HashMap<>();
+        start.countDown();
+        while (!futures.stream().allMatch(Future::isDone) || buffer.size() > 0) {
+            buffer.drain(record -> {
+                // Records of one producer arrive in the order it offered them
+                Integer previous = lastSeen.put(record.method(), record.status());
+                assertThat(previous == null || previous < record.status()).isTrue();
+                received.merge(record.method(), 1, Integer::sum);
+            }, 256);
+        }
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+
+        long total = 0;
+        for (int p = 0; p < producers; p++) {
+            assertThat(received.getOrDefault("p" + p, 0)).isEqualTo(accepted[p]);
+            total += accepted[p];
+        }
+        assertThat(total + buffer.dropped()).isEqualTo((long) producers * perProducer);
+    }
+
+    private static AccessLogRecord record(String producer, int sequence) {
+        return new AccessLogRecord(0L, producer, "/", "-", sequence, 0L, 0L, null, null, null);
+    }
+}
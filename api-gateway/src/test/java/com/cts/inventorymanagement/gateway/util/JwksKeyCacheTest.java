@@ -0,0 +1,146 @@
+package com.cts.inventorymanagement.gateway.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.math.BigInteger;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+class JwksKeyCacheTest {
+
+    // Keys auth-service publishes right now, by key id
+    private final Map<String, KeyPair> published = new LinkedHashMap<>();
+    private final AtomicInteger fetches = new AtomicInteger();
+    private Sinks.Empty<Void> gate;
+    private final WebClient webClient = WebClient.builder()
+            .exchangeFunction(request -> {
+                fetches.incrementAndGet();
+                Mono<Void> wait = gate != null ? gate.asMono() : Mono.empty();
+                return wait.then(Mono.fromSupplier(() -> ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(jwks())
+                        .build()));
+            })
+            .build();
+
+    @Test
+    void knownKeyIsServedWithoutFetching() {
+        published.put("k1", keyPair());
+        JwksKeyCache cache = cache(Duration.ZERO);
+
+        assertThat(cache.parser("k1").block()).isNotNull();
+        assertThat(cache.parser("k1").block()).isNotNull();
+
+        assertThat(fetches.get()).isEqualTo(1);
+    }
+
+    @Test
+    void unknownKeyIdFetchesTheRotatedSet() {
+        published.put("k1", keyPair());
+        JwksKeyCache cache = cache(Duration.ZERO);
+        cache.parser("k1").block();
+
+        published.put("k2", keyPair());
+
+        assertThat(cache.parser("k2").block()).isNotNull();
+        assertThat(fetches.get()).isEqualTo(2);
+    }
+
+    @Test
+    void madeUpKeyIdsWithinTheRefreshIntervalDoNotFetch() {
+        published.put("k1", keyPair());
+        JwksKeyCache cache = cache(Duration.ofHours(1));
+        cache.parser("k1").block();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(cache.parser("forged-" + i).block()).isNull();
+        }
+
+        assertThat(fetches.get()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentMissesShareOneFetch() {
+        published.put("k1", keyPair());
+        gate = Sinks.empty();
+        JwksKeyCache cache = cache(Duration.ZERO);
+
+        Mono<?> first = cache.parser("k1").cache();
+        Mono<?> second = cache.parser("k1").cache();
+        first.subscribe();
+        second.subscribe();
+        gate.tryEmitEmpty();
+
+        assertThat(first.block()).isNotNull();
+        assertThat(second.block()).isNotNull();
+        assertThat(fetches.get()).isEqualTo(1);
+    }
+
+    @Test
+    void jwtUtilVerifiesTokensSignedWithAPublishedKey() {
+        KeyPair key = keyPair();
+        published.put("k1", key);
+        JwtUtil jwtUtil = new JwtUtil(cache(Duration.ZERO), mock(RevocationList.class));
+        String token = Jwts.builder().setHeaderParam("kid", "k1").setSubject("alice")
+                .signWith(key.getPrivate(), SignatureAlgorithm.RS256).compact();
+        String unknown = Jwts.builder().setHeaderParam("kid", "k9").setSubject("mallory")
+                .signWith(keyPair().getPrivate(), SignatureAlgorithm.RS256).compact();
+
+        Claims claims = jwtUtil.validateToken(token).block();
+
+        assertThat(claims.getSubject()).isEqualTo("alice");
+        assertThat(jwtUtil.validateToken(unknown).onErrorResume(JwtException.class, e -> Mono.empty()).block()).isNull();
+    }
+
+    private JwksKeyCache cache(Duration minRefreshInterval) {
+        return new JwksKeyCache(webClient, "http://auth-service/auth/.well-known/jwks.json", minRefreshInterval,
+                Duration.ofSeconds(2));
+    }
+
+    private String jwks() {
+        return published.entrySet().stream()
+                .map(entry -> {
+                    RSAPublicKey key = (RSAPublicKey) entry.getValue().getPublic();
+                    return "{\"kty\":\"RSA\",\"kid\":\"" + entry.getKey() + "\",\"n\":\"" + base64Url(key.getModulus())
+                            + "\",\"e\":\"" + base64Url(key.getPublicExponent()) + "\"}";
+                })
+                .collect(Collectors.joining(",", "{\"keys\":[", "]}"));
+    }
+
+    private static String base64Url(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static KeyPair keyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+            generator.initialize(2048);
+            return generator.generateKeyPair();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.cts.inventorymanagement.gateway.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+class RevocationListFilterTest {
+
+    // Produced by auth-service's BloomFilter for jti-1, jti-2 and jti-3 at a 1% rate
+    // (asserted in its BloomFilterTest), so both sides must hash ids the same way
+    private static final String FIXTURE_BITS = "ABEAAAAAACAACAAAACBAABAAAAAAABAAAAAAAAAAAEAAAAQAAAAAAAAAAIACAAAAAAAAAEABAAAAAAgAAAAACAAAAAQAgAAAIgAAAQAAAAA=";
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void findsEveryIdAuthServiceAdded() {
+        RevocationList.Filter filter = RevocationList.Filter.from(json(640, 7, FIXTURE_BITS));
+
+        assertThat(filter.mightContain("jti-1")).isTrue();
+        assertThat(filter.mightContain("jti-2")).isTrue();
+        assertThat(filter.mightContain("jti-3")).isTrue();
+    }
+
+    @Test
+    void rarelyMatchesOtherIds() {
+        RevocationList.Filter filter = RevocationList.Filter.from(json(640, 7, FIXTURE_BITS));
+
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain("other-" + i)) {
+                falsePositives++;
+            }
+        }
+        assertThat(falsePositives).isLessThan(100);
+    }
+
+    @Test
+    void emptyFilterContainsNothing() {
+        assertThat(RevocationList.Filter.EMPTY.mightContain("jti-1")).isFalse();
+    }
+
+    @Test
+    void rejectsBitsThatDoNotMatchNumBits() {
+        assertThatThrownBy(() -> RevocationList.Filter.from(json(1280, 7, FIXTURE_BITS)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RevocationList.Filter.from(json(0, 7, "")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private JsonNode json(int numBits, int numHashes, String bits) {
+        ObjectNode json = mapper.createObjectNode();
+        json.put("numBits", numBits);
+        json.put("numHashes", numHashes);
+        json.put("bits", bits);
+        return json;
+    }
+}
@@ -0,0 +1,75 @@
+package com.cts.inventorymanagement.gateway.validator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+class RouteSecurityTrieTest {
+
+    private final RouteSecurityTrie trie = RouteSecurityTrie.compile(properties(
+            route("/auth/token"),
+            route("/auth/register", "post"),
+            route("/products", "GET", "HEAD"),
+            route("/products/admin/open", "DELETE")));
+
+    @Test
+    void openRouteMatchesItsPathAndEverythingBelowIt() {
+        assertThat(trie.isOpen("/auth/token", HttpMethod.POST)).isTrue();
+        assertThat(trie.isOpen("/auth/token/refresh", HttpMethod.GET)).isTrue();
+        assertThat(trie.isOpen("/products?page=2", HttpMethod.GET)).isTrue();
+    }
+
+    @Test
+    void pathsOutsideOpenRoutesNeedAToken() {
+        assertThat(trie.isOpen("/auth", HttpMethod.POST)).isFalse();
+        assertThat(trie.isOpen("/auth/tok", HttpMethod.POST)).isFalse();
+        assertThat(trie.isOpen("/orders", HttpMethod.GET)).isFalse();
+        assertThat(trie.isOpen("", HttpMethod.GET)).isFalse();
+    }
+
+    @Test
+    void methodsAreCheckedPerRoute() {
+        assertThat(trie.isOpen("/auth/register", HttpMethod.POST)).isTrue();
+        assertThat(trie.isOpen("/auth/register", HttpMethod.GET)).isFalse();
+        assertThat(trie.isOpen("/products/7", HttpMethod.HEAD)).isTrue();
+        assertThat(trie.isOpen("/products/7", HttpMethod.POST)).isFalse();
+    }
+
+    @Test
+    void longerPrefixAddsMethodsWithoutRemovingShorterOnes() {
+        assertThat(trie.isOpen("/products/admin/open/1", HttpMethod.DELETE)).isTrue();
+        assertThat(trie.isOpen("/products/admin/open/1", HttpMethod.GET)).isTrue();
+        assertThat(trie.isOpen("/products/admin/1", HttpMethod.DELETE)).isFalse();
+    }
+
+    @Test
+    void nonStandardMethodIsNeverOpen() {
+        assertThat(trie.isOpen("/auth/token", HttpMethod.valueOf("PURGE"))).isFalse();
+    }
+
+    @Test
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> RouteSecurityTrie.compile(properties(route(""))))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> RouteSecurityTrie.compile(properties(route("/products", "PURGE"))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("PURGE");
+    }
+
+    private static RouteSecurityProperties properties(RouteSecurityProperties.OpenRoute... routes) {
+        RouteSecurityProperties properties = new RouteSecurityProperties();
+        properties.setOpenRoutes(List.of(routes));
+        return properties;
+    }
+
+    private static RouteSecurityProperties.OpenRoute route(String path, String... methods) {
+        RouteSecurityProperties.OpenRoute route = new RouteSecurityProperties.OpenRoute();
+        route.setPath(path);
+        route.setMethods(List.of(methods));
+        return route;
+    }
+}
@@ -1,5 +1,8 @@
 package com.cts.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -8,20 +11,30 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
 @Configuration
 @EnableWebSecurity
 public class AuthConfig {
 
 	
 	@Bean
-	public PasswordEncoder passwordEncoder()
+	public PasswordEncoder passwordEncoder(@Value("${auth.password.bcrypt-strength:10}") int strength,
+			PasswordHashingExecutor passwordHashing, MeterRegistry meterRegistry)
+	{
+		return new LoadAwarePasswordEncoder(strength, passwordHashing, meterRegistry);
+	}
+
+	@Bean
+	public TtlUserCache userCache(@Value("${auth.user-cache.ttl:60s}") Duration ttl,
+			@Value("${auth.user-cache.max-entries:10000}") int maxEntries, MeterRegistry meterRegistry)
 	{
-		return new BCryptPasswordEncoder();
+		return new TtlUserCache(ttl.toNanos(), maxEntries, meterRegistry);
 	}
 	
 	@Bean
@@ -46,10 +59,16 @@ public class AuthConfig {
 	}
 	
 	@Bean
-	public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder) {
+	public AuthenticationProvider authenticationProvider(UserDetailsService userDetailsService, PasswordEncoder passwordEncoder,
+			TtlUserCache userCache) {
 	    DaoAuthenticationProvider provider = new DaoAuthenticationProvider();
 	    provider.setUserDetailsService(userDetailsService);
 	    provider.setPasswordEncoder(passwordEncoder);
+	    provider.setUserCache(userCache);
+	    // Lets the encoder rehash a password at a higher cost on a successful login
+	    if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+	        provider.setUserDetailsPasswordService(passwordService);
+	    }
 	    return provider;
 	}
 
@@ -3,7 +3,9 @@ package com.cts.config;
 import java.util.ArrayList;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
@@ -12,11 +14,14 @@ import com.cts.entity.UserCredentials;
 import com.cts.repository.UserCredentialRepo;
 
 @Component
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserCredentialRepo credentialRepo;
 
+    @Autowired
+    private UserCache userCache;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         return credentialRepo.findByEmail(email)
@@ -24,5 +29,16 @@ public class CustomUserDetailsService implements UserDetailsService {
             .orElseThrow(() -> new UsernameNotFoundException("User not found with email "+email));
     }
 
+    // Called after a successful login when the stored hash should be upgraded
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        UserCredentials credentials = credentialRepo.findByEmail(user.getUsername())
+            .orElseThrow(() -> new UsernameNotFoundException("User not found with email "+user.getUsername()));
+        credentials.setPassword(newPassword);
+        credentialRepo.save(credentials);
+        userCache.removeUserFromCache(user.getUsername());
+        return new CustomUserDetails(credentials);
+    }
+
 }
 
@@ -0,0 +1,54 @@
+package com.cts.config;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * BCrypt at a configurable cost, run on the {@link PasswordHashingExecutor} pool so that
+ * only the hashing itself leaves the request thread (503 when the pool is saturated).
+ * It also moves existing hashes up to the configured cost on login.
+ * Stored hashes of any cost still verify. When a user logs in with a hash below the
+ * target cost, {@code DaoAuthenticationProvider} rehashes the password, but only if
+ * the hashing pool has spare capacity; under load the upgrade is left for a later
+ * login. Decisions are counted in {@code auth.password.upgrades{result=upgraded|deferred}}.
+ */
+public class LoadAwarePasswordEncoder implements PasswordEncoder {
+
+	private final BCryptPasswordEncoder delegate;
+	private final PasswordHashingExecutor hashing;
+	private final Counter upgraded;
+	private final Counter deferred;
+
+	public LoadAwarePasswordEncoder(int strength, PasswordHashingExecutor hashing, MeterRegistry meterRegistry) {
+		this.delegate = new BCryptPasswordEncoder(strength);
+		this.hashing = hashing;
+		this.upgraded = meterRegistry.counter("auth.password.upgrades", "result", "upgraded");
+		this.deferred = meterRegistry.counter("auth.password.upgrades", "result", "deferred");
+	}
+
+	@Override
+	public String encode(CharSequence rawPassword) {
+		return hashing.call(() -> delegate.encode(rawPassword));
+	}
+
+	@Override
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return hashing.call(() -> delegate.matches(rawPassword, encodedPassword));
+	}
+
+	@Override
+	public boolean upgradeEncoding(String encodedPassword) {
+		if (!delegate.upgradeEncoding(encodedPassword)) {
+			return false;
+		}
+		if (!hashing.hasSpareCapacity()) {
+			deferred.increment();
+			return false;
+		}
+		upgraded.increment();
+		return true;
+	}
+}
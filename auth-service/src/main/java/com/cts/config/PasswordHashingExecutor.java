@@ -0,0 +1,97 @@
+package com.cts.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+
+/**
+ * Runs BCrypt work (login checks, hashing new passwords) on a fixed pool of one
+ * thread per core with a bounded queue. A login storm then uses at most the cores it
+ * is given, instead of as many request threads as Tomcat has, and once the queue is
+ * full further logins get 503 straight away rather than timing out. Pool and queue
+ * metrics are published under {@code auth.password.hashing}, rejections in
+ * {@code auth.login.rejected}.
+ */
+@Component
+public class PasswordHashingExecutor implements DisposableBean {
+
+	private final ThreadPoolExecutor executor;
+	private final Counter rejected;
+
+	public PasswordHashingExecutor(@Value("${auth.password.threads:0}") int threads,
+			@Value("${auth.password.queue-capacity:256}") int queueCapacity, MeterRegistry meterRegistry) {
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity), new NamedThreadFactory());
+		this.rejected = meterRegistry.counter("auth.login.rejected");
+		new ExecutorServiceMetrics(executor, "auth.password.hashing", Tags.empty()).bindTo(meterRegistry);
+	}
+
+	/** Runs {@code work} on the pool and waits for it; exceptions are rethrown unchanged. */
+	public <T> T call(Callable<T> work) {
+		Future<T> future;
+		try {
+			future = executor.submit(work);
+		} catch (RejectedExecutionException e) {
+			rejected.increment();
+			throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many logins in progress, retry shortly");
+		}
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException runtime) {
+				throw runtime;
+			}
+			if (e.getCause() instanceof Error error) {
+				throw error;
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			future.cancel(true);
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for password check", e);
+		}
+	}
+
+	/**
+	 * Whether the pool is at most half busy with nothing queued, i.e. there is room for
+	 * optional work such as rehashing a password at a higher cost.
+	 */
+	public boolean hasSpareCapacity() {
+		return executor.getQueue().isEmpty() && executor.getActiveCount() <= executor.getMaximumPoolSize() / 2;
+	}
+
+	@Override
+	public void destroy() {
+		executor.shutdown();
+	}
+
+	private static final class NamedThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger counter = new AtomicInteger();
+
+		@Override
+		public Thread newThread(Runnable runnable) {
+			Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+}
@@ -0,0 +1,69 @@
+package com.cts.config;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.security.core.userdetails.UserCache;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Short-lived cache of user details for {@code DaoAuthenticationProvider}, so repeated
+ * logins skip the database. The provider reloads the user when a cached password does
+ * not match, so a changed password is picked up on the next attempt. Bounded by
+ * {@code maxEntries}; when full and nothing has expired, new users are not cached.
+ * Lookups are counted in {@code auth.usercache.requests{result=hit|miss}}.
+ */
+public class TtlUserCache implements UserCache {
+
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	private final long ttlNanos;
+	private final int maxEntries;
+	private final Counter hits;
+	private final Counter misses;
+
+	public TtlUserCache(long ttlNanos, int maxEntries, MeterRegistry meterRegistry) {
+		this.ttlNanos = ttlNanos;
+		this.maxEntries = maxEntries;
+		this.hits = meterRegistry.counter("auth.usercache.requests", "result", "hit");
+		this.misses = meterRegistry.counter("auth.usercache.requests", "result", "miss");
+		meterRegistry.gaugeMapSize("auth.usercache.size", List.of(), entries);
+	}
+
+	@Override
+	public UserDetails getUserFromCache(String username) {
+		Entry entry = entries.get(username);
+		if (entry == null || entry.expiresAt() - System.nanoTime() < 0) {
+			if (entry != null) {
+				entries.remove(username, entry);
+			}
+			misses.increment();
+			return null;
+		}
+		hits.increment();
+		return entry.user();
+	}
+
+	@Override
+	public void putUserInCache(UserDetails user) {
+		long now = System.nanoTime();
+		if (entries.size() >= maxEntries) {
+			entries.values().removeIf(entry -> entry.expiresAt() - now < 0);
+			if (entries.size() >= maxEntries) {
+				return;
+			}
+		}
+		entries.put(user.getUsername(), new Entry(user, now + ttlNanos));
+	}
+
+	@Override
+	public void removeUserFromCache(String username) {
+		entries.remove(username);
+	}
+
+	private record Entry(UserDetails user, long expiresAt) {
+	}
+}
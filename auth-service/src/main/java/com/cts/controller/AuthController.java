@@ -2,19 +2,31 @@ package com.cts.controller;
 
 import org.springframework.security.core.Authentication; // ✅ Correct
 
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.cts.dto.RefreshRequest;
+import com.cts.dto.TokenResponse;
 import com.cts.entity.UserCredentials;
 import com.cts.service.AuthService;
+import com.cts.service.RevocationService;
+import com.cts.service.SigningKeyService;
 
 @RestController
 @RequestMapping("/auth")
@@ -25,6 +37,12 @@ public class AuthController {
 	
 	@Autowired
 	private AuthenticationManager authenticationManager;
+
+	@Autowired
+	private SigningKeyService signingKeyService;
+
+	@Autowired
+	private RevocationService revocationService;
 	
 	@PostMapping("/register")
 	public String addNewUser(@RequestBody UserCredentials userCredentials)
@@ -33,7 +51,8 @@ public class AuthController {
 	}
 	
 	@PostMapping("/token")
-	public String getToken(@RequestBody UserCredentials userCredentials) {
+	public TokenResponse getToken(@RequestBody UserCredentials userCredentials) {
+	    // The user lookup runs here; only the BCrypt check goes to the hashing pool (503 when saturated)
 	    Authentication authentication = authenticationManager.authenticate(
 	        new UsernamePasswordAuthenticationToken(userCredentials.getEmail(), userCredentials.getPassword())
 	    );
@@ -48,6 +67,36 @@ public class AuthController {
 	
 
 	
+	@PostMapping("/refresh")
+	public TokenResponse refreshToken(@RequestBody RefreshRequest request)
+	{
+		return authService.refreshToken(request.refreshToken());
+	}
+
+	// Revokes the presented access token, and the refresh token (all of them if none is sent)
+	@PostMapping("/logout")
+	public String logout(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+			@RequestBody(required = false) RefreshRequest request)
+	{
+		String accessToken = authorization.startsWith("Bearer ") ? authorization.substring(7) : authorization;
+		authService.logout(accessToken, request != null ? request.refreshToken() : null);
+		return "logged out";
+	}
+
+	// Bloom filter of revoked access token ids, polled by the gateway
+	@GetMapping("/revocations")
+	public ResponseEntity<Map<String, Object>> revocations(WebRequest request)
+	{
+		RevocationService.Snapshot snapshot = revocationService.current();
+		if (request.checkNotModified(snapshot.etag())) {
+			return null;
+		}
+		return ResponseEntity.ok()
+				.eTag(snapshot.etag())
+				.cacheControl(CacheControl.noCache())
+				.body(snapshot.body());
+	}
+
 	@PostMapping("/validate")
 	public String validateToken(@RequestParam("token") String token)
 	{
@@ -56,6 +105,15 @@ public class AuthController {
 		return "Token is valid";
 	}
 	
+	// Public keys for verifying tokens locally; clients cache them and refetch on an unknown kid
+	@GetMapping("/.well-known/jwks.json")
+	public ResponseEntity<Map<String, Object>> jwks()
+	{
+		return ResponseEntity.ok()
+				.cacheControl(CacheControl.maxAge(5, TimeUnit.MINUTES))
+				.body(signingKeyService.jwks());
+	}
+
 	@PostMapping("/verify/{email}")
 	public String verifyUsercredentials(@PathVariable String email)
 	{
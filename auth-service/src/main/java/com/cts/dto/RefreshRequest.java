@@ -0,0 +1,4 @@
+package com.cts.dto;
+
+public record RefreshRequest(String refreshToken) {
+}
@@ -0,0 +1,12 @@
+package com.cts.dto;
+
+/**
+ * Result of a login or refresh: a short-lived access token for the
+ * {@code Authorization} header and a single-use refresh token for getting the next one.
+ */
+public record TokenResponse(String accessToken, String tokenType, long expiresIn, String refreshToken) {
+
+	public static TokenResponse bearer(String accessToken, long expiresIn, String refreshToken) {
+		return new TokenResponse(accessToken, "Bearer", expiresIn, refreshToken);
+	}
+}
@@ -0,0 +1,84 @@
+package com.cts.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * An issued refresh token. Only a SHA-256 hash of the token is stored. A token is
+ * used once: refreshing revokes it and issues a new one.
+ */
+@Entity
+@Table(name = "refresh_tokens", indexes = @Index(name = "idx_refresh_tokens_email", columnList = "email"))
+public class RefreshToken {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false, unique = true, length = 64)
+	private String tokenHash;
+
+	@Column(nullable = false)
+	private String email;
+
+	@Column(nullable = false)
+	private Instant expiresAt;
+
+	private boolean revoked;
+
+	public RefreshToken() {
+	}
+
+	public RefreshToken(String tokenHash, String email, Instant expiresAt) {
+		this.tokenHash = tokenHash;
+		this.email = email;
+		this.expiresAt = expiresAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getTokenHash() {
+		return tokenHash;
+	}
+
+	public void setTokenHash(String tokenHash) {
+		this.tokenHash = tokenHash;
+	}
+
+	public String getEmail() {
+		return email;
+	}
+
+	public void setEmail(String email) {
+		this.email = email;
+	}
+
+	public Instant getExpiresAt() {
+		return expiresAt;
+	}
+
+	public void setExpiresAt(Instant expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+
+	public boolean isRevoked() {
+		return revoked;
+	}
+
+	public void setRevoked(boolean revoked) {
+		this.revoked = revoked;
+	}
+}
@@ -0,0 +1,48 @@
+package com.cts.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Id ({@code jti}) of an access token revoked before its expiry. Kept until the
+ * token would have expired anyway.
+ */
+@Entity
+@Table(name = "revoked_tokens")
+public class RevokedToken {
+
+	@Id
+	@Column(length = 64)
+	private String jti;
+
+	@Column(nullable = false)
+	private Instant expiresAt;
+
+	public RevokedToken() {
+	}
+
+	public RevokedToken(String jti, Instant expiresAt) {
+		this.jti = jti;
+		this.expiresAt = expiresAt;
+	}
+
+	public String getJti() {
+		return jti;
+	}
+
+	public void setJti(String jti) {
+		this.jti = jti;
+	}
+
+	public Instant getExpiresAt() {
+		return expiresAt;
+	}
+
+	public void setExpiresAt(Instant expiresAt) {
+		this.expiresAt = expiresAt;
+	}
+}
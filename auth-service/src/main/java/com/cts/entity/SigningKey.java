@@ -0,0 +1,76 @@
+package com.cts.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+
+/**
+ * RSA key pair used to sign tokens, stored so every auth-service instance signs with
+ * the same keys and publishes the same key set. Keys are base64 encoded (PKCS#8 for
+ * the private key, X.509 for the public key).
+ */
+@Entity
+@Table(name = "signing_keys")
+public class SigningKey {
+
+	@Id
+	@Column(length = 64)
+	private String kid;
+
+	@Lob
+	@Column(nullable = false)
+	private String privateKey;
+
+	@Lob
+	@Column(nullable = false)
+	private String publicKey;
+
+	@Column(nullable = false)
+	private Instant createdAt;
+
+	public SigningKey() {
+	}
+
+	public SigningKey(String kid, String privateKey, String publicKey, Instant createdAt) {
+		this.kid = kid;
+		this.privateKey = privateKey;
+		this.publicKey = publicKey;
+		this.createdAt = createdAt;
+	}
+
+	public String getKid() {
+		return kid;
+	}
+
+	public void setKid(String kid) {
+		this.kid = kid;
+	}
+
+	public String getPrivateKey() {
+		return privateKey;
+	}
+
+	public void setPrivateKey(String privateKey) {
+		this.privateKey = privateKey;
+	}
+
+	public String getPublicKey() {
+		return publicKey;
+	}
+
+	public void setPublicKey(String publicKey) {
+		this.publicKey = publicKey;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(Instant createdAt) {
+		this.createdAt = createdAt;
+	}
+}
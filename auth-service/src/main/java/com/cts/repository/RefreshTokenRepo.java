@@ -0,0 +1,29 @@
+package com.cts.repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.cts.entity.RefreshToken;
+
+public interface RefreshTokenRepo extends JpaRepository<RefreshToken, Long> {
+
+	Optional<RefreshToken> findByTokenHash(String tokenHash);
+
+	// Revokes the token only if it is still active; 0 means it was already used (or never existed)
+	@Modifying
+	@Query("update RefreshToken t set t.revoked = true where t.tokenHash = :tokenHash and t.revoked = false")
+	int revokeIfActive(@Param("tokenHash") String tokenHash);
+
+	@Modifying
+	@Query("update RefreshToken t set t.revoked = true where t.email = :email and t.revoked = false")
+	int revokeAllByEmail(@Param("email") String email);
+
+	@Modifying
+	@Query("delete from RefreshToken t where t.expiresAt < :now")
+	int deleteExpired(@Param("now") Instant now);
+}
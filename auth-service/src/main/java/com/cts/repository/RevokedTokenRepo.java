@@ -0,0 +1,21 @@
+package com.cts.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.cts.entity.RevokedToken;
+
+public interface RevokedTokenRepo extends JpaRepository<RevokedToken, String> {
+
+	@Query("select t.jti from RevokedToken t where t.expiresAt > :now")
+	List<String> findActiveJtis(@Param("now") Instant now);
+
+	@Modifying
+	@Query("delete from RevokedToken t where t.expiresAt < :now")
+	int deleteExpired(@Param("now") Instant now);
+}
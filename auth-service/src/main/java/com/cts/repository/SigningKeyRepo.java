@@ -0,0 +1,18 @@
+package com.cts.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.cts.entity.SigningKey;
+
+public interface SigningKeyRepo extends JpaRepository<SigningKey, String> {
+
+	List<SigningKey> findAllByOrderByCreatedAtDesc();
+
+	// Id of the newest key only, without loading the key material
+	@Query("select k.kid from SigningKey k order by k.createdAt desc")
+	List<String> findNewestKid(Limit limit);
+}
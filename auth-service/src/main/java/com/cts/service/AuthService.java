@@ -4,9 +4,11 @@ import java.util.Optional;
 
 import org.apache.catalina.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.userdetails.UserCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.cts.dto.TokenResponse;
 import com.cts.entity.UserCredentials;
 import com.cts.repository.UserCredentialRepo;
 
@@ -22,18 +24,35 @@ public class AuthService {
 	
     @Autowired
     private JwtService jwtService;
+
+	@Autowired
+	private TokenService tokenService;
+
+	@Autowired
+	private UserCache userCache;
     
    
 	public String saveUser(UserCredentials userCredentials)
 	{
 		userCredentials.setPassword(passwordEncoder.encode(userCredentials.getPassword()));
 		credentialRepo.save(userCredentials);
+		userCache.removeUserFromCache(userCredentials.getEmail());
 		return "user added to the system";
 	}
 	
-	public String generateToken(UserCredentials userCredentials)
+	public TokenResponse generateToken(UserCredentials userCredentials)
+	{
+		return tokenService.issue(userCredentials);
+	}
+
+	public TokenResponse refreshToken(String refreshToken)
+	{
+		return tokenService.refresh(refreshToken);
+	}
+
+	public void logout(String accessToken, String refreshToken)
 	{
-		return jwtService.generateToken(userCredentials);
+		tokenService.logout(accessToken, refreshToken);
 	}
 	
 	public void validateToken(String token)
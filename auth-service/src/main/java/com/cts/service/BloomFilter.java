@@ -0,0 +1,67 @@
+package com.cts.service;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bloom filter over token ids, in the wire format the gateway reads: {@code bits}
+ * (base64 of the big-endian words), {@code numBits} and {@code numHashes}. Bit
+ * positions use 64-bit FNV-1a split into two halves for double hashing; the gateway
+ * computes them the same way.
+ */
+final class BloomFilter {
+
+	private final long[] words;
+	private final int numBits;
+	private final int numHashes;
+
+	private BloomFilter(int numBits, int numHashes) {
+		this.words = new long[(numBits + 63) / 64];
+		this.numBits = words.length * 64;
+		this.numHashes = numHashes;
+	}
+
+	/** A filter sized for {@code ids} at the given false-positive rate. */
+	static BloomFilter of(Collection<String> ids, double falsePositiveRate) {
+		int expected = Math.max(ids.size(), 64);
+		int numBits = (int) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		int numHashes = Math.max(1, (int) Math.round((double) numBits / expected * Math.log(2)));
+		BloomFilter filter = new BloomFilter(numBits, numHashes);
+		ids.forEach(filter::add);
+		return filter;
+	}
+
+	private void add(String id) {
+		long hash = fnv1a(id);
+		int h1 = (int) hash;
+		int h2 = (int) (hash >>> 32);
+		for (int i = 0; i < numHashes; i++) {
+			int bit = Math.floorMod(h1 + i * h2, numBits);
+			words[bit >>> 6] |= 1L << bit;
+		}
+	}
+
+	Map<String, Object> toJson(int count) {
+		ByteBuffer bytes = ByteBuffer.allocate(words.length * Long.BYTES);
+		bytes.asLongBuffer().put(words);
+		Map<String, Object> json = new LinkedHashMap<>();
+		json.put("numBits", numBits);
+		json.put("numHashes", numHashes);
+		json.put("count", count);
+		json.put("bits", Base64.getEncoder().encodeToString(bytes.array()));
+		return json;
+	}
+
+	private static long fnv1a(String id) {
+		long hash = 0xcbf29ce484222325L;
+		for (byte b : id.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b & 0xff;
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+}
@@ -1,50 +1,77 @@
 package com.cts.service;
 
-import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 
 import com.cts.entity.UserCredentials;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import io.jsonwebtoken.security.SignatureException;
+
+/**
+ * Issues and checks RS256 access tokens. The {@code kid} header names the signing
+ * key, so other services can verify tokens against the key set published at
+ * {@code /auth/.well-known/jwks.json} without calling auth-service. Each token has a
+ * unique id ({@code jti}) so it can be revoked before it expires.
+ */
 @Service
 public class JwtService {
 
-    // Your preset secret value (should be loaded from configuration in production)
-    public static final String SECRET = "FAwq03T8oLdM38iVlWZqEsKNG3fjfa6SRbPGzMC1hQn/Sf7M/IKjP3TVUz9uOIYCA5z2nNJx436/tMnSAKQCow==";
+    @Autowired
+    private SigningKeyService signingKeyService;
 
-    public String generateToken(UserCredentials userCredentials) {
-        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+    @Value("${auth.token.ttl:15m}")
+    private Duration tokenTtl;
 
+    public String generateToken(UserCredentials userCredentials) {
         Map<String, Object> claims = new HashMap<>();
-        claims.put("password", userCredentials.getPassword());
         claims.put("email", userCredentials.getEmail());
 
-        return createToken(claims, userCredentials, key);
+        return createToken(claims, userCredentials);
     }
 
-    public String createToken(Map<String, Object> claims, UserCredentials userCredentials, Key key) {
+    public String createToken(Map<String, Object> claims, UserCredentials userCredentials) {
+        SigningKeyService.ActiveKey key = signingKeyService.current();
         return Jwts.builder()
+                .setHeaderParam(JwsHeader.KEY_ID, key.kid())
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userCredentials.getEmail()) // Identifies the user
                 .setIssuedAt(new Date()) // Token creation time
-                .setExpiration(new Date(System.currentTimeMillis() + 86400000)) // 24-hour expiration
-                .signWith(key, SignatureAlgorithm.HS256) // Securing the token
+                .setExpiration(new Date(System.currentTimeMillis() + tokenTtl.toMillis()))
+                .signWith(key.privateKey(), SignatureAlgorithm.RS256) // Securing the token
                 .compact();
     }
 
     public void validateToken(String token) {
-        Key key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
-         Jwts.parserBuilder()
-                .setSigningKey(key)
+        parseToken(token);
+    }
+
+    public Claims parseToken(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = signingKeyService.publicKey(header.getKeyId());
+                        if (key == null) {
+                            throw new SignatureException("Unknown signing key " + header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
                 .build()
                 .parseClaimsJws(token)
                 .getBody();
@@ -0,0 +1,86 @@
+package com.cts.service;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import com.cts.entity.RevokedToken;
+import com.cts.repository.RefreshTokenRepo;
+import com.cts.repository.RevokedTokenRepo;
+
+/**
+ * Revoked access tokens and the Bloom filter of their ids that the gateway pulls
+ * from {@code GET /auth/revocations}. Only tokens that have not expired yet are in
+ * the filter, so with short-lived access tokens it stays small. The filter is rebuilt
+ * from the database at most once a second; the ETag lets pollers skip unchanged ones.
+ */
+@Service
+public class RevocationService {
+
+	private static final long REBUILD_INTERVAL_NANOS = 1_000_000_000L;
+
+	@Autowired
+	private RevokedTokenRepo revokedTokenRepo;
+
+	@Autowired
+	private RefreshTokenRepo refreshTokenRepo;
+
+	@Value("${auth.revocation.false-positive-rate:0.0001}")
+	private double falsePositiveRate;
+
+	private volatile Snapshot snapshot;
+
+	// Bumped after each revocation commits; a snapshot built from an older generation is not served
+	private final AtomicLong generation = new AtomicLong();
+
+	public void revoke(String jti, Instant expiresAt) {
+		revokedTokenRepo.save(new RevokedToken(jti, expiresAt));
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			// Invalidate only once the row is visible, or a concurrent rebuild could cache a filter without it
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					generation.incrementAndGet();
+				}
+			});
+		} else {
+			generation.incrementAndGet();
+		}
+	}
+
+	public Snapshot current() {
+		Snapshot current = snapshot;
+		long currentGeneration = generation.get();
+		if (current != null && current.generation() == currentGeneration
+				&& System.nanoTime() - current.builtAt() < REBUILD_INTERVAL_NANOS) {
+			return current;
+		}
+		List<String> jtis = revokedTokenRepo.findActiveJtis(Instant.now());
+		Map<String, Object> body = BloomFilter.of(jtis, falsePositiveRate).toJson(jtis.size());
+		String etag = "\"" + DigestUtils.md5DigestAsHex(body.toString().getBytes()) + "\"";
+		current = new Snapshot(body, etag, System.nanoTime(), currentGeneration);
+		snapshot = current;
+		return current;
+	}
+
+	@Scheduled(fixedDelayString = "${auth.revocation.cleanup-interval:PT10M}")
+	@Transactional
+	public void deleteExpired() {
+		Instant now = Instant.now();
+		revokedTokenRepo.deleteExpired(now);
+		refreshTokenRepo.deleteExpired(now);
+	}
+
+	public record Snapshot(Map<String, Object> body, String etag, long builtAt, long generation) {
+	}
+}
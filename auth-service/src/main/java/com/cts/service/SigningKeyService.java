@@ -0,0 +1,191 @@
+package com.cts.service;
+
+import java.math.BigInteger;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.cts.entity.SigningKey;
+import com.cts.repository.SigningKeyRepo;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Owns the RSA keys tokens are signed with. The newest key signs; older keys stay
+ * published until every token they signed has expired, then they are deleted. A new
+ * key is generated once the current one is older than {@code auth.keys.rotation-period}.
+ * Keys live in the database, so all instances agree on them. Before signing, an
+ * instance checks that its key is still the newest one there; an instance that sees an
+ * unknown key id reloads, at most once per {@code auth.keys.min-reload-interval}.
+ */
+@Service
+public class SigningKeyService {
+
+	private static final Logger log = LoggerFactory.getLogger(SigningKeyService.class);
+
+	@Autowired
+	private SigningKeyRepo signingKeyRepo;
+
+	@Value("${auth.keys.rotation-period:7d}")
+	private Duration rotationPeriod;
+
+	@Value("${auth.token.ttl:15m}")
+	private Duration tokenTtl;
+
+	@Value("${auth.keys.check-interval:PT1H}")
+	private Duration checkInterval;
+
+	@Value("${auth.keys.min-reload-interval:30s}")
+	private Duration minReloadInterval;
+
+	private volatile KeySet keys = new KeySet(null, Map.of());
+
+	private final AtomicLong lastUnknownKidReload = new AtomicLong(System.nanoTime());
+
+	@PostConstruct
+	public void init() {
+		rotateIfDue();
+	}
+
+	/** The key new tokens are signed with: the newest key in the database. */
+	public ActiveKey current() {
+		KeySet current = keys;
+		List<String> newest = signingKeyRepo.findNewestKid(Limit.of(1));
+		if (!newest.isEmpty() && (current.current() == null || !newest.get(0).equals(current.current().kid()))) {
+			reload();
+			current = keys;
+		}
+		return current.current();
+	}
+
+	/** Public key for a key id, or {@code null} if no such key is published. */
+	public RSAPublicKey publicKey(String kid) {
+		RSAPublicKey key = keys.published().get(kid);
+		if (key == null && kid != null && reloadAllowed()) {
+			reload();
+			key = keys.published().get(kid);
+		}
+		return key;
+	}
+
+	// Unknown key ids come from clients, so they may trigger at most one reload per interval
+	private boolean reloadAllowed() {
+		long last = lastUnknownKidReload.get();
+		long now = System.nanoTime();
+		return now - last >= minReloadInterval.toNanos() && lastUnknownKidReload.compareAndSet(last, now);
+	}
+
+	/** The published keys as a JWK set (RFC 7517). */
+	public Map<String, Object> jwks() {
+		reload();
+		List<Map<String, Object>> jwks = new ArrayList<>();
+		keys.published().forEach((kid, key) -> {
+			Map<String, Object> jwk = new LinkedHashMap<>();
+			jwk.put("kty", "RSA");
+			jwk.put("kid", kid);
+			jwk.put("use", "sig");
+			jwk.put("alg", "RS256");
+			jwk.put("n", base64Url(key.getModulus()));
+			jwk.put("e", base64Url(key.getPublicExponent()));
+			jwks.add(jwk);
+		});
+		return Map.of("keys", jwks);
+	}
+
+	@Scheduled(fixedDelayString = "${auth.keys.check-interval:PT1H}", initialDelayString = "${auth.keys.check-interval:PT1H}")
+	public synchronized void rotateIfDue() {
+		Instant now = Instant.now();
+		List<SigningKey> stored = new ArrayList<>(signingKeyRepo.findAllByOrderByCreatedAtDesc());
+		if (stored.isEmpty() || stored.get(0).getCreatedAt().plus(rotationPeriod).isBefore(now)) {
+			SigningKey created = generate(now);
+			signingKeyRepo.save(created);
+			stored.add(0, created);
+			log.info("Generated signing key {}", created.getKid());
+		}
+		// A key stops signing when its successor is created. Once the tokens it signed
+		// have expired nobody needs it any more; the check interval is slack for
+		// instances that have not yet switched to the successor
+		for (int i = stored.size() - 1; i > 0; i--) {
+			if (stored.get(i - 1).getCreatedAt().plus(checkInterval).plus(tokenTtl).isBefore(now)) {
+				signingKeyRepo.delete(stored.get(i));
+				log.info("Retired signing key {}", stored.get(i).getKid());
+				stored.remove(i);
+			}
+		}
+		keys = KeySet.of(stored);
+	}
+
+	private void reload() {
+		keys = KeySet.of(signingKeyRepo.findAllByOrderByCreatedAtDesc());
+	}
+
+	private static SigningKey generate(Instant now) {
+		try {
+			KeyPairGenerator generator = KeyPairGenerator.getInstance("RSA");
+			generator.initialize(2048);
+			KeyPair pair = generator.generateKeyPair();
+			Base64.Encoder encoder = Base64.getEncoder();
+			return new SigningKey(UUID.randomUUID().toString(), encoder.encodeToString(pair.getPrivate().getEncoded()),
+					encoder.encodeToString(pair.getPublic().getEncoded()), now);
+		} catch (GeneralSecurityException e) {
+			throw new IllegalStateException("Cannot generate RSA signing key", e);
+		}
+	}
+
+	private static String base64Url(BigInteger value) {
+		byte[] bytes = value.toByteArray();
+		if (bytes.length > 1 && bytes[0] == 0) {
+			bytes = Arrays.copyOfRange(bytes, 1, bytes.length);
+		}
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+	}
+
+	public record ActiveKey(String kid, PrivateKey privateKey) {
+	}
+
+	private record KeySet(ActiveKey current, Map<String, RSAPublicKey> published) {
+
+		static KeySet of(List<SigningKey> stored) {
+			if (stored.isEmpty()) {
+				return new KeySet(null, Map.of());
+			}
+			try {
+				KeyFactory factory = KeyFactory.getInstance("RSA");
+				Base64.Decoder decoder = Base64.getDecoder();
+				Map<String, RSAPublicKey> published = new LinkedHashMap<>();
+				for (SigningKey key : stored) {
+					published.put(key.getKid(), (RSAPublicKey) factory.generatePublic(
+							new X509EncodedKeySpec(decoder.decode(key.getPublicKey()))));
+				}
+				SigningKey newest = stored.get(0);
+				PrivateKey privateKey = factory.generatePrivate(new PKCS8EncodedKeySpec(decoder.decode(newest.getPrivateKey())));
+				return new KeySet(new ActiveKey(newest.getKid(), privateKey), Map.copyOf(published));
+			} catch (GeneralSecurityException e) {
+				throw new IllegalStateException("Stored signing key is invalid", e);
+			}
+		}
+	}
+}
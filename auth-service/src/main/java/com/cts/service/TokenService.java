@@ -0,0 +1,113 @@
+package com.cts.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.cts.dto.TokenResponse;
+import com.cts.entity.RefreshToken;
+import com.cts.entity.UserCredentials;
+import com.cts.repository.RefreshTokenRepo;
+import com.cts.repository.UserCredentialRepo;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Issues access/refresh token pairs, rotates refresh tokens and ends sessions.
+ *
+ * <p>A refresh token is single use. Presenting one that was already used means it
+ * leaked (or was replayed), so every refresh token of that user is revoked and the
+ * user has to log in again.
+ */
+@Service
+public class TokenService {
+
+	private static final SecureRandom RANDOM = new SecureRandom();
+
+	@Autowired
+	private JwtService jwtService;
+
+	@Autowired
+	private RefreshTokenRepo refreshTokenRepo;
+
+	@Autowired
+	private UserCredentialRepo credentialRepo;
+
+	@Autowired
+	private RevocationService revocationService;
+
+	@Value("${auth.token.ttl:15m}")
+	private Duration accessTokenTtl;
+
+	@Value("${auth.refresh-token.ttl:7d}")
+	private Duration refreshTokenTtl;
+
+	@Transactional
+	public TokenResponse issue(UserCredentials userCredentials) {
+		byte[] secret = new byte[32];
+		RANDOM.nextBytes(secret);
+		String refreshToken = Base64.getUrlEncoder().withoutPadding().encodeToString(secret);
+		refreshTokenRepo.save(new RefreshToken(hash(refreshToken), userCredentials.getEmail(),
+				Instant.now().plus(refreshTokenTtl)));
+		return TokenResponse.bearer(jwtService.generateToken(userCredentials), accessTokenTtl.toSeconds(), refreshToken);
+	}
+
+	@Transactional(noRollbackFor = ResponseStatusException.class)
+	public TokenResponse refresh(String refreshToken) {
+		RefreshToken stored = refreshToken == null ? null : refreshTokenRepo.findByTokenHash(hash(refreshToken)).orElse(null);
+		if (stored == null || stored.getExpiresAt().isBefore(Instant.now())) {
+			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+		}
+		// Check and revoke in one statement, so of two concurrent refreshes with the same token only one wins
+		if (refreshTokenRepo.revokeIfActive(stored.getTokenHash()) == 0) {
+			refreshTokenRepo.revokeAllByEmail(stored.getEmail());
+			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Refresh token already used");
+		}
+		UserCredentials user = credentialRepo.findByEmail(stored.getEmail())
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token"));
+		return issue(user);
+	}
+
+	/**
+	 * Revokes the access token and the given refresh token, or all of the user's
+	 * refresh tokens when none is given.
+	 */
+	@Transactional
+	public void logout(String accessToken, String refreshToken) {
+		Claims claims;
+		try {
+			claims = jwtService.parseToken(accessToken);
+		} catch (Exception e) {
+			throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid access token");
+		}
+		if (claims.getId() != null) {
+			revocationService.revoke(claims.getId(), claims.getExpiration().toInstant());
+		}
+		if (refreshToken == null) {
+			refreshTokenRepo.revokeAllByEmail(claims.getSubject());
+			return;
+		}
+		refreshTokenRepo.findByTokenHash(hash(refreshToken))
+				.filter(stored -> stored.getEmail().equals(claims.getSubject()))
+				.ifPresent(stored -> stored.setRevoked(true));
+	}
+
+	private static String hash(String token) {
+		try {
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes()));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
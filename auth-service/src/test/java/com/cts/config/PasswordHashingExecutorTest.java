@@ -0,0 +1,70 @@
+package com.cts.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingExecutorTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private final PasswordHashingExecutor hashing = new PasswordHashingExecutor(1, 1, meterRegistry);
+	private final CountDownLatch release = new CountDownLatch(1);
+
+	@AfterEach
+	void tearDown() {
+		release.countDown();
+		hashing.destroy();
+	}
+
+	@Test
+	void returnsTheResultAndRethrowsFailuresUnchanged() {
+		assertThat(hashing.call(() -> 42)).isEqualTo(42);
+
+		IllegalArgumentException failure = new IllegalArgumentException("bad hash");
+		assertThat(catchThrowable(() -> hashing.call(() -> {
+			throw failure;
+		}))).isSameAs(failure);
+	}
+
+	@Test
+	void fullQueueAnswersServiceUnavailableAtOnce() throws Exception {
+		CountDownLatch running = new CountDownLatch(1);
+		CompletableFuture<Object> busy = CompletableFuture.supplyAsync(() -> hashing.call(() -> {
+			running.countDown();
+			return release.await(5, TimeUnit.SECONDS);
+		}));
+		assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(hashing.hasSpareCapacity()).isFalse();
+		CompletableFuture<Object> queued = CompletableFuture.supplyAsync(() -> hashing.call(() -> true));
+		while (meterRegistry.get("executor.queued").gauge().value() < 1) {
+			Thread.sleep(5);
+		}
+
+		Throwable rejected = catchThrowable(() -> hashing.call(() -> true));
+
+		assertThat(rejected).isInstanceOfSatisfying(ResponseStatusException.class,
+				e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+		assertThat(meterRegistry.counter("auth.login.rejected").count()).isEqualTo(1);
+		release.countDown();
+		assertThat(busy.get(5, TimeUnit.SECONDS)).isEqualTo(true);
+		assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo(true);
+	}
+
+	@Test
+	void idlePoolHasSpareCapacity() {
+		PasswordHashingExecutor pool = new PasswordHashingExecutor(4, 8, new SimpleMeterRegistry());
+
+		assertThat(pool.hasSpareCapacity()).isTrue();
+		pool.destroy();
+	}
+}
@@ -0,0 +1,81 @@
+package com.cts.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TtlUserCacheTest {
+
+	private static final long HOUR = TimeUnit.HOURS.toNanos(1);
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+	@Test
+	void servesACachedUserUntilItExpires() {
+		TtlUserCache cache = new TtlUserCache(HOUR, 10, meterRegistry);
+		cache.putUserInCache(user("alice"));
+
+		assertThat(cache.getUserFromCache("alice").getUsername()).isEqualTo("alice");
+		assertThat(cache.getUserFromCache("bob")).isNull();
+		assertThat(meterRegistry.counter("auth.usercache.requests", "result", "hit").count()).isEqualTo(1);
+		assertThat(meterRegistry.counter("auth.usercache.requests", "result", "miss").count()).isEqualTo(1);
+	}
+
+	@Test
+	void expiredUserIsAMissAndIsDropped() {
+		TtlUserCache cache = new TtlUserCache(1, 10, meterRegistry);
+		cache.putUserInCache(user("alice"));
+
+		assertThat(cache.getUserFromCache("alice")).isNull();
+		assertThat(size()).isZero();
+	}
+
+	@Test
+	void fullCacheSkipsNewUsersWhileNothingHasExpired() {
+		TtlUserCache cache = new TtlUserCache(HOUR, 2, meterRegistry);
+		cache.putUserInCache(user("alice"));
+		cache.putUserInCache(user("bob"));
+
+		cache.putUserInCache(user("carol"));
+
+		assertThat(cache.getUserFromCache("carol")).isNull();
+		assertThat(cache.getUserFromCache("alice")).isNotNull();
+		assertThat(size()).isEqualTo(2);
+	}
+
+	@Test
+	void fullCacheMakesRoomByDroppingExpiredUsers() {
+		TtlUserCache cache = new TtlUserCache(1, 2, meterRegistry);
+		cache.putUserInCache(user("alice"));
+		cache.putUserInCache(user("bob"));
+
+		cache.putUserInCache(user("carol"));
+
+		assertThat(size()).isEqualTo(1);
+	}
+
+	@Test
+	void removedUserIsLoadedAgain() {
+		TtlUserCache cache = new TtlUserCache(HOUR, 10, meterRegistry);
+		cache.putUserInCache(user("alice"));
+
+		cache.removeUserFromCache("alice");
+
+		assertThat(cache.getUserFromCache("alice")).isNull();
+	}
+
+	private double size() {
+		return meterRegistry.get("auth.usercache.size").gauge().value();
+	}
+
+	private static UserDetails user(String username) {
+		return new User(username, "{noop}secret", List.of());
+	}
+}
@@ -0,0 +1,44 @@
+package com.cts.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+	// The gateway's RevocationListFilterTest reads this same filter; keep the two in sync
+	static final String FIXTURE_BITS = "ABEAAAAAACAACAAAACBAABAAAAAAABAAAAAAAAAAAEAAAAQAAAAAAAAAAIACAAAAAAAAAEABAAAAAAgAAAAACAAAAAQAgAAAIgAAAQAAAAA=";
+
+	@Test
+	void serializesInTheFormatTheGatewayReads() {
+		Map<String, Object> json = BloomFilter.of(List.of("jti-1", "jti-2", "jti-3"), 0.01).toJson(3);
+
+		assertThat(json).containsEntry("numBits", 640)
+				.containsEntry("numHashes", 7)
+				.containsEntry("count", 3)
+				.containsEntry("bits", FIXTURE_BITS);
+	}
+
+	@Test
+	void sizesForAtLeastSixtyFourIdsAndRoundsUpToWholeWords() {
+		Map<String, Object> json = BloomFilter.of(List.of(), 0.0001).toJson(0);
+
+		// 64 ids at 1e-4: 1227 bits, rounded up to 20 words, and 13 hashes
+		assertThat(json).containsEntry("numBits", 1280).containsEntry("numHashes", 13);
+	}
+
+	@Test
+	void setsAtMostNumHashesBitsPerId() {
+		Map<String, Object> json = BloomFilter.of(List.of("jti-1"), 0.01).toJson(1);
+
+		long setBits = 0;
+		for (byte b : Base64.getDecoder().decode((String) json.get("bits"))) {
+			setBits += Integer.bitCount(b & 0xff);
+		}
+		assertThat(setBits).isBetween(1L, 7L);
+	}
+}
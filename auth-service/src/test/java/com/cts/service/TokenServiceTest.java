@@ -0,0 +1,133 @@
+package com.cts.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.cts.dto.TokenResponse;
+import com.cts.entity.RefreshToken;
+import com.cts.entity.UserCredentials;
+import com.cts.repository.RefreshTokenRepo;
+import com.cts.repository.UserCredentialRepo;
+
+@ExtendWith(MockitoExtension.class)
+class TokenServiceTest {
+
+	private static final String EMAIL = "alice@example.com";
+
+	@Mock
+	private JwtService jwtService;
+
+	@Mock
+	private RefreshTokenRepo refreshTokenRepo;
+
+	@Mock
+	private UserCredentialRepo credentialRepo;
+
+	@Mock
+	private RevocationService revocationService;
+
+	@InjectMocks
+	private TokenService tokenService;
+
+	private final List<RefreshToken> saved = new ArrayList<>();
+	private final UserCredentials user = new UserCredentials(1, "Alice", EMAIL, "hash");
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(tokenService, "accessTokenTtl", Duration.ofMinutes(15));
+		ReflectionTestUtils.setField(tokenService, "refreshTokenTtl", Duration.ofDays(7));
+		lenient().when(refreshTokenRepo.save(any(RefreshToken.class))).thenAnswer(invocation -> {
+			saved.add(invocation.getArgument(0));
+			return invocation.getArgument(0);
+		});
+		lenient().when(jwtService.generateToken(any(UserCredentials.class))).thenReturn("access-token");
+	}
+
+	@Test
+	void issueStoresOnlyTheHashOfTheRefreshToken() {
+		TokenResponse response = tokenService.issue(user);
+
+		assertThat(response.accessToken()).isEqualTo("access-token");
+		assertThat(response.expiresIn()).isEqualTo(900);
+		assertThat(saved).hasSize(1);
+		assertThat(saved.get(0).getTokenHash()).hasSize(64).isNotEqualTo(response.refreshToken());
+		assertThat(saved.get(0).getEmail()).isEqualTo(EMAIL);
+		assertThat(saved.get(0).getExpiresAt()).isAfter(Instant.now().plus(Duration.ofDays(6)));
+	}
+
+	@Test
+	void refreshRevokesThePresentedTokenAndIssuesANewPair() {
+		TokenResponse first = tokenService.issue(user);
+		RefreshToken stored = saved.get(0);
+		when(refreshTokenRepo.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+		when(refreshTokenRepo.revokeIfActive(stored.getTokenHash())).thenReturn(1);
+		when(credentialRepo.findByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+		TokenResponse second = tokenService.refresh(first.refreshToken());
+
+		assertThat(second.refreshToken()).isNotEqualTo(first.refreshToken());
+		assertThat(saved).hasSize(2);
+		assertThat(saved.get(1).getTokenHash()).isNotEqualTo(stored.getTokenHash());
+		verify(refreshTokenRepo, never()).revokeAllByEmail(anyString());
+	}
+
+	@Test
+	void reusedTokenRevokesEverySessionOfTheUser() {
+		TokenResponse first = tokenService.issue(user);
+		RefreshToken stored = saved.get(0);
+		when(refreshTokenRepo.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+		// Already revoked by an earlier (or concurrent) refresh
+		when(refreshTokenRepo.revokeIfActive(stored.getTokenHash())).thenReturn(0);
+
+		assertThatThrownBy(() -> tokenService.refresh(first.refreshToken()))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED))
+				.hasMessageContaining("already used");
+		verify(refreshTokenRepo).revokeAllByEmail(EMAIL);
+		assertThat(saved).hasSize(1);
+	}
+
+	@Test
+	void expiredTokenIsRejectedWithoutTouchingOtherSessions() {
+		TokenResponse first = tokenService.issue(user);
+		RefreshToken stored = saved.get(0);
+		stored.setExpiresAt(Instant.now().minusSeconds(1));
+		when(refreshTokenRepo.findByTokenHash(stored.getTokenHash())).thenReturn(Optional.of(stored));
+
+		assertThatThrownBy(() -> tokenService.refresh(first.refreshToken()))
+				.isInstanceOf(ResponseStatusException.class)
+				.hasMessageContaining("Invalid refresh token");
+		verify(refreshTokenRepo, never()).revokeIfActive(anyString());
+		verify(refreshTokenRepo, never()).revokeAllByEmail(anyString());
+	}
+
+	@Test
+	void unknownOrMissingTokenIsRejected() {
+		when(refreshTokenRepo.findByTokenHash(anyString())).thenReturn(Optional.empty());
+
+		assertThatThrownBy(() -> tokenService.refresh("not-a-token")).isInstanceOf(ResponseStatusException.class);
+		assertThatThrownBy(() -> tokenService.refresh(null)).isInstanceOf(ResponseStatusException.class);
+	}
+}
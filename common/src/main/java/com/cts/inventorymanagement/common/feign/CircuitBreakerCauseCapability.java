@@ -0,0 +1,45 @@
+package com.cts.inventorymanagement.common.feign;
+
+import java.lang.reflect.InvocationHandler;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+import org.springframework.cloud.client.circuitbreaker.NoFallbackAvailableException;
+
+import feign.Capability;
+import feign.InvocationHandlerFactory;
+
+/**
+ * Rethrows the original failure of a Feign call made through a circuit breaker.
+ * A client without a fallback otherwise reports every failure, 4xx responses
+ * included, as {@link NoFallbackAvailableException}, so callers catching
+ * {@code FeignException} and the handlers for {@code CallNotPermittedException} and
+ * {@code BulkheadFullException} never see it. The bulkhead adds its own
+ * {@code ExecutionException} layers, which are removed too; checked causes stay wrapped.
+ */
+public class CircuitBreakerCauseCapability implements Capability {
+
+    @Override
+    public InvocationHandlerFactory enrich(InvocationHandlerFactory invocationHandlerFactory) {
+        return (target, dispatch) -> {
+            InvocationHandler handler = invocationHandlerFactory.create(target, dispatch);
+            return (proxy, method, args) -> {
+                try {
+                    return handler.invoke(proxy, method, args);
+                } catch (NoFallbackAvailableException e) {
+                    Throwable cause = unwrap(e.getCause());
+                    throw cause instanceof RuntimeException || cause instanceof Error ? cause : e;
+                }
+            };
+        };
+    }
+
+    /** The failure inside the bulkhead's future wrappers; fallback factories receive it wrapped too. */
+    public static Throwable unwrap(Throwable failure) {
+        Throwable cause = failure;
+        while ((cause instanceof ExecutionException || cause instanceof CompletionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
@@ -0,0 +1,89 @@
+package com.cts.inventorymanagement.common.feign;
+
+import java.time.Duration;
+
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.http.ConnectionReuseStrategy;
+import org.apache.hc.core5.http.impl.DefaultConnectionReuseStrategy;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.CircuitBreakerNameResolver;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.cloud.openfeign.FeignClient;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Shared Feign client setup: tuning and metrics for the pooled Apache HttpClient 5
+ * transport, circuit breaker naming, and the original exception for calls that
+ * fail through a circuit breaker. The transport itself is picked in
+ * application.properties: HttpClient 5 (default) or the JDK HTTP/2 client.
+ * Auto-configured in every service that has OpenFeign with HttpClient 5.
+ */
+@AutoConfiguration
+@ConditionalOnClass({FeignClient.class, PoolingHttpClientConnectionManager.class})
+public class FeignClientConfig {
+
+    static final String REUSE = "feign.connections.reuse";
+
+    /**
+     * Caps server-advertised keep-alive and evicts idle connections before the
+     * server side closes them, so a leased connection is rarely stale.
+     */
+    @Bean
+    public HttpClientBuilderCustomizer feignKeepAliveCustomizer(MeterRegistry registry,
+            @Value("${feign.httpclient.keep-alive:30s}") Duration maxKeepAlive,
+            @Value("${feign.httpclient.idle-eviction:20s}") Duration idleEviction) {
+        Counter kept = Counter.builder(REUSE).tag("outcome", "kept")
+                .description("Responses after which the connection went back to the pool")
+                .register(registry);
+        Counter closed = Counter.builder(REUSE).tag("outcome", "closed")
+                .description("Responses after which the connection was closed")
+                .register(registry);
+        ConnectionReuseStrategy reuse = (request, response, context) -> {
+            boolean keepAlive = DefaultConnectionReuseStrategy.INSTANCE.keepAlive(request, response, context);
+            (keepAlive ? kept : closed).increment();
+            return keepAlive;
+        };
+        return builder -> builder
+                .setConnectionReuseStrategy(reuse)
+                .setKeepAliveStrategy((response, context) -> DefaultConnectionKeepAliveStrategy.INSTANCE
+                        .getKeepAliveDuration(response, context).min(TimeValue.of(maxKeepAlive)))
+                .evictIdleConnections(TimeValue.of(idleEviction));
+    }
+
+    /** Exposes leased, available and pending connections of the Feign pool. */
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManagers) {
+        return registry -> connectionManagers.orderedStream()
+                .filter(PoolingHttpClientConnectionManager.class::isInstance)
+                .map(PoolingHttpClientConnectionManager.class::cast)
+                .forEach(manager -> new PoolingHttpClientConnectionManagerMetricsBinder(manager, "feign")
+                        .bindTo(registry));
+    }
+
+    /**
+     * Names each circuit breaker and bulkhead after the downstream service instead of
+     * the client method, so all calls to one service share a breaker and a concurrency
+     * limit configured under {@code resilience4j.*.instances.<service-name>}.
+     */
+    @Bean
+    public CircuitBreakerNameResolver circuitBreakerNameResolver() {
+        return (feignClientName, target, method) -> feignClientName;
+    }
+
+    /** Picked up by every Feign client, so callers see the downstream failure itself. */
+    @Bean
+    public CircuitBreakerCauseCapability circuitBreakerCauseCapability() {
+        return new CircuitBreakerCauseCapability();
+    }
+}
@@ -0,0 +1,124 @@
+package com.cts.inventorymanagement.common.loadbalancer;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.CompletionContext;
+import org.springframework.cloud.client.loadbalancer.LoadBalancerLifecycle;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.TimedRequestContext;
+
+/**
+ * Tracks, per service instance, the requests in flight and a peak-EWMA of response
+ * latency, fed by the load balancer lifecycle callbacks. Peak EWMA follows a latency
+ * increase immediately and forgets it over {@code decayNanos}, so a pausing instance
+ * is avoided at once and taken back gradually. A failed call counts as at least
+ * {@code failurePenaltyNanos}, so an instance that fails fast doesn't look fast.
+ * Instances that leave the service's instance list are forgotten.
+ */
+public class InstanceLoadTracker implements LoadBalancerLifecycle<Object, Object, ServiceInstance> {
+
+    // Cost of an instance that has a request outstanding but no latency sample yet
+    private static final double UNMEASURED_PENALTY = TimeUnit.SECONDS.toNanos(60);
+
+    private final ConcurrentMap<String, InstanceLoad> loads = new ConcurrentHashMap<>();
+    private final long decayNanos;
+    private final long failurePenaltyNanos;
+    private volatile List<ServiceInstance> knownInstances;
+
+    public InstanceLoadTracker(long decayNanos, long failurePenaltyNanos) {
+        this.decayNanos = decayNanos;
+        this.failurePenaltyNanos = failurePenaltyNanos;
+    }
+
+    /** Expected cost of sending one more request to the instance; lower is better. */
+    public double cost(ServiceInstance instance) {
+        InstanceLoad load = loads.get(key(instance));
+        return load == null ? 0 : load.cost(System.nanoTime(), decayNanos);
+    }
+
+    /** Drops the state of instances not in {@code instances}, the current list of the service. */
+    public void retainOnly(List<ServiceInstance> instances) {
+        // The instance list supplier caches its list, so this is usually the same object as last time
+        if (instances == knownInstances) {
+            return;
+        }
+        knownInstances = instances;
+        Set<String> keys = instances.stream().map(InstanceLoadTracker::key).collect(Collectors.toSet());
+        loads.keySet().retainAll(keys);
+    }
+
+    @Override
+    public void onStart(Request<Object> request) {
+    }
+
+    @Override
+    public void onStartRequest(Request<Object> request, Response<ServiceInstance> lbResponse) {
+        if (!lbResponse.hasServer()) {
+            return;
+        }
+        if (request.getContext() instanceof TimedRequestContext timed) {
+            timed.setRequestStartTime(System.nanoTime());
+        }
+        loads.computeIfAbsent(key(lbResponse.getServer()), key -> new InstanceLoad()).inFlight.incrementAndGet();
+    }
+
+    @Override
+    public void onComplete(CompletionContext<Object, ServiceInstance, Object> completionContext) {
+        Response<ServiceInstance> lbResponse = completionContext.getLoadBalancerResponse();
+        if (completionContext.status() == CompletionContext.Status.DISCARD || lbResponse == null || !lbResponse.hasServer()) {
+            return;
+        }
+        InstanceLoad load = loads.get(key(lbResponse.getServer()));
+        if (load == null) {
+            return;
+        }
+        load.inFlight.decrementAndGet();
+        if (completionContext.getLoadBalancerRequest().getContext() instanceof TimedRequestContext timed
+                && timed.getRequestStartTime() != 0) {
+            long now = System.nanoTime();
+            long latency = now - timed.getRequestStartTime();
+            if (completionContext.status() == CompletionContext.Status.FAILED) {
+                latency = Math.max(latency, failurePenaltyNanos);
+            }
+            load.sample(latency, now, decayNanos);
+        }
+    }
+
+    private static String key(ServiceInstance instance) {
+        return instance.getInstanceId() != null ? instance.getInstanceId() : instance.getHost() + ':' + instance.getPort();
+    }
+
+    private static final class InstanceLoad {
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private double ewmaNanos;
+        private long stamp;
+
+        synchronized void sample(long latencyNanos, long now, long decayNanos) {
+            if (latencyNanos > ewmaNanos) {
+                ewmaNanos = latencyNanos;
+            } else {
+                double weight = Math.exp(-(double) (now - stamp) / decayNanos);
+                ewmaNanos = ewmaNanos * weight + latencyNanos * (1 - weight);
+            }
+            stamp = now;
+        }
+
+        synchronized double cost(long now, long decayNanos) {
+            int pending = Math.max(0, inFlight.get());
+            if (ewmaNanos == 0) {
+                return pending == 0 ? 0 : UNMEASURED_PENALTY + pending;
+            }
+            // Decay toward zero while idle so a once-slow instance gets probed again
+            double weight = Math.exp(-(double) (now - stamp) / decayNanos);
+            return ewmaNanos * weight * (pending + 1);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.cts.inventorymanagement.common.loadbalancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.EmptyResponse;
+import org.springframework.cloud.client.loadbalancer.Request;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.loadbalancer.core.NoopServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Power-of-two-choices load balancer: picks two instances at random and sends the
+ * request to the one with the lower {@link InstanceLoadTracker#cost} (latency EWMA
+ * times outstanding requests). This steers traffic away from slow or paused
+ * instances without the herding that always picking the best one causes.
+ */
+public class PeakEwmaLoadBalancer implements ReactorServiceInstanceLoadBalancer {
+
+    private final ObjectProvider<ServiceInstanceListSupplier> suppliers;
+    private final InstanceLoadTracker tracker;
+
+    public PeakEwmaLoadBalancer(ObjectProvider<ServiceInstanceListSupplier> suppliers, InstanceLoadTracker tracker) {
+        this.suppliers = suppliers;
+        this.tracker = tracker;
+    }
+
+    @Override
+    public Mono<Response<ServiceInstance>> choose(Request request) {
+        ServiceInstanceListSupplier supplier = suppliers.getIfAvailable(NoopServiceInstanceListSupplier::new);
+        return supplier.get(request).next().map(this::choose);
+    }
+
+    private Response<ServiceInstance> choose(List<ServiceInstance> instances) {
+        tracker.retainOnly(instances);
+        if (instances.isEmpty()) {
+            return new EmptyResponse();
+        }
+        if (instances.size() == 1) {
+            return new DefaultResponse(instances.get(0));
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(instances.size());
+        int second = random.nextInt(instances.size() - 1);
+        if (second >= first) {
+            second++;
+        }
+        ServiceInstance a = instances.get(first);
+        ServiceInstance b = instances.get(second);
+        return new DefaultResponse(tracker.cost(a) <= tracker.cost(b) ? a : b);
+    }
+}
@@ -0,0 +1,17 @@
+package com.cts.inventorymanagement.common.loadbalancer;
+
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.cloud.loadbalancer.annotation.LoadBalancerClients;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+
+/**
+ * Makes {@link PeakEwmaLoadBalancer} the default for every load-balanced client
+ * (Feign clients, {@code @LoadBalanced} WebClients, gateway {@code lb://} routes)
+ * instead of round robin.
+ */
+@AutoConfiguration
+@ConditionalOnClass(ReactorServiceInstanceLoadBalancer.class)
+@LoadBalancerClients(defaultConfiguration = PeakEwmaLoadBalancerConfiguration.class)
+public class PeakEwmaLoadBalancerAutoConfiguration {
+}
@@ -0,0 +1,37 @@
+package com.cts.inventorymanagement.common.loadbalancer;
+
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.cloud.loadbalancer.core.ReactorServiceInstanceLoadBalancer;
+import org.springframework.cloud.loadbalancer.core.ServiceInstanceListSupplier;
+import org.springframework.cloud.loadbalancer.support.LoadBalancerClientFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.env.Environment;
+
+/**
+ * Load balancer beans for every client context, registered through
+ * {@code @LoadBalancerClients(defaultConfiguration = ...)}. Deliberately not a
+ * {@code @Configuration}: component scanning must not pick it up, or it would be
+ * shared by all clients.
+ */
+public class PeakEwmaLoadBalancerConfiguration {
+
+    // Client contexts have no Boot conversion service, so durations are parsed here
+    @Bean
+    public InstanceLoadTracker instanceLoadTracker(Environment environment) {
+        return new InstanceLoadTracker(
+                duration(environment, "loadbalancer.peak-ewma.decay", "10s"),
+                duration(environment, "loadbalancer.peak-ewma.failure-penalty", "1s"));
+    }
+
+    @Bean
+    public ReactorServiceInstanceLoadBalancer peakEwmaLoadBalancer(Environment environment,
+            LoadBalancerClientFactory clientFactory, InstanceLoadTracker instanceLoadTracker) {
+        String serviceId = environment.getProperty(LoadBalancerClientFactory.PROPERTY_NAME);
+        return new PeakEwmaLoadBalancer(clientFactory.getLazyProvider(serviceId, ServiceInstanceListSupplier.class),
+                instanceLoadTracker);
+    }
+
+    private static long duration(Environment environment, String key, String defaultValue) {
+        return DurationStyle.detectAndParse(environment.getProperty(key, defaultValue)).toNanos();
+    }
+}
@@ -0,0 +1,21 @@
+package com.cts.inventorymanagement.common.metrics;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/** Registers {@link CallMetricsPostProcessor} in services that use Spring Data. */
+@AutoConfiguration
+@ConditionalOnClass(name = {"org.springframework.data.repository.Repository",
+        "org.springframework.aop.framework.ProxyFactory", "io.micrometer.core.instrument.MeterRegistry"})
+public class CallMetricsAutoConfiguration {
+
+    // Static, so registering the post-processor does not create this configuration early
+    @Bean
+    public static CallMetricsPostProcessor callMetricsPostProcessor(ObjectProvider<MeterRegistry> registryProvider) {
+        return new CallMetricsPostProcessor(registryProvider);
+    }
+}
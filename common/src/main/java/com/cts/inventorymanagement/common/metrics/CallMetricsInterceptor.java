@@ -0,0 +1,90 @@
+package com.cts.inventorymanagement.common.metrics;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Records latency, errors and in-flight calls for every method of one Feign client
+ * or repository. Meters are created once per method and cached, so the per-call cost
+ * is a map lookup, two atomic updates and a timer record.
+ */
+public class CallMetricsInterceptor implements MethodInterceptor {
+
+    static final String CALLS = "service.calls";
+    static final String ERRORS = "service.calls.errors";
+    static final String ACTIVE = "service.calls.active";
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final String type;
+    private final String target;
+    private final ConcurrentMap<Method, CallMeters> meters = new ConcurrentHashMap<>();
+
+    public CallMetricsInterceptor(ObjectProvider<MeterRegistry> registryProvider, String type, String target) {
+        this.registryProvider = registryProvider;
+        this.type = type;
+        this.target = target;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+        CallMeters callMeters = meters.get(method);
+        if (callMeters == null) {
+            callMeters = meters.computeIfAbsent(method, this::register);
+        }
+
+        callMeters.active.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } catch (Throwable ex) {
+            callMeters.errors.increment();
+            throw ex;
+        } finally {
+            callMeters.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            callMeters.active.decrementAndGet();
+        }
+    }
+
+    private CallMeters register(Method method) {
+        MeterRegistry registry = registryProvider.getObject();
+        Tags tags = Tags.of("type", type, "target", target, "method", method.getName());
+        Timer timer = Timer.builder(CALLS)
+                .description("Latency of outbound client and repository calls")
+                .tags(tags)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(registry);
+        Counter errors = Counter.builder(ERRORS)
+                .description("Calls that completed with an exception")
+                .tags(tags)
+                .register(registry);
+        AtomicInteger active = new AtomicInteger();
+        Gauge.builder(ACTIVE, active, AtomicInteger::get)
+                .description("Calls currently in flight")
+                .tags(tags)
+                .register(registry);
+        return new CallMeters(timer, errors, active);
+    }
+
+    private record CallMeters(Timer timer, Counter errors, AtomicInteger active) {
+    }
+}
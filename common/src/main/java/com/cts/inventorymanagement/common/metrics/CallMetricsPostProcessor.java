@@ -0,0 +1,54 @@
+package com.cts.inventorymanagement.common.metrics;
+
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.data.repository.Repository;
+import org.springframework.util.ClassUtils;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Wraps every {@link FeignClient} proxy and Spring Data repository in a
+ * {@link CallMetricsInterceptor}, so downstream and database latency show up
+ * per client/repository method on the Prometheus endpoint. Services without
+ * OpenFeign only get their repositories wrapped.
+ */
+public class CallMetricsPostProcessor implements BeanPostProcessor {
+
+    private static final boolean FEIGN_PRESENT = ClassUtils.isPresent(
+            "org.springframework.cloud.openfeign.FeignClient", CallMetricsPostProcessor.class.getClassLoader());
+
+    private final ObjectProvider<MeterRegistry> registryProvider;
+
+    public CallMetricsPostProcessor(ObjectProvider<MeterRegistry> registryProvider) {
+        this.registryProvider = registryProvider;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        for (Class<?> iface : ClassUtils.getAllInterfacesAsSet(bean)) {
+            if (FEIGN_PRESENT && iface.isAnnotationPresent(FeignClient.class)) {
+                return wrap(bean, iface, "feign");
+            }
+            if (Repository.class.isAssignableFrom(iface) && !iface.getName().startsWith("org.springframework")) {
+                return wrap(bean, iface, "repository");
+            }
+        }
+        return bean;
+    }
+
+    private Object wrap(Object bean, Class<?> iface, String type) {
+        CallMetricsInterceptor interceptor = new CallMetricsInterceptor(registryProvider, type, iface.getSimpleName());
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(0, interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setInterfaces(iface);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(iface.getClassLoader());
+    }
+}
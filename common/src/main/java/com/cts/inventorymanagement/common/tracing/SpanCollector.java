@@ -0,0 +1,171 @@
+package com.cts.inventorymanagement.common.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+import brave.handler.MutableSpan;
+import brave.handler.SpanHandler;
+import brave.propagation.TraceContext;
+
+/**
+ * Keeps the most recently finished spans of this service in a fixed-size ring and
+ * exposes them at {@code /actuator/traces}. {@code /actuator/traces/{traceId}} returns
+ * every local span of a trace with its self time and the critical path through it.
+ * Recording a span is one counter increment and one array store.
+ */
+@Endpoint(id = "traces")
+public class SpanCollector extends SpanHandler {
+
+    private static final int MAX_SUMMARIES = 100;
+
+    private final AtomicReferenceArray<SpanRecord> ring;
+    private final AtomicLong cursor = new AtomicLong();
+
+    public SpanCollector(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("tracing.collector.capacity must be positive, got " + capacity);
+        }
+        this.ring = new AtomicReferenceArray<>(capacity);
+    }
+
+    @Override
+    public boolean end(TraceContext context, MutableSpan span, Cause cause) {
+        if (cause != Cause.ABANDONED && span.finishTimestamp() != 0L) {
+            int slot = (int) (cursor.getAndIncrement() % ring.length());
+            ring.set(slot, SpanRecord.from(span));
+        }
+        return true;
+    }
+
+    @ReadOperation
+    public List<TraceSummary> traces() {
+        Map<String, List<SpanRecord>> byTrace = new HashMap<>();
+        for (SpanRecord span : snapshot()) {
+            byTrace.computeIfAbsent(span.traceId(), id -> new ArrayList<>()).add(span);
+        }
+        return byTrace.entrySet().stream()
+                .map(entry -> TraceSummary.of(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingLong(TraceSummary::startMicros).reversed())
+                .limit(MAX_SUMMARIES)
+                .toList();
+    }
+
+    @ReadOperation
+    public TraceBreakdown trace(@Selector String traceId) {
+        List<SpanRecord> spans = snapshot().stream()
+                .filter(span -> span.traceId().equals(traceId))
+                .sorted(Comparator.comparingLong(SpanRecord::startMicros))
+                .toList();
+        return spans.isEmpty() ? null : TraceBreakdown.of(traceId, spans);
+    }
+
+    private List<SpanRecord> snapshot() {
+        List<SpanRecord> spans = new ArrayList<>(ring.length());
+        for (int i = 0; i < ring.length(); i++) {
+            SpanRecord span = ring.get(i);
+            if (span != null) {
+                spans.add(span);
+            }
+        }
+        return spans;
+    }
+
+    public record SpanRecord(String traceId, String spanId, String parentId, String name, String kind,
+                             String remoteService, long startMicros, long durationMicros, String error) {
+
+        static SpanRecord from(MutableSpan span) {
+            return new SpanRecord(span.traceId(), span.id(), span.parentId(), span.name(),
+                    span.kind() == null ? "LOCAL" : span.kind().name(), span.remoteServiceName(),
+                    span.startTimestamp(), span.finishTimestamp() - span.startTimestamp(),
+                    span.error() == null ? span.tag("error") : span.error().getClass().getSimpleName());
+        }
+
+        long endMicros() {
+            return startMicros + durationMicros;
+        }
+    }
+
+    public record TraceSummary(String traceId, String rootName, long startMicros, long durationMicros,
+                               int spanCount, boolean error) {
+
+        static TraceSummary of(String traceId, List<SpanRecord> spans) {
+            long start = spans.stream().mapToLong(SpanRecord::startMicros).min().orElse(0L);
+            long end = spans.stream().mapToLong(SpanRecord::endMicros).max().orElse(0L);
+            SpanRecord root = spans.stream().min(Comparator.comparingLong(SpanRecord::startMicros)).orElseThrow();
+            boolean error = spans.stream().anyMatch(span -> span.error() != null);
+            return new TraceSummary(traceId, root.name(), start, end - start, spans.size(), error);
+        }
+    }
+
+    public record SpanView(String spanId, String parentId, String name, String kind, String remoteService,
+                           long offsetMicros, long durationMicros, long selfMicros, String error) {
+    }
+
+    public record TraceBreakdown(String traceId, long durationMicros, List<SpanView> spans,
+                                 List<String> criticalPath) {
+
+        static TraceBreakdown of(String traceId, List<SpanRecord> spans) {
+            Map<String, SpanRecord> byId = new LinkedHashMap<>();
+            Map<String, List<SpanRecord>> children = new HashMap<>();
+            for (SpanRecord span : spans) {
+                byId.put(span.spanId(), span);
+            }
+            for (SpanRecord span : spans) {
+                if (span.parentId() != null && byId.containsKey(span.parentId())) {
+                    children.computeIfAbsent(span.parentId(), id -> new ArrayList<>()).add(span);
+                }
+            }
+
+            long start = spans.get(0).startMicros();
+            long end = spans.stream().mapToLong(SpanRecord::endMicros).max().orElse(start);
+            List<SpanView> views = spans.stream()
+                    .map(span -> new SpanView(span.spanId(), span.parentId(), span.name(), span.kind(),
+                            span.remoteService(), span.startMicros() - start, span.durationMicros(),
+                            selfMicros(span, children.getOrDefault(span.spanId(), List.of())), span.error()))
+                    .toList();
+            return new TraceBreakdown(traceId, end - start, views, criticalPath(spans, byId, children));
+        }
+
+        /** Time spent in the span itself, i.e. not covered by any of its children. */
+        private static long selfMicros(SpanRecord span, List<SpanRecord> children) {
+            long covered = 0L;
+            long cursor = span.startMicros();
+            for (SpanRecord child : children) {
+                long from = Math.max(cursor, child.startMicros());
+                long to = Math.min(span.endMicros(), child.endMicros());
+                if (to > from) {
+                    covered += to - from;
+                    cursor = to;
+                }
+            }
+            return Math.max(0L, span.durationMicros() - covered);
+        }
+
+        /** Follows the longest local root down through the child that finishes last at each level. */
+        private static List<String> criticalPath(List<SpanRecord> spans, Map<String, SpanRecord> byId,
+                                                 Map<String, List<SpanRecord>> children) {
+            SpanRecord current = spans.stream()
+                    .filter(span -> span.parentId() == null || !byId.containsKey(span.parentId()))
+                    .max(Comparator.comparingLong(SpanRecord::durationMicros))
+                    .orElse(null);
+            List<String> path = new ArrayList<>();
+            while (current != null) {
+                path.add(current.name() + " (" + current.durationMicros() + "us)");
+                current = children.getOrDefault(current.spanId(), List.of()).stream()
+                        .max(Comparator.comparingLong(SpanRecord::endMicros))
+                        .orElse(null);
+            }
+            return path;
+        }
+    }
+}
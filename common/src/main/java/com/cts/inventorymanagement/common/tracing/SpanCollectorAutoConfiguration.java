@@ -0,0 +1,19 @@
+package com.cts.inventorymanagement.common.tracing;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+
+import brave.handler.SpanHandler;
+
+/** Registers {@link SpanCollector} in services that trace with Brave. */
+@AutoConfiguration
+@ConditionalOnClass({SpanHandler.class, org.springframework.boot.actuate.endpoint.annotation.Endpoint.class})
+public class SpanCollectorAutoConfiguration {
+
+    @Bean
+    public SpanCollector spanCollector(@Value("${tracing.collector.capacity:4096}") int capacity) {
+        return new SpanCollector(capacity);
+    }
+}
@@ -0,0 +1,20 @@
+package com.cts.inventorymanagement.order.client;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks an idempotent Feign read that may be hedged: when it takes longer than the
+ * method's recent p95, a second identical request is sent and the first response
+ * wins. Only put this on methods that are safe to call twice.
+ *
+ * @see com.cts.inventorymanagement.order.config.HedgingInterceptor
+ */
+@Documented
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Hedged {
+}
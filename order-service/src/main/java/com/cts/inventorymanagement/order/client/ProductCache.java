@@ -0,0 +1,68 @@
+package com.cts.inventorymanagement.order.client;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.cts.inventorymanagement.order.dto.ProductDto;
+
+/**
+ * Last product details successfully read from product-service, used by
+ * {@link ProductClientFallbackFactory} to keep pricing orders while product-service
+ * is slow or its circuit breaker is open. Entries older than
+ * {@code order.product-cache.max-age} are not served, and at most
+ * {@code order.product-cache.max-entries} products are kept. Served copies are
+ * marked {@link ProductDto#isFromCache() fromCache}.
+ */
+@Component
+public class ProductCache {
+
+    private final ConcurrentMap<Long, Entry> products = new ConcurrentHashMap<>();
+    private final long maxAgeNanos;
+    private final int maxEntries;
+
+    public ProductCache(@Value("${order.product-cache.max-age:10m}") Duration maxAge,
+                        @Value("${order.product-cache.max-entries:10000}") int maxEntries) {
+        this.maxAgeNanos = maxAge.toNanos();
+        this.maxEntries = maxEntries;
+    }
+
+    public void put(ProductDto product) {
+        if (product == null || product.getProductId() == null || product.getPrice() == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        if (products.size() >= maxEntries && !products.containsKey(product.getProductId())) {
+            products.values().removeIf(entry -> entry.isExpired(now, maxAgeNanos));
+            if (products.size() >= maxEntries) {
+                return; // full of fresh entries; this product is simply not cached
+            }
+        }
+        products.put(product.getProductId(), new Entry(product, now));
+    }
+
+    public Optional<ProductDto> get(Long productId) {
+        Entry entry = products.get(productId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (entry.isExpired(System.nanoTime(), maxAgeNanos)) {
+            products.remove(productId, entry);
+            return Optional.empty();
+        }
+        ProductDto product = entry.product();
+        ProductDto copy = new ProductDto(product.getProductId(), product.getName(), product.getDescription(),
+                product.getPrice(), product.getImageUrl(), product.getCategory(), product.getStatus(), true);
+        return Optional.of(copy);
+    }
+
+    private record Entry(ProductDto product, long cachedAtNanos) {
+        boolean isExpired(long now, long maxAgeNanos) {
+            return now - cachedAtNanos > maxAgeNanos;
+        }
+    }
+}
@@ -8,8 +8,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 
 import com.cts.inventorymanagement.order.dto.ProductDto;
 
-@FeignClient(name = "product-service")
+@FeignClient(name = "product-service", fallbackFactory = ProductClientFallbackFactory.class)
 public interface ProductClient {
+    @Hedged
     @GetMapping("/products/{id}")
     ProductDto getProductById(@PathVariable Long id);
 }
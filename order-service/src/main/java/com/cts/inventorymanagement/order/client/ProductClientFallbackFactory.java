@@ -0,0 +1,43 @@
+package com.cts.inventorymanagement.order.client;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.openfeign.FallbackFactory;
+import org.springframework.stereotype.Component;
+
+import com.cts.inventorymanagement.common.feign.CircuitBreakerCauseCapability;
+import com.cts.inventorymanagement.order.dto.ProductDto;
+
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serves the last known product when product-service fails, times out or is cut off
+ * by its circuit breaker or bulkhead; its price is reported as coming from the cache.
+ * Without a fresh cached copy the product comes back
+ * with no price, which the order output reports as price unavailable. A 4xx from
+ * product-service (e.g. unknown product) is rethrown unchanged.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductClientFallbackFactory implements FallbackFactory<ProductClient> {
+
+    private static final Logger log = LoggerFactory.getLogger(ProductClientFallbackFactory.class);
+    private final ProductCache productCache;
+
+    @Override
+    public ProductClient create(Throwable failure) {
+        Throwable cause = CircuitBreakerCauseCapability.unwrap(failure);
+        return id -> {
+            if (cause instanceof FeignException.FeignClientException clientError) {
+                throw clientError;
+            }
+            log.warn("product-service unavailable for product {}, using fallback: {}", id, cause.toString());
+            return productCache.get(id).orElseGet(() -> {
+                ProductDto unavailable = new ProductDto();
+                unavailable.setProductId(id);
+                return unavailable;
+            });
+        };
+    }
+}
@@ -8,6 +8,7 @@ import com.cts.inventorymanagement.order.dto.StockUpdateRequest;
 
 @FeignClient(name = "stock-service")
 public interface StockClient {
+    @Hedged
     @GetMapping("/stocks/{productId}")
     StockDto getStock(@PathVariable Long productId);
 
@@ -0,0 +1,237 @@
+package com.cts.inventorymanagement.order.config;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.ProxyMethodInvocation;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.cts.inventorymanagement.order.client.Hedged;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Hedges {@link Hedged} methods of one Feign client. The call runs on the hedging
+ * executor. If it hasn't answered after the method's recent latency percentile
+ * (p95 by default, never below {@code minDelay}), an identical second call is sent.
+ * The load balancer sees the first call in flight and usually picks another
+ * instance. Whichever succeeds first is returned; the call only fails when both do.
+ *
+ * <p>Hedges are limited by a budget: each call earns {@code budgetRatio} of a hedge,
+ * so hedges stay below that share of traffic even when a whole service slows down.
+ * Until a method has a full latency window, and whenever the executor is saturated,
+ * calls run unhedged on the caller's thread. The losing call is not interrupted;
+ * it finishes within the Feign read timeout and its result is dropped.
+ *
+ * <p>Metrics: {@code feign.hedging.requests{client,method,outcome=sent|won|over_budget}}
+ * and the current delay in {@code feign.hedging.delay}.
+ */
+public class HedgingInterceptor implements MethodInterceptor {
+
+    static final String REQUESTS = "feign.hedging.requests";
+    static final String DELAY = "feign.hedging.delay";
+
+    private static final long CREDITS_PER_HEDGE = 1000;
+    private static final long MAX_CREDITS = 10 * CREDITS_PER_HEDGE;
+
+    private final Executor executor;
+    private final ObjectProvider<Tracer> tracerProvider;
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final String client;
+    private final HedgingSettings settings;
+    private final ConcurrentMap<Method, HedgedMethod> methods = new ConcurrentHashMap<>();
+
+    public HedgingInterceptor(Executor executor, ObjectProvider<Tracer> tracerProvider,
+                              ObjectProvider<MeterRegistry> registryProvider, String client, HedgingSettings settings) {
+        this.executor = executor;
+        this.tracerProvider = tracerProvider;
+        this.registryProvider = registryProvider;
+        this.client = client;
+        this.settings = settings;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Method method = invocation.getMethod();
+        if (!method.isAnnotationPresent(Hedged.class) || !(invocation instanceof ProxyMethodInvocation proxyInvocation)) {
+            return invocation.proceed();
+        }
+        HedgedMethod cached = methods.get(method);
+        HedgedMethod state = cached != null ? cached : methods.computeIfAbsent(method, this::register);
+        state.earn();
+
+        long delay = state.delayNanos;
+        if (delay < 0) {
+            return timed(invocation, state);
+        }
+        CompletableFuture<Object> primary = attempt(proxyInvocation, state);
+        if (primary == null) {
+            return timed(invocation, state);
+        }
+        try {
+            return primary.get(delay, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            // slow call, consider a hedge
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+
+        if (!state.tryConsumeHedge()) {
+            state.overBudget.increment();
+            return await(primary);
+        }
+        CompletableFuture<Object> hedge = attempt(proxyInvocation, state);
+        if (hedge == null) {
+            return await(primary);
+        }
+        state.sent.increment();
+
+        CompletableFuture<Object> first = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        primary.whenComplete((value, error) -> settle(first, failures, value, error, null));
+        hedge.whenComplete((value, error) -> settle(first, failures, value, error, state.won));
+        return await(first);
+    }
+
+    private static void settle(CompletableFuture<Object> first, AtomicInteger failures, Object value, Throwable error,
+                               Counter wins) {
+        if (error == null) {
+            if (first.complete(value) && wins != null) {
+                wins.increment();
+            }
+        } else if (failures.incrementAndGet() == 2) {
+            first.completeExceptionally(error);
+        }
+    }
+
+    /** Starts one call on the executor, or returns {@code null} if the executor is full. */
+    private CompletableFuture<Object> attempt(ProxyMethodInvocation invocation, HedgedMethod state) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        MethodInvocation call = invocation.invocableClone();
+        Runnable task = () -> {
+            long start = System.nanoTime();
+            try {
+                Object value = call.proceed();
+                state.record(System.nanoTime() - start);
+                result.complete(value);
+            } catch (Throwable ex) {
+                result.completeExceptionally(ex);
+            }
+        };
+        Tracer tracer = tracerProvider.getIfAvailable();
+        try {
+            executor.execute(tracer != null ? tracer.currentTraceContext().wrap(task) : task);
+        } catch (RejectedExecutionException e) {
+            return null;
+        }
+        return result;
+    }
+
+    private static Object timed(MethodInvocation invocation, HedgedMethod state) throws Throwable {
+        long start = System.nanoTime();
+        Object value = invocation.proceed();
+        state.record(System.nanoTime() - start);
+        return value;
+    }
+
+    private static Object await(CompletableFuture<Object> future) throws Throwable {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        }
+    }
+
+    private HedgedMethod register(Method method) {
+        MeterRegistry registry = registryProvider.getObject();
+        Tags tags = Tags.of("client", client, "method", method.getName());
+        HedgedMethod state = new HedgedMethod(settings,
+                registry.counter(REQUESTS, tags.and("outcome", "sent")),
+                registry.counter(REQUESTS, tags.and("outcome", "won")),
+                registry.counter(REQUESTS, tags.and("outcome", "over_budget")));
+        Gauge.builder(DELAY, state, s -> Math.max(0, s.delayNanos) / 1_000_000.0)
+                .description("Current hedging delay in milliseconds (0 while warming up)")
+                .tags(tags)
+                .register(registry);
+        return state;
+    }
+
+    /** Tuning shared by every hedged method. */
+    public record HedgingSettings(double percentile, long minDelayNanos, double budgetRatio, int window) {
+    }
+
+    static final class HedgedMethod {
+        private final HedgingSettings settings;
+        private final AtomicLongArray latencies;
+        private final AtomicLong samples = new AtomicLong();
+        private final AtomicLong credits = new AtomicLong();
+        private final long creditsPerCall;
+        private final Counter sent;
+        private final Counter won;
+        private final Counter overBudget;
+        volatile long delayNanos = -1;
+
+        HedgedMethod(HedgingSettings settings, Counter sent, Counter won, Counter overBudget) {
+            this.settings = settings;
+            this.latencies = new AtomicLongArray(settings.window());
+            this.creditsPerCall = Math.round(settings.budgetRatio() * CREDITS_PER_HEDGE);
+            this.sent = sent;
+            this.won = won;
+            this.overBudget = overBudget;
+        }
+
+        void earn() {
+            long current;
+            do {
+                current = credits.get();
+                if (current >= MAX_CREDITS) {
+                    return;
+                }
+            } while (!credits.compareAndSet(current, Math.min(MAX_CREDITS, current + creditsPerCall)));
+        }
+
+        boolean tryConsumeHedge() {
+            long current;
+            do {
+                current = credits.get();
+                if (current < CREDITS_PER_HEDGE) {
+                    return false;
+                }
+            } while (!credits.compareAndSet(current, current - CREDITS_PER_HEDGE));
+            return true;
+        }
+
+        // The percentile is recomputed every quarter window, on the recording thread
+        void record(long latencyNanos) {
+            long sample = samples.getAndIncrement();
+            int window = latencies.length();
+            latencies.set((int) (sample % window), latencyNanos);
+            if (sample + 1 >= window && (sample + 1) % Math.max(1, window / 4) == 0) {
+                long[] sorted = new long[window];
+                for (int i = 0; i < window; i++) {
+                    sorted[i] = latencies.get(i);
+                }
+                Arrays.sort(sorted);
+                int index = (int) Math.min(window - 1, Math.ceil(settings.percentile() * window) - 1);
+                delayNanos = Math.max(settings.minDelayNanos(), sorted[Math.max(0, index)]);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.cts.inventorymanagement.order.config;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import com.cts.inventorymanagement.order.client.Hedged;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Adds a {@link HedgingInterceptor} to every {@link FeignClient} that has
+ * {@link Hedged} methods. Hedged calls run on a small dedicated pool. Trace context is
+ * carried over, so both attempts show up under the caller's span. Set
+ * {@code feign.hedging.enabled=false} to turn hedging off.
+ */
+@Component
+public class HedgingPostProcessor implements BeanPostProcessor, DisposableBean {
+
+    private final ObjectProvider<Tracer> tracerProvider;
+    private final ObjectProvider<MeterRegistry> registryProvider;
+    private final boolean enabled;
+    private final HedgingInterceptor.HedgingSettings settings;
+    private final ThreadPoolExecutor executor;
+
+    public HedgingPostProcessor(ObjectProvider<Tracer> tracerProvider, ObjectProvider<MeterRegistry> registryProvider,
+                                @Value("${feign.hedging.enabled:true}") boolean enabled,
+                                @Value("${feign.hedging.percentile:0.95}") double percentile,
+                                @Value("${feign.hedging.min-delay:20ms}") Duration minDelay,
+                                @Value("${feign.hedging.budget-ratio:0.05}") double budgetRatio,
+                                @Value("${feign.hedging.window:256}") int window,
+                                @Value("${feign.hedging.max-threads:64}") int maxThreads) {
+        this.tracerProvider = tracerProvider;
+        this.registryProvider = registryProvider;
+        this.enabled = enabled;
+        this.settings = new HedgingInterceptor.HedgingSettings(percentile, minDelay.toNanos(), budgetRatio, window);
+        this.executor = new ThreadPoolExecutor(0, maxThreads, 60, TimeUnit.SECONDS, new SynchronousQueue<>(),
+                new CustomizableThreadFactory("feign-hedge-"));
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!enabled) {
+            return bean;
+        }
+        for (Class<?> iface : ClassUtils.getAllInterfacesAsSet(bean)) {
+            if (iface.isAnnotationPresent(FeignClient.class)
+                    && Arrays.stream(iface.getMethods()).anyMatch(method -> method.isAnnotationPresent(Hedged.class))) {
+                return wrap(bean, iface);
+            }
+        }
+        return bean;
+    }
+
+    private Object wrap(Object bean, Class<?> iface) {
+        HedgingInterceptor interceptor = new HedgingInterceptor(executor, tracerProvider, registryProvider,
+                iface.getSimpleName(), settings);
+        if (bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice(interceptor);
+            return bean;
+        }
+        ProxyFactory proxyFactory = new ProxyFactory(bean);
+        proxyFactory.setInterfaces(iface);
+        proxyFactory.addAdvice(interceptor);
+        return proxyFactory.getProxy(iface.getClassLoader());
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+}
@@ -51,6 +51,13 @@ public class OrderController {
         return ResponseEntity.ok(orders);
     }
 
+    // /orders/{id} already lists the orders of a product, so single orders live under /by-id
+    @GetMapping("/by-id/{orderId}")
+    public ResponseEntity<OrderOutputDto> getOrderById(@PathVariable Long orderId) {
+        logger.info("GET /api/orders/by-id/{}", orderId);
+        return ResponseEntity.ok(service.getOrderById(orderId));
+    }
+
     @GetMapping("/{productId}")
     public ResponseEntity<List<OrderOutputDto>> getOrdersOfProduct(@PathVariable Long productId) {
         logger.info("GET /api/orders/{}", productId);
@@ -75,4 +82,14 @@ public class OrderController {
         Map<String, String> result = service.updateOrderStatus(orderId, orderStatus);
         return ResponseEntity.ok(result);
     }
-}
\ No newline at end of file
+
+    // Units ordered per product over the last N days (cancelled orders excluded); products with none are omitted
+    @PostMapping("/consumption")
+    public ResponseEntity<Map<Long, Long>> getUnitsOrdered(
+        @RequestBody List<Long> productIds,
+        @RequestParam(defaultValue = "30") int days
+    ) {
+        logger.info("POST /api/orders/consumption - {} products, days: {}", productIds.size(), days);
+        return ResponseEntity.ok(service.getUnitsOrdered(productIds, days));
+    }
+}
@@ -19,4 +19,7 @@ public class OrderItemOutputDto {
     private Integer quantity;
     private BigDecimal unitPrice;
     private BigDecimal totalPrice;
+    private boolean priceUnavailable;
+    // Price is the last cached one, possibly stale, because product-service was unavailable
+    private boolean priceFromCache;
 }
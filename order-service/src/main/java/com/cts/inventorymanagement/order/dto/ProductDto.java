@@ -3,6 +3,8 @@ package com.cts.inventorymanagement.order.dto;
 import com.cts.inventorymanagement.order.model.Product;
 import com.cts.inventorymanagement.order.model.Product.ProductCategory;
 import com.cts.inventorymanagement.order.model.Product.ProductStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
@@ -33,4 +35,8 @@ public class ProductDto {
     private ProductCategory category;
     
     private ProductStatus status;
+
+    // Set on copies served from ProductCache while product-service is unavailable
+    @JsonIgnore
+    private boolean fromCache;
 }
\ No newline at end of file
@@ -10,6 +10,8 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import com.cts.inventorymanagement.order.dto.ErrorResponse;
 
 import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import jakarta.servlet.http.HttpServletRequest;
 
 @RestControllerAdvice
@@ -27,6 +29,12 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, request);
     }
 
+    @ExceptionHandler(InvalidRequestParameterException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequestParameter(
+            InvalidRequestParameterException ex, HttpServletRequest request) {
+        return buildErrorResponse(ex, HttpStatus.BAD_REQUEST, request);
+    }
+
     @ExceptionHandler(FeignException.class)
     public ResponseEntity<ErrorResponse> handleFeignException(
             FeignException ex, HttpServletRequest request) {
@@ -35,6 +43,12 @@ public class GlobalExceptionHandler {
                                status, request);
     }
 
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    public ResponseEntity<ErrorResponse> handleDownstreamRejected(
+            RuntimeException ex, HttpServletRequest request) {
+        return buildErrorResponse(ex, HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
     private ResponseEntity<ErrorResponse> buildErrorResponse(
             Exception ex, HttpStatus status, HttpServletRequest request) {
         ErrorResponse response = new ErrorResponse();
@@ -0,0 +1,7 @@
+package com.cts.inventorymanagement.order.exceptions;
+
+public class InvalidRequestParameterException extends RuntimeException {
+    public InvalidRequestParameterException(String message) {
+        super(message);
+    }
+}
@@ -1,5 +1,6 @@
 package com.cts.inventorymanagement.order.repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -13,4 +14,12 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     List<Order> findByProductId(@Param("productId") Long productId);
     
     List<Order> findByCustomerId(Long customerId);
-}
\ No newline at end of file
+
+    // Rows of (productId, units) ordered since the given time, excluding orders in the given status
+    @Query("SELECT i.productId, SUM(i.quantity) FROM OrderItem i JOIN i.order o "
+            + "WHERE i.productId IN :productIds AND o.orderdate >= :since AND o.orderStatus <> :excluded "
+            + "GROUP BY i.productId")
+    List<Object[]> sumQuantityByProductSince(@Param("productIds") List<Long> productIds,
+                                             @Param("since") LocalDateTime since,
+                                             @Param("excluded") Order.Status excluded);
+}
@@ -9,8 +9,10 @@ import com.cts.inventorymanagement.order.model.Order;
 
 public interface OrderService {
     List<OrderOutputDto> getAllOrders();
+    OrderOutputDto getOrderById(Long orderId);
     List<OrderOutputDto> getOrdersOfProduct(Long productId);
     List<OrderOutputDto> getOrdersOfCustomer(Long customerId);
     OrderOutputDto createOrder(OrderInputDto orderDto);
     Map<String, String> updateOrderStatus(Long orderId, Order.Status orderStatus);
+    Map<Long, Long> getUnitsOrdered(List<Long> productIds, int days);
 }
\ No newline at end of file
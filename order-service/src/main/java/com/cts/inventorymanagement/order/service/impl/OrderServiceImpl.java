@@ -11,6 +11,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import com.cts.inventorymanagement.order.client.ProductCache;
 import com.cts.inventorymanagement.order.client.ProductClient;
 import com.cts.inventorymanagement.order.client.StockClient;
 import com.cts.inventorymanagement.order.dto.OrderInputDto;
@@ -22,6 +23,7 @@ import com.cts.inventorymanagement.order.dto.StockDto;
 import com.cts.inventorymanagement.order.dto.StockUpdateRequest;
 import com.cts.inventorymanagement.order.dto.StockUpdateRequest.Operation;
 import com.cts.inventorymanagement.order.exceptions.InsufficientStockException;
+import com.cts.inventorymanagement.order.exceptions.InvalidRequestParameterException;
 import com.cts.inventorymanagement.order.exceptions.ProductNotFoundException;
 import com.cts.inventorymanagement.order.model.Order;
 import com.cts.inventorymanagement.order.model.Order.Status;
@@ -38,9 +40,11 @@ import lombok.RequiredArgsConstructor;
 public class OrderServiceImpl implements OrderService {
 
     private static final Logger logger = LoggerFactory.getLogger(OrderServiceImpl.class);
+    private static final int MAX_CONSUMPTION_IDS = 1000;
     private final OrderRepository orderRepo;
     private final ProductClient productClient;
     private final StockClient stockClient;
+    private final ProductCache productCache;
 
     @Override
     @Transactional
@@ -127,6 +131,13 @@ public class OrderServiceImpl implements OrderService {
         return convertOrdersToDtos(orderRepo.findAll());
     }
 
+    @Override
+    public OrderOutputDto getOrderById(Long orderId) {
+        Order order = orderRepo.findById(orderId)
+            .orElseThrow(() -> new ProductNotFoundException("Order not found with id: " + orderId));
+        return convertToOutputDto(order);
+    }
+
     @Override
     public List<OrderOutputDto> getOrdersOfCustomer(Long customerId) {
         return convertOrdersToDtos(orderRepo.findByCustomerId(customerId));
@@ -137,6 +148,25 @@ public class OrderServiceImpl implements OrderService {
         return convertOrdersToDtos(orderRepo.findByProductId(productId));
     }
 
+    @Override
+    public Map<Long, Long> getUnitsOrdered(List<Long> productIds, int days) {
+        if (productIds.size() > MAX_CONSUMPTION_IDS) {
+            throw new InvalidRequestParameterException("At most " + MAX_CONSUMPTION_IDS + " product ids per request");
+        }
+        if (days < 1) {
+            throw new InvalidRequestParameterException("days must be positive");
+        }
+        Map<Long, Long> units = new HashMap<>();
+        if (productIds.isEmpty()) {
+            return units;
+        }
+        LocalDateTime since = LocalDateTime.now().minusDays(days);
+        for (Object[] row : orderRepo.sumQuantityByProductSince(productIds, since, Status.CANCELLED)) {
+            units.put((Long) row[0], ((Number) row[1]).longValue());
+        }
+        return units;
+    }
+
     private List<OrderOutputDto> convertOrdersToDtos(List<Order> orders) {
         return orders.stream()
             .map(this::convertToOutputDto)
@@ -144,26 +174,34 @@ public class OrderServiceImpl implements OrderService {
     }
 
     private OrderOutputDto convertToOutputDto(Order order) {
+        List<OrderItemOutputDto> items = convertItemsToOutputDtos(order.getItems());
         return OrderOutputDto.builder()
             .id(order.getId())
             .customerId(order.getCustomerId())
             .orderdate(order.getOrderdate())
             .orderStatus(order.getOrderStatus())
-            .items(convertItemsToOutputDtos(order.getItems()))
-            .totalPrice(calculateTotalPrice(order.getItems()))
+            .items(items)
+            .totalPrice(calculateTotalPrice(items))
             .build();
     }
 
     private List<OrderItemOutputDto> convertItemsToOutputDtos(List<OrderItem> items) {
+        Map<Long, ProductDto> products = new HashMap<>();
         return items.stream()
-            .map(this::convertToItemOutputDto)
+            .map(item -> convertToItemOutputDto(item,
+                products.computeIfAbsent(item.getProductId(), this::fetchProduct)))
             .collect(Collectors.toList());
     }
 
-    private OrderItemOutputDto convertToItemOutputDto(OrderItem item) {
-        ProductDto product = productClient.getProductById(item.getProductId());
+    private ProductDto fetchProduct(Long productId) {
+        ProductDto product = productClient.getProductById(productId);
+        productCache.put(product);
+        return product;
+    }
+
+    private OrderItemOutputDto convertToItemOutputDto(OrderItem item, ProductDto product) {
         BigDecimal unitPrice = product.getPrice();
-        BigDecimal totalPrice = unitPrice.multiply(BigDecimal.valueOf(item.getQuantity()));
+        BigDecimal totalPrice = unitPrice == null ? null : unitPrice.multiply(BigDecimal.valueOf(item.getQuantity()));
 
         return OrderItemOutputDto.builder()
             .id(item.getId())
@@ -171,15 +209,18 @@ public class OrderServiceImpl implements OrderService {
             .quantity(item.getQuantity())
             .unitPrice(unitPrice)
             .totalPrice(totalPrice)
+            .priceUnavailable(unitPrice == null)
+            .priceFromCache(product.isFromCache())
             .build();
     }
 
-    private BigDecimal calculateTotalPrice(List<OrderItem> items) {
+    // The order total is only known when every item could be priced
+    private BigDecimal calculateTotalPrice(List<OrderItemOutputDto> items) {
+        if (items.stream().anyMatch(OrderItemOutputDto::isPriceUnavailable)) {
+            return null;
+        }
         return items.stream()
-            .map(item -> {
-                ProductDto product = productClient.getProductById(item.getProductId());
-                return product.getPrice().multiply(BigDecimal.valueOf(item.getQuantity()));
-            })
+            .map(OrderItemOutputDto::getTotalPrice)
             .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
@@ -0,0 +1,175 @@
+package com.cts.inventorymanagement.order.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JAutoConfiguration;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.cts.inventorymanagement.common.feign.FeignClientConfig;
+import com.cts.inventorymanagement.order.dto.OrderInputDto;
+import com.cts.inventorymanagement.order.dto.OrderItemInputDto;
+import com.cts.inventorymanagement.order.dto.ProductDto;
+import com.cts.inventorymanagement.order.dto.StockUpdateRequest;
+import com.cts.inventorymanagement.order.exceptions.GlobalExceptionHandler;
+import com.cts.inventorymanagement.order.exceptions.ProductNotFoundException;
+import com.cts.inventorymanagement.order.repository.OrderRepository;
+import com.cts.inventorymanagement.order.service.impl.OrderServiceImpl;
+
+import feign.Client;
+import feign.FeignException;
+import feign.Response;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** Downstream failures keep their type when Feign calls go through the circuit breaker. */
+class FeignClientFailureTest {
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class,
+                    HttpMessageConvertersAutoConfiguration.class, FeignAutoConfiguration.class,
+                    Resilience4JAutoConfiguration.class, FeignClientConfig.class))
+            .withUserConfiguration(Downstream.class)
+            .withPropertyValues("spring.cloud.openfeign.circuitbreaker.enabled=true",
+                    "spring.cloud.circuitbreaker.resilience4j.disable-time-limiter=true");
+
+    @Test
+    void notFoundReachesTheCaller() {
+        runner.run(context -> {
+            StockClient stockClient = context.getBean(StockClient.class);
+
+            assertThatThrownBy(() -> stockClient.getStock(1L)).isInstanceOf(FeignException.NotFound.class);
+        });
+    }
+
+    @Test
+    void notFoundStockBecomesProductNotFound() {
+        runner.run(context -> {
+            OrderServiceImpl orderService = new OrderServiceImpl(mock(OrderRepository.class),
+                    mock(ProductClient.class), context.getBean(StockClient.class), mock(ProductCache.class));
+            OrderInputDto order = new OrderInputDto(7L, List.of(new OrderItemInputDto(1L, 2)));
+
+            assertThatThrownBy(() -> orderService.createOrder(order))
+                    .isInstanceOf(ProductNotFoundException.class)
+                    .hasMessage("Product not found with id: 1");
+        });
+    }
+
+    @Test
+    void uncaughtNotFoundIsMappedTo404() {
+        runner.run(context -> {
+            StockClient stockClient = context.getBean(StockClient.class);
+            StockUpdateRequest request = new StockUpdateRequest(1, StockUpdateRequest.Operation.DECREMENT);
+            FeignException error = catchFeign(() -> stockClient.updateStock(1L, request));
+
+            assertThat(new GlobalExceptionHandler().handleFeignException(error, new MockHttpServletRequest())
+                    .getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        });
+    }
+
+    @Test
+    void openBreakerRejectsWithCallNotPermitted() {
+        runner.run(context -> {
+            context.getBean(CircuitBreakerRegistry.class).circuitBreaker("stock-service").transitionToForcedOpenState();
+            StockClient stockClient = context.getBean(StockClient.class);
+
+            assertThatThrownBy(() -> stockClient.getStock(1L)).isInstanceOf(CallNotPermittedException.class);
+        });
+    }
+
+    @Test
+    void unknownProductIsNotServedFromTheFallback() {
+        runner.run(context -> {
+            ProductClient productClient = context.getBean(ProductClient.class);
+
+            assertThatThrownBy(() -> productClient.getProductById(1L)).isInstanceOf(FeignException.NotFound.class);
+        });
+    }
+
+    @Test
+    void productServiceErrorUsesTheFallback() {
+        runner.withPropertyValues("downstream.status=503").run(context -> {
+            ProductDto product = context.getBean(ProductClient.class).getProductById(1L);
+
+            assertThat(product.getProductId()).isEqualTo(1L);
+            assertThat(product.getPrice()).isNull();
+        });
+    }
+
+    private static FeignException catchFeign(Runnable call) {
+        try {
+            call.run();
+        } catch (FeignException e) {
+            return e;
+        }
+        throw new AssertionError("expected a FeignException");
+    }
+
+    // Every downstream call answers with downstream.status (404 unless a test sets it)
+    @Configuration(proxyBeanMethods = false)
+    @EnableFeignClients(clients = {StockClient.class, ProductClient.class})
+    @Import({ProductClientFallbackFactory.class, ProductCache.class})
+    static class Downstream {
+
+        @Bean
+        Client downstreamClient(@Value("${downstream.status:404}") int status) {
+            return (request, options) -> Response.builder()
+                    .status(status)
+                    .reason(HttpStatus.valueOf(status).getReasonPhrase())
+                    .request(request)
+                    .headers(Map.of())
+                    .body("{\"message\":\"failed\"}", StandardCharsets.UTF_8)
+                    .build();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CircuitBreakerRegistry circuitBreakerRegistry() {
+            return CircuitBreakerRegistry.ofDefaults();
+        }
+
+        @Bean
+        TimeLimiterRegistry timeLimiterRegistry() {
+            return TimeLimiterRegistry.ofDefaults();
+        }
+
+        @Bean
+        BulkheadRegistry bulkheadRegistry() {
+            return BulkheadRegistry.ofDefaults();
+        }
+
+        @Bean
+        ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry() {
+            return ThreadPoolBulkheadRegistry.ofDefaults();
+        }
+    }
+}
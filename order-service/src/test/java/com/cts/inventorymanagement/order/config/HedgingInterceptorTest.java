@@ -0,0 +1,100 @@
+package com.cts.inventorymanagement.order.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.cts.inventorymanagement.order.config.HedgingInterceptor.HedgedMethod;
+import com.cts.inventorymanagement.order.config.HedgingInterceptor.HedgingSettings;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class HedgingInterceptorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void earnsOneHedgePerBudgetShareOfCalls() {
+        // 5%: one hedge per 20 calls
+        HedgedMethod method = method(0.95, 0, 0.05, 8);
+
+        for (int i = 0; i < 19; i++) {
+            method.earn();
+        }
+        assertThat(method.tryConsumeHedge()).isFalse();
+
+        method.earn();
+        assertThat(method.tryConsumeHedge()).isTrue();
+        assertThat(method.tryConsumeHedge()).isFalse();
+    }
+
+    @Test
+    void savesUpAtMostTenHedges() {
+        HedgedMethod method = method(0.95, 0, 0.05, 8);
+        for (int i = 0; i < 10_000; i++) {
+            method.earn();
+        }
+
+        int hedges = 0;
+        while (method.tryConsumeHedge()) {
+            hedges++;
+        }
+        assertThat(hedges).isEqualTo(10);
+    }
+
+    @Test
+    void noDelayUntilTheWindowIsFull() {
+        HedgedMethod method = method(0.95, 0, 0.05, 8);
+        for (int i = 1; i < 8; i++) {
+            method.record(millis(i));
+        }
+        assertThat(method.delayNanos).isEqualTo(-1);
+
+        method.record(millis(8));
+        assertThat(method.delayNanos).isEqualTo(millis(8));
+    }
+
+    @Test
+    void delayIsThePercentileOfTheWindow() {
+        HedgedMethod method = method(0.5, 0, 0.05, 8);
+        for (int i = 1; i <= 8; i++) {
+            method.record(millis(i));
+        }
+        // ceil(0.5 * 8) = 4th smallest
+        assertThat(method.delayNanos).isEqualTo(millis(4));
+    }
+
+    @Test
+    void delayNeverDropsBelowTheFloor() {
+        HedgedMethod method = method(0.95, millis(20), 0.05, 8);
+        for (int i = 0; i < 8; i++) {
+            method.record(millis(1));
+        }
+        assertThat(method.delayNanos).isEqualTo(millis(20));
+    }
+
+    @Test
+    void delayIsRecomputedEveryQuarterWindow() {
+        HedgedMethod method = method(0.95, 0, 0.05, 8);
+        for (int i = 0; i < 8; i++) {
+            method.record(millis(1));
+        }
+
+        // The slow samples replace the oldest ones; the delay moves after two of them
+        method.record(millis(50));
+        assertThat(method.delayNanos).isEqualTo(millis(1));
+        method.record(millis(50));
+        assertThat(method.delayNanos).isEqualTo(millis(50));
+    }
+
+    private HedgedMethod method(double percentile, long minDelayNanos, double budgetRatio, int window) {
+        return new HedgedMethod(new HedgingSettings(percentile, minDelayNanos, budgetRatio, window),
+                registry.counter("sent"), registry.counter("won"), registry.counter("over_budget"));
+    }
+
+    private static long millis(long value) {
+        return TimeUnit.MILLISECONDS.toNanos(value);
+    }
+}
@@ -73,6 +73,35 @@ public class ProductServiceController {
         }
     }
 
+    // Bulk lookup for callers that would otherwise fetch products one by one (ids in the body
+    // because large id lists do not fit in a URL). Ids that do not exist are left out.
+    @PostMapping("/bulk")
+    public ResponseEntity<List<ProductDto>> getProductsByIds(@RequestBody List<Long> ids) {
+        log.info("Received request to get {} products by ID.", ids.size());
+        try {
+            List<ProductDto> products = productService.getProductsByIds(ids);
+            log.debug("Found {} of {} requested products.", products.size(), ids.size());
+            return ResponseEntity.ok(products);
+        } catch (Exception e) {
+            log.error("Error fetching products in bulk: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    // Existence check for a list of ids: returns the ids that do not exist (or are deleted)
+    @PostMapping("/missing")
+    public ResponseEntity<List<Long>> findMissingProductIds(@RequestBody List<Long> ids) {
+        log.info("Received request to check existence of {} products.", ids.size());
+        try {
+            List<Long> missing = productService.findMissingProductIds(ids);
+            log.debug("{} of {} products do not exist.", missing.size(), ids.size());
+            return ResponseEntity.ok(missing);
+        } catch (Exception e) {
+            log.error("Error checking product existence: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
     @GetMapping
     public ResponseEntity<List<ProductDto>> getAllProducts() {
         // Log the request to get all products
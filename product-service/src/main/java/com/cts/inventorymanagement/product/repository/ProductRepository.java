@@ -3,6 +3,8 @@ package com.cts.inventorymanagement.product.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import com.cts.inventorymanagement.product.model.Product;
@@ -15,4 +17,8 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
     List<Product> findByStatus(ProductStatus status);
     List<Product> findByCategory(Product.ProductCategory category);
 	boolean existsByProductIdAndStatusNot(Long productId, ProductStatus deleted);
+
+	// Primary key lookup that reads ids only, no entities
+	@Query("select p.productId from Product p where p.productId in :ids and p.status <> :status")
+	List<Long> findExistingIds(@Param("ids") List<Long> ids, @Param("status") ProductStatus status);
 }
\ No newline at end of file
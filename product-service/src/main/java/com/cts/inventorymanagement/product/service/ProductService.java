@@ -9,6 +9,8 @@ import java.util.List;
 public interface ProductService {
     ProductDto createProduct(ProductDto productDto);
     ProductDto getProductById(Long id);
+    List<ProductDto> getProductsByIds(List<Long> ids);
+    List<Long> findMissingProductIds(List<Long> ids);
     List<ProductDto> getAllProducts();
     ProductDto updateProduct(Long id, ProductDto productDto);
     void deleteProduct(Long id);
@@ -18,9 +18,11 @@ import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,6 +31,8 @@ public class ProductServiceImpl implements ProductService {
 
     private static final Logger log = LoggerFactory.getLogger(ProductServiceImpl.class);
     private static final int DEFAULT_REORDER_LEVEL = 10;
+    private static final int MAX_BULK_IDS = 1000;
+    private static final int MAX_EXISTENCE_IDS = 5000;
 
     private final ProductRepository productRepository;
     private final StockClient stockClient;
@@ -106,6 +110,35 @@ public class ProductServiceImpl implements ProductService {
                 });
     }
 
+    @Override
+    public List<ProductDto> getProductsByIds(List<Long> ids) {
+        if (ids.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_IDS + " ids per request, got " + ids.size());
+        }
+        log.info("Fetching {} products by ID", ids.size());
+        // One IN query; unknown and deleted ids are simply absent from the result
+        return productRepository.findAllById(ids.stream().filter(Objects::nonNull).distinct().toList())
+                .stream()
+                .filter(p -> p.getStatus() != ProductStatus.DELETED)
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<Long> findMissingProductIds(List<Long> ids) {
+        if (ids.size() > MAX_EXISTENCE_IDS) {
+            throw new IllegalArgumentException("At most " + MAX_EXISTENCE_IDS + " ids per request, got " + ids.size());
+        }
+        List<Long> distinct = ids.stream().filter(Objects::nonNull).distinct().toList();
+        if (distinct.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<Long> existing = new HashSet<>(productRepository.findExistingIds(distinct, ProductStatus.DELETED));
+        List<Long> missing = distinct.stream().filter(id -> !existing.contains(id)).collect(Collectors.toList());
+        log.info("Checked {} product IDs, {} missing", distinct.size(), missing.size());
+        return missing;
+    }
+
     @Override
     public List<ProductDto> getAllProducts() {
         log.info("Fetching all active products");
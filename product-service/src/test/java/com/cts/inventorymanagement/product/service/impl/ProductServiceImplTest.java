@@ -0,0 +1,69 @@
+package com.cts.inventorymanagement.product.service.impl;
+
+import com.cts.inventorymanagement.product.client.StockClient;
+import com.cts.inventorymanagement.product.model.Product.ProductStatus;
+import com.cts.inventorymanagement.product.repository.ProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ProductServiceImplTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private StockClient stockClient;
+
+    @InjectMocks
+    private ProductServiceImpl service;
+
+    @Test
+    void returnsIdsThatDoNotExistInRequestOrder() {
+        when(productRepository.findExistingIds(List.of(5L, 1L, 9L, 3L), ProductStatus.DELETED)).thenReturn(List.of(1L, 3L));
+
+        List<Long> missing = service.findMissingProductIds(Arrays.asList(5L, 1L, null, 9L, 5L, 3L));
+
+        assertThat(missing).containsExactly(5L, 9L);
+    }
+
+    @Test
+    void checksEachIdOnceWithOneQuery() {
+        when(productRepository.findExistingIds(List.of(1L, 2L), ProductStatus.DELETED)).thenReturn(List.of(1L, 2L));
+
+        assertThat(service.findMissingProductIds(List.of(1L, 2L, 1L, 2L))).isEmpty();
+
+        verify(productRepository).findExistingIds(List.of(1L, 2L), ProductStatus.DELETED);
+    }
+
+    @Test
+    void emptyRequestNeedsNoQuery() {
+        assertThat(service.findMissingProductIds(List.of())).isEmpty();
+
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void moreThanFiveThousandIdsAreRejected() {
+        List<Long> ids = LongStream.rangeClosed(1, 5001).boxed().collect(Collectors.toList());
+
+        assertThatThrownBy(() -> service.findMissingProductIds(ids))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("5000");
+        verifyNoInteractions(productRepository);
+    }
+}
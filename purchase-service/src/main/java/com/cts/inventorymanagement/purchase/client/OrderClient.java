@@ -0,0 +1,17 @@
+package com.cts.inventorymanagement.purchase.client;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+@FeignClient(name = "order-service")
+public interface OrderClient {
+
+    // Units ordered per product over the last {@code days} days; products with none are absent
+    @PostMapping("/orders/consumption")
+    Map<Long, Long> getUnitsOrdered(@RequestBody List<Long> productIds, @RequestParam("days") int days);
+}
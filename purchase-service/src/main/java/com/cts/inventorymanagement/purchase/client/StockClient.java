@@ -0,0 +1,27 @@
+package com.cts.inventorymanagement.purchase.client;
+
+import java.util.List;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import com.cts.inventorymanagement.purchase.dto.StockDto;
+import com.cts.inventorymanagement.purchase.dto.StockReceiptRequest;
+import com.cts.inventorymanagement.purchase.dto.StockReceiptResponse;
+
+@FeignClient(name = "stock-service")
+public interface StockClient {
+
+    @GetMapping("/stocks/low/batch")
+    List<StockDto> getLowStockPage(@RequestParam("afterProductId") Long afterProductId,
+                                   @RequestParam("partition") int partition,
+                                   @RequestParam("partitions") int partitions,
+                                   @RequestParam("limit") int limit);
+
+    // Idempotent per purchase order id (at most 1000 lines)
+    @PostMapping("/stocks/receipts")
+    StockReceiptResponse receiveStock(@RequestBody StockReceiptRequest request);
+}
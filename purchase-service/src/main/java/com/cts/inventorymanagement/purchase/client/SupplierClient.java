@@ -1,15 +1,25 @@
 package com.cts.inventorymanagement.purchase.client;
 
 
+import java.util.List;
+import java.util.Map;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import com.cts.inventorymanagement.purchase.dto.SupplierDetailsResponse;
+import com.cts.inventorymanagement.purchase.dto.SupplierSummary;
 
 @FeignClient(name = "supplier-service")
 public interface SupplierClient {
 
     @GetMapping("/suppliers/{id}")
     SupplierDetailsResponse getSupplierDetails(@PathVariable("id") Long id);
-}
\ No newline at end of file
+
+    // CURRENT suppliers of each product, keyed by product id (at most 1000 ids)
+    @PostMapping("/suppliers/by-products")
+    Map<Long, List<SupplierSummary>> getSuppliersByProducts(@RequestBody List<Long> productIds);
+}
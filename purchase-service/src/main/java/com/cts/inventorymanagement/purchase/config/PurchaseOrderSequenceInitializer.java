@@ -0,0 +1,40 @@
+package com.cts.inventorymanagement.purchase.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.cts.inventorymanagement.purchase.model.PurchaseOrder;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Purchase order ids used to come from AUTO_INCREMENT. On startup, moves the id
+ * sequence (table {@code purchase_order_seq}, created by Hibernate) past the highest
+ * existing id, so the first pooled block cannot reuse one. A no-op once it is ahead.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class PurchaseOrderSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(PurchaseOrderSequenceInitializer.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PurchaseOrderSequenceInitializer(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    void alignWithExistingIds() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM purchase_order", Long.class);
+        // The pooled optimizer hands out (value - allocationSize, value], so value must clear maxId by a full block
+        long floor = maxId + PurchaseOrder.ID_ALLOCATION_SIZE + 1;
+        int updated = jdbcTemplate.update("UPDATE purchase_order_seq SET next_val = ? WHERE next_val < ?", floor, floor);
+        if (updated > 0) {
+            log.info("Moved purchase_order_seq past existing purchase order id {}", maxId);
+        }
+    }
+}
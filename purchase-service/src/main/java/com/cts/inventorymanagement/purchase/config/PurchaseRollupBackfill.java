@@ -0,0 +1,48 @@
+package com.cts.inventorymanagement.purchase.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.cts.inventorymanagement.purchase.service.PurchaseRollupService;
+
+import jakarta.annotation.PostConstruct;
+
+/**
+ * Fills {@code purchase_daily_rollup} from existing purchase orders on the first start
+ * after upgrading. The row in {@code purchase_rollup_backfill} records that it ran, so
+ * later starts skip it. Turned off with {@code purchase.rollup.backfill-on-startup=false}.
+ */
+@Component
+@DependsOn("entityManagerFactory")
+public class PurchaseRollupBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(PurchaseRollupBackfill.class);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PurchaseRollupService rollupService;
+    private final boolean enabled;
+
+    public PurchaseRollupBackfill(JdbcTemplate jdbcTemplate, PurchaseRollupService rollupService,
+                                  @Value("${purchase.rollup.backfill-on-startup:true}") boolean enabled) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.rollupService = rollupService;
+        this.enabled = enabled;
+    }
+
+    @PostConstruct
+    void backfillOnce() {
+        if (!enabled) {
+            return;
+        }
+        // DDL commits implicitly in MySQL, so the marker table is created outside the backfill transaction
+        jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS purchase_rollup_backfill "
+                + "(id INT NOT NULL PRIMARY KEY, completed_at DATETIME NOT NULL)");
+        if (rollupService.backfill()) {
+            log.info("Filled purchase_daily_rollup from existing purchase orders");
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.cts.inventorymanagement.purchase.controller;
 
+import com.cts.inventorymanagement.purchase.dto.BulkPurchaseOrderRequest;
+import com.cts.inventorymanagement.purchase.dto.BulkStatusUpdateRequest;
+import com.cts.inventorymanagement.purchase.dto.BulkStatusUpdateResponse;
+import com.cts.inventorymanagement.purchase.dto.DeliveryRequest;
+import com.cts.inventorymanagement.purchase.dto.PageResponse;
 import com.cts.inventorymanagement.purchase.dto.PurchaseOrderDto;
 import com.cts.inventorymanagement.purchase.dto.PurchaseOrderRequest;
+import com.cts.inventorymanagement.purchase.dto.ReplenishmentReport;
 import com.cts.inventorymanagement.purchase.model.OrderStatus;
 import com.cts.inventorymanagement.purchase.service.PurchaseOrderService;
+import com.cts.inventorymanagement.purchase.service.ReplenishmentService;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
@@ -21,9 +28,11 @@ public class PurchaseOrderController {
     private static final Logger log = LoggerFactory.getLogger(PurchaseOrderController.class);
 
     private final PurchaseOrderService orderService;
+    private final ReplenishmentService replenishmentService;
 
-    public PurchaseOrderController(PurchaseOrderService orderService) {
+    public PurchaseOrderController(PurchaseOrderService orderService, ReplenishmentService replenishmentService) {
         this.orderService = orderService;
+        this.replenishmentService = replenishmentService;
     }
 
     @PostMapping
@@ -43,6 +52,21 @@ public class PurchaseOrderController {
         }
     }
 
+    @PostMapping("/bulk")
+    @ResponseStatus(HttpStatus.CREATED)
+    public List<PurchaseOrderDto> createOrders(@Valid @RequestBody BulkPurchaseOrderRequest request) {
+        // All orders are validated first, then inserted in one transaction using JDBC batches
+        log.info("Received request to create {} purchase orders.", request.getOrders().size());
+        try {
+            List<PurchaseOrderDto> createdOrders = orderService.createOrders(request.getOrders());
+            log.debug("{} purchase orders created successfully.", createdOrders.size());
+            return createdOrders;
+        } catch (Exception e) {
+            log.error("Error creating {} purchase orders: {}", request.getOrders().size(), e.getMessage(), e);
+            throw e;
+        }
+    }
+
     @GetMapping("/{id}")
     public PurchaseOrderDto getOrderById(@PathVariable Long id) {
         // Log the request for a specific purchase order ID
@@ -97,6 +121,34 @@ public class PurchaseOrderController {
         }
     }
 
+    @PatchMapping("/status")
+    public BulkStatusUpdateResponse updateOrderStatuses(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        // Moves PENDING orders to DELIVERED or CANCELLED with one UPDATE; orders that cannot move are reported as skipped
+        log.info("Received request to update status of {} purchase orders to: {}", request.getOrderIds().size(), request.getStatus());
+        try {
+            BulkStatusUpdateResponse response = orderService.updateOrderStatuses(request.getOrderIds(), request.getStatus());
+            log.debug("{} purchase orders updated to {}.", response.getUpdated().size(), request.getStatus());
+            return response;
+        } catch (Exception e) {
+            log.error("Error updating status of {} purchase orders to {}: {}", request.getOrderIds().size(), request.getStatus(), e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @PostMapping("/deliveries")
+    public List<PurchaseOrderDto> deliverOrders(@Valid @RequestBody DeliveryRequest request) {
+        // Marks many purchase orders DELIVERED at once; their stock is added in one bulk call afterwards
+        log.info("Received request to mark {} purchase orders as delivered.", request.getOrderIds().size());
+        try {
+            List<PurchaseOrderDto> orders = orderService.deliverOrders(request.getOrderIds());
+            log.debug("{} purchase orders are now delivered.", orders.size());
+            return orders;
+        } catch (Exception e) {
+            log.error("Error marking purchase orders as delivered: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
     @GetMapping("/supplier/{supplierId}")
     public List<PurchaseOrderDto> getOrdersBySupplierId(@PathVariable Long supplierId) {
         // Log the request to get orders by supplier ID
@@ -113,6 +165,25 @@ public class PurchaseOrderController {
         }
     }
 
+    @GetMapping("/supplier/{supplierId}/date-range")
+    public PageResponse<PurchaseOrderDto> getOrdersBySupplierAndDateRange(
+            @PathVariable Long supplierId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        // Filtered in the database (index on supplierId, orderDate) and paged
+        log.info("Received request to get purchase orders for supplier ID {} between {} and {}.", supplierId, startDate, endDate);
+        try {
+            PageResponse<PurchaseOrderDto> orders = orderService.getOrdersBySupplierBetweenDates(supplierId, startDate, endDate, page, size);
+            log.debug("Found {} purchase orders for supplier ID {} between {} and {}.", orders.getTotalElements(), supplierId, startDate, endDate);
+            return orders;
+        } catch (Exception e) {
+            log.error("Error fetching purchase orders for supplier ID {} between {} and {}: {}", supplierId, startDate, endDate, e.getMessage(), e);
+            throw e;
+        }
+    }
+
     @GetMapping("/product/{productId}")
     public List<PurchaseOrderDto> getOrdersByProductId(@PathVariable Long productId) {
         // Log the request to get orders by product ID
@@ -162,4 +233,18 @@ public class PurchaseOrderController {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    @PostMapping("/replenishment/run")
+    public ReplenishmentReport runReplenishment() {
+        // Runs the scheduled replenishment now and waits for it; 409 if a run is already in progress
+        log.info("Received request to run replenishment.");
+        try {
+            ReplenishmentReport report = replenishmentService.runReplenishment();
+            log.debug("Replenishment created {} purchase orders.", report.getOrdered());
+            return report;
+        } catch (Exception e) {
+            log.error("Error running replenishment: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+}
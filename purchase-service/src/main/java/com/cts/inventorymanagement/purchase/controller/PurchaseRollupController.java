@@ -0,0 +1,62 @@
+package com.cts.inventorymanagement.purchase.controller;
+
+import com.cts.inventorymanagement.purchase.dto.PageResponse;
+import com.cts.inventorymanagement.purchase.dto.PurchaseRollupDto;
+import com.cts.inventorymanagement.purchase.dto.PurchaseRollupSummary;
+import com.cts.inventorymanagement.purchase.service.PurchaseRollupService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.*;
+import java.time.LocalDate;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+@RestController
+@RequestMapping("/purchase-orders/rollups")
+public class PurchaseRollupController {
+
+    private static final Logger log = LoggerFactory.getLogger(PurchaseRollupController.class);
+
+    private final PurchaseRollupService rollupService;
+
+    public PurchaseRollupController(PurchaseRollupService rollupService) {
+        this.rollupService = rollupService;
+    }
+
+    @GetMapping("/daily")
+    public PageResponse<PurchaseRollupDto> getDailyRollups(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(required = false) Long supplierId,
+            @RequestParam(required = false) Long productId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "100") int size) {
+        // One row per day, supplier and product, read from the rollup table only
+        log.info("Received request for daily purchase rollups between {} and {} (supplier {}, product {}).",
+                startDate, endDate, supplierId, productId);
+        try {
+            PageResponse<PurchaseRollupDto> rollups = rollupService.getDailyRollups(startDate, endDate, supplierId, productId, page, size);
+            log.debug("Found {} daily purchase rollups.", rollups.getTotalElements());
+            return rollups;
+        } catch (Exception e) {
+            log.error("Error fetching daily purchase rollups between {} and {}: {}", startDate, endDate, e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    @GetMapping("/summary")
+    public List<PurchaseRollupSummary> getSummary(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+            @RequestParam(defaultValue = "SUPPLIER") PurchaseRollupService.GroupBy groupBy) {
+        log.info("Received request for purchase summary by {} between {} and {}.", groupBy, startDate, endDate);
+        try {
+            List<PurchaseRollupSummary> summary = rollupService.getSummary(startDate, endDate, groupBy);
+            log.debug("Returning {} purchase summary rows.", summary.size());
+            return summary;
+        } catch (Exception e) {
+            log.error("Error fetching purchase summary between {} and {}: {}", startDate, endDate, e.getMessage(), e);
+            throw e;
+        }
+    }
+}
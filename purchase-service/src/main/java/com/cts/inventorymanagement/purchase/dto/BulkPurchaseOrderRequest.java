@@ -0,0 +1,15 @@
+package com.cts.inventorymanagement.purchase.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class BulkPurchaseOrderRequest {
+    @NotEmpty
+    @Size(max = 5000, message = "At most 5000 purchase orders per request")
+    private List<@Valid PurchaseOrderRequest> orders;
+}
@@ -0,0 +1,20 @@
+package com.cts.inventorymanagement.purchase.dto;
+
+import java.util.List;
+
+import com.cts.inventorymanagement.purchase.model.OrderStatus;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class BulkStatusUpdateRequest {
+    @NotEmpty
+    @Size(max = 5000, message = "At most 5000 purchase orders per request")
+    private List<@NotNull Long> orderIds;
+
+    @NotNull
+    private OrderStatus status;
+}
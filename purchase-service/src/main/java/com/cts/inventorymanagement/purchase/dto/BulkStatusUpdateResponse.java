@@ -0,0 +1,16 @@
+package com.cts.inventorymanagement.purchase.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Ids moved to the new status, and ids left alone because they do not exist or are no longer PENDING. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResponse {
+    private List<Long> updated;
+    private List<Long> skipped;
+}
@@ -0,0 +1,15 @@
+package com.cts.inventorymanagement.purchase.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class DeliveryRequest {
+    @NotEmpty
+    @Size(max = 1000, message = "At most 1000 purchase orders per delivery")
+    private List<@NotNull Long> orderIds;
+}
@@ -14,4 +14,6 @@ public class PurchaseOrderDto {
     private LocalDate orderDate;
     private LocalDate deliveryDate;
     private OrderStatus status;
+    private Boolean stockReceived;
+    private Boolean stockReceiveFailed;
 }
\ No newline at end of file
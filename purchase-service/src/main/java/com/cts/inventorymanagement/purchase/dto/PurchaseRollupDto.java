@@ -0,0 +1,21 @@
+package com.cts.inventorymanagement.purchase.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseRollupDto {
+    private LocalDate day;
+    private Long supplierId;
+    private Long productId;
+    private long orderedQuantity;
+    private long orderCount;
+    private long deliveredQuantity;
+    private long deliveredCount;
+    private Double averageLeadTimeDays;
+}
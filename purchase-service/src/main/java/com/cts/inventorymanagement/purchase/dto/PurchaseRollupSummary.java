@@ -0,0 +1,19 @@
+package com.cts.inventorymanagement.purchase.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Totals over a date range for one supplier or one product (the other id is null). */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseRollupSummary {
+    private Long supplierId;
+    private Long productId;
+    private long orderedQuantity;
+    private long orderCount;
+    private long deliveredQuantity;
+    private long deliveredCount;
+    private Double averageLeadTimeDays;
+}
@@ -0,0 +1,22 @@
+package com.cts.inventorymanagement.purchase.dto;
+
+import java.time.Instant;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Outcome of one replenishment run; every low-stock item scanned lands in exactly one count. */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReplenishmentReport {
+    private Instant startedAt;
+    private long durationMs;
+    private long scanned;
+    private long ordered;
+    private long skippedOpenOrder;
+    private long skippedNoSupplier;
+    private long failed;
+    private int failedPartitions;
+}
@@ -0,0 +1,11 @@
+package com.cts.inventorymanagement.purchase.dto;
+
+import lombok.Data;
+
+@Data
+public class StockDto {
+    private Long productId;
+    private Integer quantity;
+    private Integer reorderLevel;
+    private boolean lowStock;
+}
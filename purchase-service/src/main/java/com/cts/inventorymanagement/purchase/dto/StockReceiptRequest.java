@@ -0,0 +1,23 @@
+package com.cts.inventorymanagement.purchase.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReceiptRequest {
+    private List<Line> lines;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        private Long purchaseOrderId;
+        private Long productId;
+        private Integer quantity;
+    }
+}
@@ -0,0 +1,12 @@
+package com.cts.inventorymanagement.purchase.dto;
+
+import java.util.List;
+
+import lombok.Data;
+
+@Data
+public class StockReceiptResponse {
+    private List<Long> received;
+    private List<Long> alreadyReceived;
+    private List<Long> unknownProduct;
+}
@@ -0,0 +1,17 @@
+package com.cts.inventorymanagement.purchase.dto;
+
+import java.util.List;
+
+import com.cts.inventorymanagement.purchase.model.ContactInfo;
+import com.cts.inventorymanagement.purchase.model.SupplierStatus;
+
+import lombok.Data;
+
+@Data
+public class SupplierSummary {
+    private Long id;
+    private String name;
+    private ContactInfo contactInfo;
+    private SupplierStatus status;
+    private List<Long> productsSupplied;
+}
@@ -1,6 +1,9 @@
 package com.cts.inventorymanagement.purchase.exceptions;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
 
+@ResponseStatus(HttpStatus.CONFLICT)
 public class InvalidStatusChangeException extends RuntimeException {
     public InvalidStatusChangeException(String message) { super(message); }
-}
\ No newline at end of file
+}
@@ -1,5 +1,10 @@
 package com.cts.inventorymanagement.purchase.model;
 
 public enum OrderStatus {
-    PENDING, DELIVERED, CANCELLED
-}
\ No newline at end of file
+    PENDING, DELIVERED, CANCELLED;
+
+    // DELIVERED and CANCELLED are final; "moving" to the current status is a no-op
+    public boolean canMoveTo(OrderStatus target) {
+        return this == target || this == PENDING;
+    }
+}
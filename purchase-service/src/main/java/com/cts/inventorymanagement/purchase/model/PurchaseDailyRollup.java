@@ -0,0 +1,52 @@
+package com.cts.inventorymanagement.purchase.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Purchase volume of one supplier and product on one day, kept up to date as orders
+ * change. Ordered figures are counted on the order date (cancelled orders excluded),
+ * delivered figures and lead time on the delivery date.
+ */
+@Entity
+@Table(name = "purchase_daily_rollup", indexes = {
+        @Index(name = "idx_rollup_supplier_date", columnList = "supplierId, rollup_date"),
+        @Index(name = "idx_rollup_product_date", columnList = "productId, rollup_date")
+})
+@IdClass(PurchaseDailyRollup.Key.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PurchaseDailyRollup {
+    @Id
+    @Column(name = "rollup_date")
+    private LocalDate day;
+
+    @Id
+    private Long supplierId;
+
+    @Id
+    private Long productId;
+
+    private long orderedQuantity;
+
+    private long orderCount;
+
+    private long deliveredQuantity;
+
+    private long deliveredCount;
+
+    // Sum of orderDate-to-deliveryDate days over the deliveries; divide by deliveredCount for the average
+    private long leadTimeDaysTotal;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate day;
+        private Long supplierId;
+        private Long productId;
+    }
+}
@@ -5,12 +5,21 @@ import lombok.*;
 import java.time.LocalDate;
 
 @Entity
+// Serve "orders of a supplier in a date range" and "open orders of these products" straight from an index
+@Table(indexes = {
+        @Index(name = "idx_purchase_order_supplier_date", columnList = "supplierId, orderDate"),
+        @Index(name = "idx_purchase_order_product_status", columnList = "productId, status")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class PurchaseOrder {
+    public static final int ID_ALLOCATION_SIZE = 50;
+
+    // Pooled sequence (a table on MySQL): ids are handed out 50 at a time, so inserts can be JDBC-batched
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "purchase_order_seq")
+    @SequenceGenerator(name = "purchase_order_seq", sequenceName = "purchase_order_seq", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false)
@@ -30,4 +39,10 @@ public class PurchaseOrder {
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private OrderStatus status = OrderStatus.PENDING;
+
+    // Set once stock-service has added this order to stock; null for orders delivered before receiving existed
+    private Boolean stockReceived = false;
+
+    // Set when stock-service has no stock record for the product; such orders are not retried
+    private Boolean stockReceiveFailed = false;
 }
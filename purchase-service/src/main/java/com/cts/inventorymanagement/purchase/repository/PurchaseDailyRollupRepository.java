@@ -0,0 +1,31 @@
+package com.cts.inventorymanagement.purchase.repository;
+
+import com.cts.inventorymanagement.purchase.model.PurchaseDailyRollup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PurchaseDailyRollupRepository extends JpaRepository<PurchaseDailyRollup, PurchaseDailyRollup.Key> {
+
+    @Query("SELECT r FROM PurchaseDailyRollup r WHERE r.day BETWEEN :start AND :end "
+            + "AND (:supplierId IS NULL OR r.supplierId = :supplierId) AND (:productId IS NULL OR r.productId = :productId)")
+    Page<PurchaseDailyRollup> findInRange(@Param("start") LocalDate start, @Param("end") LocalDate end,
+                                          @Param("supplierId") Long supplierId, @Param("productId") Long productId,
+                                          Pageable pageable);
+
+    // Rows of (supplierId, orderedQuantity, orderCount, deliveredQuantity, deliveredCount, leadTimeDaysTotal)
+    @Query("SELECT r.supplierId, SUM(r.orderedQuantity), SUM(r.orderCount), SUM(r.deliveredQuantity), "
+            + "SUM(r.deliveredCount), SUM(r.leadTimeDaysTotal) FROM PurchaseDailyRollup r "
+            + "WHERE r.day BETWEEN :start AND :end GROUP BY r.supplierId ORDER BY r.supplierId")
+    List<Object[]> sumBySupplier(@Param("start") LocalDate start, @Param("end") LocalDate end);
+
+    // Rows of (productId, orderedQuantity, orderCount, deliveredQuantity, deliveredCount, leadTimeDaysTotal)
+    @Query("SELECT r.productId, SUM(r.orderedQuantity), SUM(r.orderCount), SUM(r.deliveredQuantity), "
+            + "SUM(r.deliveredCount), SUM(r.leadTimeDaysTotal) FROM PurchaseDailyRollup r "
+            + "WHERE r.day BETWEEN :start AND :end GROUP BY r.productId ORDER BY r.productId")
+    List<Object[]> sumByProduct(@Param("start") LocalDate start, @Param("end") LocalDate end);
+}
@@ -2,10 +2,21 @@ package com.cts.inventorymanagement.purchase.repository;
 
 import com.cts.inventorymanagement.purchase.model.OrderStatus;
 import com.cts.inventorymanagement.purchase.model.PurchaseOrder;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import jakarta.persistence.LockModeType;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Long> {
     List<PurchaseOrder> findBySupplierId(Long supplierId);
@@ -14,4 +25,41 @@ public interface PurchaseOrderRepository extends JpaRepository<PurchaseOrder, Lo
     
     @Query("SELECT po FROM PurchaseOrder po WHERE po.orderDate BETWEEN :start AND :end")
     List<PurchaseOrder> findByOrderDateBetween(LocalDate start, LocalDate end);
-}
\ No newline at end of file
+
+    Page<PurchaseOrder> findBySupplierIdAndOrderDateBetween(Long supplierId, LocalDate start, LocalDate end, Pageable pageable);
+
+    @Query("SELECT DISTINCT po.productId FROM PurchaseOrder po WHERE po.productId IN :productIds AND po.status = :status")
+    Set<Long> findProductIdsWithStatus(@Param("productIds") Collection<Long> productIds, @Param("status") OrderStatus status);
+
+    // Delivered orders still waiting to be added to stock, in id order from afterId
+    @Query("SELECT po FROM PurchaseOrder po WHERE po.status = :status AND po.stockReceived = false "
+            + "AND (po.stockReceiveFailed IS NULL OR po.stockReceiveFailed = false) AND po.id > :afterId ORDER BY po.id")
+    List<PurchaseOrder> findPendingReceipt(@Param("status") OrderStatus status, @Param("afterId") Long afterId, Limit limit);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PurchaseOrder po SET po.stockReceived = true WHERE po.id IN :ids")
+    int markStockReceived(@Param("ids") Collection<Long> ids);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE PurchaseOrder po SET po.stockReceiveFailed = true WHERE po.id IN :ids")
+    int markStockReceiveFailed(@Param("ids") Collection<Long> ids);
+
+    // Status changes lock the rows they read, so concurrent changes cannot both record rollup deltas
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT po FROM PurchaseOrder po WHERE po.id = :id")
+    Optional<PurchaseOrder> findByIdForUpdate(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<PurchaseOrder> findByIdInOrderByIdAsc(Collection<Long> ids);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PurchaseOrder po SET po.status = :status WHERE po.id IN :ids")
+    int updateStatus(@Param("ids") Collection<Long> ids, @Param("status") OrderStatus status);
+
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE PurchaseOrder po SET po.status = com.cts.inventorymanagement.purchase.model.OrderStatus.DELIVERED, "
+            + "po.deliveryDate = :deliveryDate, po.stockReceived = false WHERE po.id IN :ids")
+    int markDelivered(@Param("ids") Collection<Long> ids, @Param("deliveryDate") LocalDate deliveryDate);
+}
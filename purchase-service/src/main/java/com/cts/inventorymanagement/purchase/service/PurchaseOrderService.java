@@ -1,5 +1,7 @@
 package com.cts.inventorymanagement.purchase.service;
 
+import com.cts.inventorymanagement.purchase.dto.BulkStatusUpdateResponse;
+import com.cts.inventorymanagement.purchase.dto.PageResponse;
 import com.cts.inventorymanagement.purchase.dto.PurchaseOrderDto;
 import com.cts.inventorymanagement.purchase.dto.PurchaseOrderRequest;
 import com.cts.inventorymanagement.purchase.model.*;
@@ -9,11 +11,15 @@ import java.util.List;
 
 public interface PurchaseOrderService {
     PurchaseOrderDto createOrder(PurchaseOrderRequest request);
+    List<PurchaseOrderDto> createOrders(List<PurchaseOrderRequest> requests);
     PurchaseOrderDto getOrderById(Long orderId);
     List<PurchaseOrderDto> getAllOrders();
     PurchaseOrderDto updateOrderStatus(Long orderId, OrderStatus status);
+    List<PurchaseOrderDto> deliverOrders(List<Long> orderIds);
+    BulkStatusUpdateResponse updateOrderStatuses(List<Long> orderIds, OrderStatus status);
     List<PurchaseOrderDto> getOrdersBySupplier(Long supplierId);
     List<PurchaseOrderDto> getOrdersByProduct(Long productId);
     List<PurchaseOrderDto> getOrdersBetweenDates(LocalDate start, LocalDate end);
+    PageResponse<PurchaseOrderDto> getOrdersBySupplierBetweenDates(Long supplierId, LocalDate start, LocalDate end, int page, int size);
     void deleteOrder(Long orderId);
 }
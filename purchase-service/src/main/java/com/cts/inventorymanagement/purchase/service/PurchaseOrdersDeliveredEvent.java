@@ -0,0 +1,7 @@
+package com.cts.inventorymanagement.purchase.service;
+
+import java.util.List;
+
+/** Published when purchase orders become DELIVERED; handled after the transaction commits. */
+public record PurchaseOrdersDeliveredEvent(List<Long> orderIds) {
+}
@@ -0,0 +1,76 @@
+package com.cts.inventorymanagement.purchase.service;
+
+import com.cts.inventorymanagement.purchase.model.OrderStatus;
+import com.cts.inventorymanagement.purchase.model.PurchaseDailyRollup;
+import com.cts.inventorymanagement.purchase.model.PurchaseOrder;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Rollup deltas collected while orders change: {@link #remove} an order's old state
+ * before changing it and {@link #add} the new one after. Deltas for the same day,
+ * supplier and product are merged, and keys iterate in a fixed order so concurrent
+ * upserts lock rows in the same order.
+ */
+public class PurchaseRollupChanges {
+
+    private static final Comparator<PurchaseDailyRollup.Key> KEY_ORDER = Comparator
+            .comparing(PurchaseDailyRollup.Key::getDay)
+            .thenComparing(PurchaseDailyRollup.Key::getSupplierId)
+            .thenComparing(PurchaseDailyRollup.Key::getProductId);
+
+    private final Map<PurchaseDailyRollup.Key, PurchaseDailyRollup> deltas = new TreeMap<>(KEY_ORDER);
+
+    public PurchaseRollupChanges add(PurchaseOrder order) {
+        return apply(order, order.getStatus(), order.getDeliveryDate(), 1);
+    }
+
+    // Adds the order as it will be once moved to the given status, without touching the entity
+    public PurchaseRollupChanges addAs(PurchaseOrder order, OrderStatus status, LocalDate deliveryDate) {
+        return apply(order, status, deliveryDate, 1);
+    }
+
+    public PurchaseRollupChanges remove(PurchaseOrder order) {
+        return apply(order, order.getStatus(), order.getDeliveryDate(), -1);
+    }
+
+    public boolean isEmpty() {
+        return deltas.values().stream().allMatch(PurchaseRollupChanges::isZero);
+    }
+
+    /** Non-zero deltas in key order. */
+    public Iterable<PurchaseDailyRollup> deltas() {
+        return deltas.values().stream().filter(delta -> !isZero(delta))::iterator;
+    }
+
+    private PurchaseRollupChanges apply(PurchaseOrder order, OrderStatus status, LocalDate deliveryDate, int sign) {
+        long quantity = (long) sign * order.getQuantity();
+        if (status != OrderStatus.CANCELLED) {
+            PurchaseDailyRollup delta = delta(order.getOrderDate(), order);
+            delta.setOrderedQuantity(delta.getOrderedQuantity() + quantity);
+            delta.setOrderCount(delta.getOrderCount() + sign);
+        }
+        if (status == OrderStatus.DELIVERED && deliveryDate != null) {
+            PurchaseDailyRollup delta = delta(deliveryDate, order);
+            delta.setDeliveredQuantity(delta.getDeliveredQuantity() + quantity);
+            delta.setDeliveredCount(delta.getDeliveredCount() + sign);
+            delta.setLeadTimeDaysTotal(delta.getLeadTimeDaysTotal()
+                    + sign * ChronoUnit.DAYS.between(order.getOrderDate(), deliveryDate));
+        }
+        return this;
+    }
+
+    private PurchaseDailyRollup delta(LocalDate day, PurchaseOrder order) {
+        return deltas.computeIfAbsent(new PurchaseDailyRollup.Key(day, order.getSupplierId(), order.getProductId()),
+                key -> new PurchaseDailyRollup(key.getDay(), key.getSupplierId(), key.getProductId(), 0, 0, 0, 0, 0));
+    }
+
+    private static boolean isZero(PurchaseDailyRollup delta) {
+        return delta.getOrderedQuantity() == 0 && delta.getOrderCount() == 0 && delta.getDeliveredQuantity() == 0
+                && delta.getDeliveredCount() == 0 && delta.getLeadTimeDaysTotal() == 0;
+    }
+}
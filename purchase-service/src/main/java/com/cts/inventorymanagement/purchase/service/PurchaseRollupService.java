@@ -0,0 +1,20 @@
+package com.cts.inventorymanagement.purchase.service;
+
+import com.cts.inventorymanagement.purchase.dto.PageResponse;
+import com.cts.inventorymanagement.purchase.dto.PurchaseRollupDto;
+import com.cts.inventorymanagement.purchase.dto.PurchaseRollupSummary;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface PurchaseRollupService {
+    void record(PurchaseRollupChanges changes);
+    PageResponse<PurchaseRollupDto> getDailyRollups(LocalDate start, LocalDate end, Long supplierId, Long productId, int page, int size);
+    List<PurchaseRollupSummary> getSummary(LocalDate start, LocalDate end, GroupBy groupBy);
+    boolean backfill();
+
+    enum GroupBy {
+        SUPPLIER,
+        PRODUCT
+    }
+}
@@ -0,0 +1,7 @@
+package com.cts.inventorymanagement.purchase.service;
+
+import com.cts.inventorymanagement.purchase.dto.ReplenishmentReport;
+
+public interface ReplenishmentService {
+    ReplenishmentReport runReplenishment();
+}
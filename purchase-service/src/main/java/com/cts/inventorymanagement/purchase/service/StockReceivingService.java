@@ -0,0 +1,7 @@
+package com.cts.inventorymanagement.purchase.service;
+
+import java.util.Collection;
+
+public interface StockReceivingService {
+    void receive(Collection<Long> orderIds);
+}
@@ -1,16 +1,33 @@
 package com.cts.inventorymanagement.purchase.service.impl;
 
+import com.cts.inventorymanagement.purchase.dto.BulkStatusUpdateResponse;
+import com.cts.inventorymanagement.purchase.dto.PageResponse;
 import com.cts.inventorymanagement.purchase.dto.PurchaseOrderDto;
 import com.cts.inventorymanagement.purchase.dto.PurchaseOrderRequest;
+import com.cts.inventorymanagement.purchase.exceptions.InvalidStatusChangeException;
 import com.cts.inventorymanagement.purchase.model.OrderStatus;
 import com.cts.inventorymanagement.purchase.model.PurchaseOrder; // Assuming this is the JPA entity
 import com.cts.inventorymanagement.purchase.repository.PurchaseOrderRepository;
 import com.cts.inventorymanagement.purchase.service.PurchaseOrderService;
+import com.cts.inventorymanagement.purchase.service.PurchaseOrdersDeliveredEvent;
+import com.cts.inventorymanagement.purchase.service.PurchaseRollupChanges;
+import com.cts.inventorymanagement.purchase.service.PurchaseRollupService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import org.slf4j.Logger; // Import for Logger
 import org.slf4j.LoggerFactory; // Import for LoggerFactory
@@ -22,22 +39,23 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
     // Initialize the logger for this class
     private static final Logger log = LoggerFactory.getLogger(PurchaseOrderServiceImpl.class);
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_DELIVERY_SIZE = 1000;
+
     private final PurchaseOrderRepository repository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PurchaseRollupService rollupService;
 
     @Override
     @Transactional
     public PurchaseOrderDto createOrder(PurchaseOrderRequest request) {
         log.info("Attempting to create a new purchase order for supplier ID: {} and product ID: {}",
                  request.getSupplierId(), request.getProductId());
-        PurchaseOrder order = new PurchaseOrder();
-        order.setSupplierId(request.getSupplierId());
-        order.setProductId(request.getProductId());
-        order.setQuantity(request.getQuantity());
-        order.setOrderDate(request.getOrderDate());
-        order.setDeliveryDate(request.getDeliveryDate());
+        PurchaseOrder order = toEntity(request);
 
         try {
             PurchaseOrder savedOrder = repository.save(order);
+            rollupService.record(new PurchaseRollupChanges().add(savedOrder));
             log.debug("Purchase order saved to database with ID: {}", savedOrder.getId());
             log.info("Successfully created purchase order with ID: {}", savedOrder.getId());
             return convertToDto(savedOrder);
@@ -48,6 +66,21 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         }
     }
 
+    @Override
+    @Transactional
+    public List<PurchaseOrderDto> createOrders(List<PurchaseOrderRequest> requests) {
+        log.info("Attempting to create {} purchase orders in bulk", requests.size());
+        // Sequence ids are assigned up front, so Hibernate sends the inserts in JDBC batches at flush
+        List<PurchaseOrder> savedOrders = repository.saveAll(requests.stream()
+                .map(this::toEntity)
+                .collect(Collectors.toList()));
+        PurchaseRollupChanges rollupChanges = new PurchaseRollupChanges();
+        savedOrders.forEach(rollupChanges::add);
+        rollupService.record(rollupChanges);
+        log.info("Successfully created {} purchase orders", savedOrders.size());
+        return savedOrders.stream().map(this::convertToDto).collect(Collectors.toList());
+    }
+
     @Override
     public PurchaseOrderDto getOrderById(Long id) {
         log.info("Attempting to retrieve purchase order by ID: {}", id);
@@ -83,18 +116,30 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
     public PurchaseOrderDto updateOrderStatus(Long id, OrderStatus status) {
         log.info("Attempting to update status for purchase order ID {} to: {}", id, status);
         try {
-            PurchaseOrder order = repository.findById(id)
+            PurchaseOrder order = repository.findByIdForUpdate(id)
                     .orElseThrow(() -> {
                         log.warn("Purchase order with ID {} not found for status update.", id);
                         return new RuntimeException("Order not found"); // Original exception type
                     });
 
-            if (status == OrderStatus.DELIVERED) {
+            checkTransition(List.of(order), status);
+            if (order.getStatus() == status) {
+                log.info("Purchase order ID {} is already {}.", id, status);
+                return convertToDto(order);
+            }
+            PurchaseRollupChanges rollupChanges = new PurchaseRollupChanges().remove(order);
+            boolean delivered = status == OrderStatus.DELIVERED;
+            if (delivered) {
                 order.setDeliveryDate(LocalDate.now());
+                order.setStockReceived(false);
                 log.debug("Setting delivery date for order ID {} to today as status is DELIVERED.", id);
             }
             order.setStatus(status);
             PurchaseOrder updatedOrder = repository.save(order);
+            rollupService.record(rollupChanges.add(updatedOrder));
+            if (delivered) {
+                eventPublisher.publishEvent(new PurchaseOrdersDeliveredEvent(List.of(id)));
+            }
             log.info("Purchase order ID {} status updated successfully to {}.", id, updatedOrder.getStatus());
             return convertToDto(updatedOrder);
         } catch (Exception e) {
@@ -103,6 +148,78 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         }
     }
 
+    @Override
+    @Transactional
+    public List<PurchaseOrderDto> deliverOrders(List<Long> orderIds) {
+        log.info("Attempting to mark {} purchase orders as delivered", orderIds.size());
+        if (orderIds.size() > MAX_DELIVERY_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_DELIVERY_SIZE + " purchase orders per delivery");
+        }
+        // Locked in id order, like the bulk path, so the rollup deltas match the rows changed
+        List<PurchaseOrder> orders = repository.findByIdInOrderByIdAsc(new LinkedHashSet<>(orderIds));
+        Set<Long> found = orders.stream().map(PurchaseOrder::getId).collect(Collectors.toSet());
+        List<Long> missing = orderIds.stream().filter(id -> !found.contains(id)).distinct().collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Purchase orders not found: " + missing);
+        }
+        checkTransition(orders, OrderStatus.DELIVERED);
+
+        // Orders already delivered are left as they are
+        LocalDate today = LocalDate.now();
+        List<Long> delivered = new ArrayList<>();
+        PurchaseRollupChanges rollupChanges = new PurchaseRollupChanges();
+        for (PurchaseOrder order : orders) {
+            if (order.getStatus() != OrderStatus.DELIVERED) {
+                rollupChanges.remove(order);
+                order.setStatus(OrderStatus.DELIVERED);
+                order.setDeliveryDate(today);
+                order.setStockReceived(false);
+                rollupChanges.add(order);
+                delivered.add(order.getId());
+            }
+        }
+        repository.saveAll(orders);
+        rollupService.record(rollupChanges);
+        if (!delivered.isEmpty()) {
+            eventPublisher.publishEvent(new PurchaseOrdersDeliveredEvent(delivered));
+        }
+        log.info("Marked {} purchase orders as delivered ({} were already delivered)",
+                 delivered.size(), orders.size() - delivered.size());
+        return orders.stream().map(this::convertToDto).collect(Collectors.toList());
+    }
+
+    @Override
+    @Transactional
+    public BulkStatusUpdateResponse updateOrderStatuses(List<Long> orderIds, OrderStatus status) {
+        log.info("Attempting to update status of {} purchase orders to {}", orderIds.size(), status);
+        if (status == OrderStatus.PENDING) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Orders can only be moved to DELIVERED or CANCELLED in bulk");
+        }
+        // Orders that cannot move (or already have the status) are skipped; locking the rows first
+        // makes the reported ids exactly the ones updated
+        List<PurchaseOrder> pending = repository.findByIdInOrderByIdAsc(new LinkedHashSet<>(orderIds)).stream()
+                .filter(order -> order.getStatus() != status && order.getStatus().canMoveTo(status))
+                .collect(Collectors.toList());
+        List<Long> updated = pending.stream().map(PurchaseOrder::getId).collect(Collectors.toList());
+        if (!updated.isEmpty()) {
+            // Rollup deltas from the loaded rows; the entities themselves are not modified
+            LocalDate today = LocalDate.now();
+            PurchaseRollupChanges rollupChanges = new PurchaseRollupChanges();
+            pending.forEach(order -> rollupChanges.remove(order).addAs(order, status, status == OrderStatus.DELIVERED ? today : order.getDeliveryDate()));
+            rollupService.record(rollupChanges);
+            if (status == OrderStatus.DELIVERED) {
+                repository.markDelivered(updated, today);
+                eventPublisher.publishEvent(new PurchaseOrdersDeliveredEvent(updated));
+            } else {
+                repository.updateStatus(updated, status);
+            }
+        }
+        Set<Long> updatedIds = new HashSet<>(updated);
+        List<Long> skipped = orderIds.stream().filter(id -> !updatedIds.contains(id)).distinct().collect(Collectors.toList());
+        log.info("Updated {} purchase orders to {} ({} skipped)", updated.size(), status, skipped.size());
+        return new BulkStatusUpdateResponse(updated, skipped);
+    }
+
     @Override
     public List<PurchaseOrderDto> getOrdersBySupplier(Long supplierId) {
         log.info("Attempting to retrieve purchase orders for supplier ID: {}", supplierId);
@@ -148,12 +265,32 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         }
     }
 
+    @Override
+    public PageResponse<PurchaseOrderDto> getOrdersBySupplierBetweenDates(Long supplierId, LocalDate start, LocalDate end,
+                                                                         int page, int size) {
+        log.info("Attempting to retrieve purchase orders for supplier ID {} between {} and {} (page {}, size {})",
+                 supplierId, start, end, page, size);
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "startDate must not be after endDate");
+        }
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Sort.by(Sort.Order.asc("orderDate"), Sort.Order.asc("id")));
+        Page<PurchaseOrderDto> orders = repository.findBySupplierIdAndOrderDateBetween(supplierId, start, end, pageable)
+                .map(this::convertToDto);
+        log.debug("Found {} of {} purchase orders for supplier ID {} between {} and {}.",
+                  orders.getNumberOfElements(), orders.getTotalElements(), supplierId, start, end);
+        return PageResponse.of(orders);
+    }
+
     @Override
     @Transactional
     public void deleteOrder(Long id) {
         log.info("Attempting to delete purchase order with ID: {}", id);
         try {
-            repository.deleteById(id);
+            repository.findByIdForUpdate(id).ifPresent(order -> {
+                rollupService.record(new PurchaseRollupChanges().remove(order));
+                repository.delete(order);
+            });
             log.info("Purchase order with ID {} deleted successfully.", id);
         } catch (Exception e) {
             // Specifically catching EmptyResultDataAccessException if you want to distinguish a not-found delete
@@ -166,6 +303,25 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         }
     }
 
+    // The one status-transition check, shared by the single, bulk and delivery paths
+    private static void checkTransition(List<PurchaseOrder> orders, OrderStatus target) {
+        List<Long> invalid = orders.stream().filter(order -> !order.getStatus().canMoveTo(target))
+                .map(PurchaseOrder::getId).collect(Collectors.toList());
+        if (!invalid.isEmpty()) {
+            throw new InvalidStatusChangeException("Purchase orders " + invalid + " are already DELIVERED or CANCELLED and cannot become " + target);
+        }
+    }
+
+    private PurchaseOrder toEntity(PurchaseOrderRequest request) {
+        PurchaseOrder order = new PurchaseOrder();
+        order.setSupplierId(request.getSupplierId());
+        order.setProductId(request.getProductId());
+        order.setQuantity(request.getQuantity());
+        order.setOrderDate(request.getOrderDate());
+        order.setDeliveryDate(request.getDeliveryDate());
+        return order;
+    }
+
     private PurchaseOrderDto convertToDto(PurchaseOrder order) {
         // Logging conversion in helper method can be noisy, TRACE is appropriate if needed.
         // log.trace("Converting PurchaseOrder entity with ID {} to PurchaseOrderDto.", order.getId());
@@ -177,6 +333,8 @@ public class PurchaseOrderServiceImpl implements PurchaseOrderService {
         Dto.setOrderDate(order.getOrderDate());
         Dto.setDeliveryDate(order.getDeliveryDate());
         Dto.setStatus(order.getStatus());
+        Dto.setStockReceived(order.getStockReceived());
+        Dto.setStockReceiveFailed(order.getStockReceiveFailed());
         return Dto;
     }
 }
\ No newline at end of file
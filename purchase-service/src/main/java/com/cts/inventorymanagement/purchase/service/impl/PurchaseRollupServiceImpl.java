@@ -0,0 +1,130 @@
+package com.cts.inventorymanagement.purchase.service.impl;
+
+import com.cts.inventorymanagement.purchase.dto.PageResponse;
+import com.cts.inventorymanagement.purchase.dto.PurchaseRollupDto;
+import com.cts.inventorymanagement.purchase.dto.PurchaseRollupSummary;
+import com.cts.inventorymanagement.purchase.model.PurchaseDailyRollup;
+import com.cts.inventorymanagement.purchase.repository.PurchaseDailyRollupRepository;
+import com.cts.inventorymanagement.purchase.service.PurchaseRollupChanges;
+import com.cts.inventorymanagement.purchase.service.PurchaseRollupService;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains {@code purchase_daily_rollup} with MySQL upserts
+ * ({@code INSERT ... ON DUPLICATE KEY UPDATE}) that add deltas, sent as one JDBC batch
+ * in the caller's transaction. Reports read only the rollup table.
+ */
+@Service
+@RequiredArgsConstructor
+public class PurchaseRollupServiceImpl implements PurchaseRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(PurchaseRollupServiceImpl.class);
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String UPSERT = "INSERT INTO purchase_daily_rollup "
+            + "(rollup_date, supplier_id, product_id, ordered_quantity, order_count, delivered_quantity, delivered_count, lead_time_days_total) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+            + "ordered_quantity = ordered_quantity + VALUES(ordered_quantity), "
+            + "order_count = order_count + VALUES(order_count), "
+            + "delivered_quantity = delivered_quantity + VALUES(delivered_quantity), "
+            + "delivered_count = delivered_count + VALUES(delivered_count), "
+            + "lead_time_days_total = lead_time_days_total + VALUES(lead_time_days_total)";
+
+    private final PurchaseDailyRollupRepository rollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(PurchaseRollupChanges changes) {
+        List<Object[]> rows = new ArrayList<>();
+        for (PurchaseDailyRollup delta : changes.deltas()) {
+            rows.add(new Object[] {Date.valueOf(delta.getDay()), delta.getSupplierId(), delta.getProductId(),
+                    delta.getOrderedQuantity(), delta.getOrderCount(), delta.getDeliveredQuantity(),
+                    delta.getDeliveredCount(), delta.getLeadTimeDaysTotal()});
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPSERT, rows);
+            log.debug("Applied {} purchase rollup deltas", rows.size());
+        }
+    }
+
+    @Override
+    public PageResponse<PurchaseRollupDto> getDailyRollups(LocalDate start, LocalDate end, Long supplierId, Long productId,
+                                                           int page, int size) {
+        checkRange(start, end);
+        PageRequest pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Sort.by("day", "supplierId", "productId"));
+        return PageResponse.of(rollupRepository.findInRange(start, end, supplierId, productId, pageable)
+                .map(rollup -> new PurchaseRollupDto(rollup.getDay(), rollup.getSupplierId(), rollup.getProductId(),
+                        rollup.getOrderedQuantity(), rollup.getOrderCount(), rollup.getDeliveredQuantity(),
+                        rollup.getDeliveredCount(), averageLeadTime(rollup.getLeadTimeDaysTotal(), rollup.getDeliveredCount()))));
+    }
+
+    @Override
+    public List<PurchaseRollupSummary> getSummary(LocalDate start, LocalDate end, GroupBy groupBy) {
+        checkRange(start, end);
+        boolean bySupplier = groupBy == GroupBy.SUPPLIER;
+        List<Object[]> rows = bySupplier ? rollupRepository.sumBySupplier(start, end) : rollupRepository.sumByProduct(start, end);
+        return rows.stream().map(row -> {
+            Long id = (Long) row[0];
+            long deliveredCount = ((Number) row[4]).longValue();
+            return new PurchaseRollupSummary(bySupplier ? id : null, bySupplier ? null : id,
+                    ((Number) row[1]).longValue(), ((Number) row[2]).longValue(), ((Number) row[3]).longValue(),
+                    deliveredCount, averageLeadTime(((Number) row[5]).longValue(), deliveredCount));
+        }).collect(Collectors.toList());
+    }
+
+    // Recomputes the table from purchase_order once; the marker row makes later calls, and other instances, skip it
+    @Override
+    @Transactional
+    public boolean backfill() {
+        // A second instance blocks on the uncommitted marker here, then finds it and skips
+        if (jdbcTemplate.update("INSERT IGNORE INTO purchase_rollup_backfill (id, completed_at) VALUES (1, NOW())") == 0) {
+            return false;
+        }
+        // Shared locks on all purchase orders and their gaps hold off order writes until commit. Writers lock
+        // their purchase_order rows before recording rollup deltas, so none are lost or counted twice.
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM purchase_order FOR SHARE", Long.class);
+        log.info("Rebuilding purchase_daily_rollup from purchase_order");
+        jdbcTemplate.update("DELETE FROM purchase_daily_rollup");
+        int ordered = jdbcTemplate.update("INSERT INTO purchase_daily_rollup "
+                + "(rollup_date, supplier_id, product_id, ordered_quantity, order_count, delivered_quantity, delivered_count, lead_time_days_total) "
+                + "SELECT order_date, supplier_id, product_id, SUM(quantity), COUNT(*), 0, 0, 0 FROM purchase_order "
+                + "WHERE status <> 'CANCELLED' GROUP BY order_date, supplier_id, product_id");
+        int delivered = jdbcTemplate.update("INSERT INTO purchase_daily_rollup "
+                + "(rollup_date, supplier_id, product_id, ordered_quantity, order_count, delivered_quantity, delivered_count, lead_time_days_total) "
+                + "SELECT * FROM (SELECT delivery_date, supplier_id, product_id, 0 AS oq, 0 AS oc, SUM(quantity) AS dq, COUNT(*) AS dc, "
+                + "SUM(DATEDIFF(delivery_date, order_date)) AS lt FROM purchase_order "
+                + "WHERE status = 'DELIVERED' AND delivery_date IS NOT NULL GROUP BY delivery_date, supplier_id, product_id) d "
+                + "ON DUPLICATE KEY UPDATE delivered_quantity = d.dq, delivered_count = d.dc, lead_time_days_total = d.lt");
+        log.info("Rebuilt purchase_daily_rollup ({} ordered groups, {} delivered groups)", ordered, delivered);
+        return true;
+    }
+
+    private static void checkRange(LocalDate start, LocalDate end) {
+        if (start.isAfter(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "startDate must not be after endDate");
+        }
+    }
+
+    private static Double averageLeadTime(long leadTimeDaysTotal, long deliveredCount) {
+        return deliveredCount > 0 ? (double) leadTimeDaysTotal / deliveredCount : null;
+    }
+}
@@ -0,0 +1,251 @@
+package com.cts.inventorymanagement.purchase.service.impl;
+
+import com.cts.inventorymanagement.purchase.client.OrderClient;
+import com.cts.inventorymanagement.purchase.client.StockClient;
+import com.cts.inventorymanagement.purchase.client.SupplierClient;
+import com.cts.inventorymanagement.purchase.dto.PurchaseOrderRequest;
+import com.cts.inventorymanagement.purchase.dto.ReplenishmentReport;
+import com.cts.inventorymanagement.purchase.dto.StockDto;
+import com.cts.inventorymanagement.purchase.dto.SupplierSummary;
+import com.cts.inventorymanagement.purchase.model.OrderStatus;
+import com.cts.inventorymanagement.purchase.repository.PurchaseOrderRepository;
+import com.cts.inventorymanagement.purchase.service.PurchaseOrderService;
+import com.cts.inventorymanagement.purchase.service.ReplenishmentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.tracing.Tracer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Turns low stock into PENDING purchase orders. Low-stock items are read from
+ * stock-service in keyset pages, split into {@code purchase.replenishment.partitions}
+ * partitions (productId mod partitions) that are processed in parallel. Per page,
+ * products that already have a PENDING order are skipped, suppliers and recent
+ * consumption are looked up in bulk, and the new orders are saved together.
+ *
+ * <p>Order quantity tops the item up to its reorder level plus
+ * {@code cover-days} of average daily consumption over the last
+ * {@code lookback-days}. The lowest-id CURRENT supplier of the product is used.
+ * Only one run at a time per instance; enable the schedule on one instance only.
+ */
+@Service
+public class ReplenishmentServiceImpl implements ReplenishmentService, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplenishmentServiceImpl.class);
+
+    private final StockClient stockClient;
+    private final SupplierClient supplierClient;
+    private final OrderClient orderClient;
+    private final PurchaseOrderRepository repository;
+    private final PurchaseOrderService purchaseOrderService;
+    private final MeterRegistry meterRegistry;
+    private final ObjectProvider<Tracer> tracerProvider;
+    private final boolean enabled;
+    private final int partitions;
+    private final int pageSize;
+    private final int lookbackDays;
+    private final int coverDays;
+    private final ThreadPoolExecutor executor;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public ReplenishmentServiceImpl(StockClient stockClient, SupplierClient supplierClient, OrderClient orderClient,
+            PurchaseOrderRepository repository, PurchaseOrderService purchaseOrderService, MeterRegistry meterRegistry, ObjectProvider<Tracer> tracerProvider,
+            @Value("${purchase.replenishment.enabled:false}") boolean enabled,
+            @Value("${purchase.replenishment.partitions:8}") int partitions,
+            @Value("${purchase.replenishment.page-size:500}") int pageSize,
+            @Value("${purchase.replenishment.lookback-days:30}") int lookbackDays,
+            @Value("${purchase.replenishment.cover-days:14}") int coverDays) {
+        this.stockClient = stockClient;
+        this.supplierClient = supplierClient;
+        this.orderClient = orderClient;
+        this.repository = repository;
+        this.purchaseOrderService = purchaseOrderService;
+        this.meterRegistry = meterRegistry;
+        this.tracerProvider = tracerProvider;
+        this.enabled = enabled;
+        this.partitions = partitions;
+        this.pageSize = pageSize;
+        this.lookbackDays = lookbackDays;
+        this.coverDays = coverDays;
+        this.executor = new ThreadPoolExecutor(partitions, partitions, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("replenishment-"));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    @Scheduled(cron = "${purchase.replenishment.cron:0 0 2 * * *}")
+    public void scheduledRun() {
+        if (!enabled) {
+            return;
+        }
+        if (tryRun().isEmpty()) {
+            log.warn("Skipping scheduled replenishment: previous run still in progress");
+        }
+    }
+
+    @Override
+    public ReplenishmentReport runReplenishment() {
+        return tryRun().orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.CONFLICT, "A replenishment run is already in progress"));
+    }
+
+    private Optional<ReplenishmentReport> tryRun() {
+        if (!running.compareAndSet(false, true)) {
+            return Optional.empty();
+        }
+        Instant startedAt = Instant.now();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            log.info("Starting replenishment run over {} partitions", partitions);
+            Tally tally = new Tally();
+            Tracer tracer = tracerProvider.getIfAvailable();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int p = 0; p < partitions; p++) {
+                int partition = p;
+                Runnable task = () -> replenishPartition(partition, tally);
+                futures.add(executor.submit(tracer != null ? tracer.currentTraceContext().wrap(task) : task));
+            }
+
+            int failedPartitions = 0;
+            for (int p = 0; p < futures.size(); p++) {
+                try {
+                    futures.get(p).get();
+                } catch (ExecutionException e) {
+                    failedPartitions++;
+                    log.error("Replenishment partition {} stopped early: {}", p, e.getCause().getMessage(), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    futures.forEach(future -> future.cancel(true));
+                    throw new IllegalStateException("Interrupted while waiting for replenishment partitions", e);
+                }
+            }
+
+            ReplenishmentReport report = new ReplenishmentReport(startedAt,
+                    Duration.between(startedAt, Instant.now()).toMillis(), tally.scanned.sum(), tally.ordered.sum(),
+                    tally.skippedOpenOrder.sum(), tally.skippedNoSupplier.sum(), tally.failed.sum(), failedPartitions);
+            log.info("Replenishment run finished: {}", report);
+            return Optional.of(report);
+        } finally {
+            sample.stop(meterRegistry.timer("purchase.replenishment.runs"));
+            running.set(false);
+        }
+    }
+
+    // Walks one partition page by page; a failed stock read ends the partition, a failed page is counted and skipped
+    private void replenishPartition(int partition, Tally tally) {
+        long afterProductId = 0;
+        while (true) {
+            List<StockDto> page = stockClient.getLowStockPage(afterProductId, partition, partitions, pageSize);
+            if (page.isEmpty()) {
+                return;
+            }
+            tally.scanned.add(page.size());
+            try {
+                replenishPage(page, tally);
+            } catch (RuntimeException e) {
+                log.warn("Replenishment of {} products in partition {} after product ID {} failed: {}",
+                        page.size(), partition, afterProductId, e.getMessage());
+                tally.record(tally.failed, "failed", page.size());
+            }
+            afterProductId = page.get(page.size() - 1).getProductId();
+            if (page.size() < pageSize) {
+                return;
+            }
+        }
+    }
+
+    private void replenishPage(List<StockDto> page, Tally tally) {
+        List<Long> productIds = page.stream().map(StockDto::getProductId).collect(Collectors.toList());
+        Set<Long> open = repository.findProductIdsWithStatus(productIds, OrderStatus.PENDING);
+        List<StockDto> candidates = page.stream()
+                .filter(stock -> !open.contains(stock.getProductId()))
+                .collect(Collectors.toList());
+        if (candidates.isEmpty()) {
+            tally.record(tally.skippedOpenOrder, "open-order", open.size());
+            return;
+        }
+
+        List<Long> candidateIds = candidates.stream().map(StockDto::getProductId).collect(Collectors.toList());
+        Map<Long, List<SupplierSummary>> suppliers = supplierClient.getSuppliersByProducts(candidateIds);
+        Map<Long, Long> unitsOrdered = orderClient.getUnitsOrdered(candidateIds, lookbackDays);
+
+        LocalDate today = LocalDate.now();
+        List<PurchaseOrderRequest> orders = new ArrayList<>();
+        int noSupplier = 0;
+        for (StockDto stock : candidates) {
+            Optional<Long> supplierId = suppliers.getOrDefault(stock.getProductId(), List.of()).stream()
+                    .map(SupplierSummary::getId)
+                    .min(Long::compare);
+            if (supplierId.isEmpty()) {
+                noSupplier++;
+                continue;
+            }
+            PurchaseOrderRequest order = new PurchaseOrderRequest();
+            order.setSupplierId(supplierId.get());
+            order.setProductId(stock.getProductId());
+            order.setQuantity(orderQuantity(stock, unitsOrdered.getOrDefault(stock.getProductId(), 0L)));
+            order.setOrderDate(today);
+            orders.add(order);
+        }
+        if (!orders.isEmpty()) {
+            purchaseOrderService.createOrders(orders);
+        }
+
+        tally.record(tally.skippedOpenOrder, "open-order", open.size());
+        tally.record(tally.skippedNoSupplier, "no-supplier", noSupplier);
+        tally.record(tally.ordered, "ordered", orders.size());
+    }
+
+    // Reorder level plus cover-days of average daily demand, minus what is on hand (at least one unit)
+    private int orderQuantity(StockDto stock, long unitsOrdered) {
+        double dailyDemand = (double) unitsOrdered / lookbackDays;
+        long target = stock.getReorderLevel() + (long) Math.ceil(dailyDemand * coverDays);
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(target - stock.getQuantity(), 1));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /** Per-run counts, shared by the partitions; each is mirrored to {@code purchase.replenishment.items{outcome}}. */
+    private final class Tally {
+        final LongAdder scanned = new LongAdder();
+        final LongAdder ordered = new LongAdder();
+        final LongAdder skippedOpenOrder = new LongAdder();
+        final LongAdder skippedNoSupplier = new LongAdder();
+        final LongAdder failed = new LongAdder();
+
+        void record(LongAdder count, String outcome, long amount) {
+            if (amount > 0) {
+                count.add(amount);
+                meterRegistry.counter("purchase.replenishment.items", "outcome", outcome).increment(amount);
+            }
+        }
+    }
+}
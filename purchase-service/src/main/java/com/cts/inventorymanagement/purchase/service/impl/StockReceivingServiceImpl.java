@@ -0,0 +1,121 @@
+package com.cts.inventorymanagement.purchase.service.impl;
+
+import com.cts.inventorymanagement.purchase.client.StockClient;
+import com.cts.inventorymanagement.purchase.dto.StockReceiptRequest;
+import com.cts.inventorymanagement.purchase.dto.StockReceiptResponse;
+import com.cts.inventorymanagement.purchase.model.OrderStatus;
+import com.cts.inventorymanagement.purchase.model.PurchaseOrder;
+import com.cts.inventorymanagement.purchase.repository.PurchaseOrderRepository;
+import com.cts.inventorymanagement.purchase.service.PurchaseOrdersDeliveredEvent;
+import com.cts.inventorymanagement.purchase.service.StockReceivingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Adds delivered purchase orders to stock through stock-service's bulk receipt
+ * endpoint, up to {@value #BATCH_SIZE} orders per call. stock-service applies each
+ * purchase order at most once, so a call can safely be repeated. Orders whose call
+ * failed keep {@code stockReceived = false} and are retried by a periodic sweep.
+ * Orders whose product has no stock record cannot succeed on retry; they are marked
+ * {@code stockReceiveFailed} and left out of the sweep.
+ */
+@Service
+@RequiredArgsConstructor
+public class StockReceivingServiceImpl implements StockReceivingService {
+
+    private static final Logger log = LoggerFactory.getLogger(StockReceivingServiceImpl.class);
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final PurchaseOrderRepository repository;
+    private final StockClient stockClient;
+    private final MeterRegistry meterRegistry;
+
+    // Runs after the delivery is committed, outside its transaction; failures are left to the sweep
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void onDelivered(PurchaseOrdersDeliveredEvent event) {
+        try {
+            receive(event.orderIds());
+        } catch (RuntimeException e) {
+            log.warn("Receiving {} delivered purchase orders failed, will retry: {}", event.orderIds().size(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void receive(Collection<Long> orderIds) {
+        List<PurchaseOrder> pending = repository.findAllById(orderIds).stream()
+                .filter(order -> order.getStatus() == OrderStatus.DELIVERED && Boolean.FALSE.equals(order.getStockReceived())
+                        && !Boolean.TRUE.equals(order.getStockReceiveFailed()))
+                .collect(Collectors.toList());
+        for (int from = 0; from < pending.size(); from += BATCH_SIZE) {
+            send(pending.subList(from, Math.min(from + BATCH_SIZE, pending.size())));
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${purchase.receiving.retry-interval:PT5M}")
+    public void retryPending() {
+        long afterId = 0;
+        while (true) {
+            List<PurchaseOrder> batch = repository.findPendingReceipt(OrderStatus.DELIVERED, afterId, Limit.of(BATCH_SIZE));
+            if (batch.isEmpty()) {
+                return;
+            }
+            log.info("Retrying stock receipt for {} delivered purchase orders", batch.size());
+            if (!send(batch)) {
+                return; // stock-service unavailable, try again next sweep
+            }
+            afterId = batch.get(batch.size() - 1).getId();
+            if (batch.size() < BATCH_SIZE) {
+                return;
+            }
+        }
+    }
+
+    private boolean send(List<PurchaseOrder> orders) {
+        List<StockReceiptRequest.Line> lines = orders.stream()
+                .map(order -> new StockReceiptRequest.Line(order.getId(), order.getProductId(), order.getQuantity()))
+                .collect(Collectors.toList());
+        StockReceiptResponse response;
+        try {
+            response = stockClient.receiveStock(new StockReceiptRequest(lines));
+        } catch (RuntimeException e) {
+            log.warn("Stock receipt for {} purchase orders failed: {}", orders.size(), e.getMessage());
+            record("failed", orders.size());
+            return false;
+        }
+
+        List<Long> done = new ArrayList<>(response.getReceived());
+        done.addAll(response.getAlreadyReceived());
+        if (!done.isEmpty()) {
+            repository.markStockReceived(done);
+        }
+        if (!response.getUnknownProduct().isEmpty()) {
+            repository.markStockReceiveFailed(response.getUnknownProduct());
+            log.warn("Purchase orders {} not added to stock: product has no stock record", response.getUnknownProduct());
+        }
+        record("received", response.getReceived().size());
+        record("already-received", response.getAlreadyReceived().size());
+        record("unknown-product", response.getUnknownProduct().size());
+        return true;
+    }
+
+    private void record(String outcome, int count) {
+        if (count > 0) {
+            meterRegistry.counter("purchase.receiving.orders", "outcome", outcome).increment(count);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.cts.inventorymanagement.purchase.config;
+
+import com.cts.inventorymanagement.purchase.model.PurchaseOrder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseOrderSequenceInitializerTest {
+
+    private static final String MOVE_SEQUENCE = "UPDATE purchase_order_seq SET next_val = ? WHERE next_val < ?";
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private PurchaseOrderSequenceInitializer initializer;
+
+    @Test
+    void sequenceClearsTheHighestIdByAFullBlock() {
+        when(jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM purchase_order", Long.class)).thenReturn(1234L);
+        long floor = 1234L + PurchaseOrder.ID_ALLOCATION_SIZE + 1;
+        when(jdbcTemplate.update(MOVE_SEQUENCE, floor, floor)).thenReturn(1);
+
+        initializer.alignWithExistingIds();
+
+        verify(jdbcTemplate).update(MOVE_SEQUENCE, floor, floor);
+    }
+
+    @Test
+    void emptyTableStillLeavesTheFirstBlockClear() {
+        when(jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM purchase_order", Long.class)).thenReturn(0L);
+        long floor = PurchaseOrder.ID_ALLOCATION_SIZE + 1;
+
+        // A sequence that is already ahead matches no row
+        initializer.alignWithExistingIds();
+
+        verify(jdbcTemplate).update(MOVE_SEQUENCE, floor, floor);
+    }
+}
@@ -0,0 +1,26 @@
+package com.cts.inventorymanagement.purchase.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderStatusTest {
+
+    @Test
+    void pendingCanMoveAnywhere() {
+        for (OrderStatus target : OrderStatus.values()) {
+            assertThat(OrderStatus.PENDING.canMoveTo(target)).isTrue();
+        }
+    }
+
+    @Test
+    void finalStatusesOnlyStayWhereTheyAre() {
+        assertThat(OrderStatus.DELIVERED.canMoveTo(OrderStatus.DELIVERED)).isTrue();
+        assertThat(OrderStatus.DELIVERED.canMoveTo(OrderStatus.CANCELLED)).isFalse();
+        assertThat(OrderStatus.DELIVERED.canMoveTo(OrderStatus.PENDING)).isFalse();
+
+        assertThat(OrderStatus.CANCELLED.canMoveTo(OrderStatus.CANCELLED)).isTrue();
+        assertThat(OrderStatus.CANCELLED.canMoveTo(OrderStatus.DELIVERED)).isFalse();
+        assertThat(OrderStatus.CANCELLED.canMoveTo(OrderStatus.PENDING)).isFalse();
+    }
+}
@@ -0,0 +1,112 @@
+package com.cts.inventorymanagement.purchase.service;
+
+import com.cts.inventorymanagement.purchase.model.OrderStatus;
+import com.cts.inventorymanagement.purchase.model.PurchaseDailyRollup;
+import com.cts.inventorymanagement.purchase.model.PurchaseOrder;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PurchaseRollupChangesTest {
+
+    private static final LocalDate ORDERED = LocalDate.of(2026, 1, 5);
+    private static final LocalDate DELIVERED = LocalDate.of(2026, 1, 8);
+
+    @Test
+    void newOrderCountsOnItsOrderDate() {
+        PurchaseRollupChanges changes = new PurchaseRollupChanges().add(order(10L, 20L, 5, OrderStatus.PENDING, null));
+
+        assertThat(deltas(changes)).containsExactly(new PurchaseDailyRollup(ORDERED, 10L, 20L, 5, 1, 0, 0, 0));
+    }
+
+    @Test
+    void deliveryCountsOnTheDeliveryDateWithLeadTime() {
+        PurchaseOrder order = order(10L, 20L, 5, OrderStatus.PENDING, null);
+        PurchaseRollupChanges changes = new PurchaseRollupChanges().remove(order);
+        order.setStatus(OrderStatus.DELIVERED);
+        order.setDeliveryDate(DELIVERED);
+        changes.add(order);
+
+        // The ordered figures cancel out; only the delivery remains
+        assertThat(deltas(changes)).containsExactly(new PurchaseDailyRollup(DELIVERED, 10L, 20L, 0, 0, 5, 1, 3));
+    }
+
+    @Test
+    void addAsMatchesChangingTheEntity() {
+        PurchaseOrder order = order(10L, 20L, 5, OrderStatus.PENDING, null);
+        PurchaseRollupChanges changes = new PurchaseRollupChanges().remove(order).addAs(order, OrderStatus.DELIVERED, DELIVERED);
+
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING);
+        assertThat(deltas(changes)).containsExactly(new PurchaseDailyRollup(DELIVERED, 10L, 20L, 0, 0, 5, 1, 3));
+    }
+
+    @Test
+    void cancellationTakesTheOrderOut() {
+        PurchaseOrder order = order(10L, 20L, 5, OrderStatus.PENDING, null);
+        PurchaseRollupChanges changes = new PurchaseRollupChanges().remove(order).addAs(order, OrderStatus.CANCELLED, null);
+
+        assertThat(deltas(changes)).containsExactly(new PurchaseDailyRollup(ORDERED, 10L, 20L, -5, -1, 0, 0, 0));
+    }
+
+    @Test
+    void cancelledOrdersContributeNothing() {
+        PurchaseRollupChanges changes = new PurchaseRollupChanges().add(order(10L, 20L, 5, OrderStatus.CANCELLED, null));
+
+        assertThat(changes.isEmpty()).isTrue();
+        assertThat(deltas(changes)).isEmpty();
+    }
+
+    @Test
+    void unchangedOrderIsEmpty() {
+        PurchaseOrder order = order(10L, 20L, 5, OrderStatus.DELIVERED, DELIVERED);
+        PurchaseRollupChanges changes = new PurchaseRollupChanges().remove(order).add(order);
+
+        assertThat(changes.isEmpty()).isTrue();
+        assertThat(deltas(changes)).isEmpty();
+    }
+
+    @Test
+    void mergesOrdersOfTheSameDaySupplierAndProduct() {
+        PurchaseRollupChanges changes = new PurchaseRollupChanges()
+                .add(order(10L, 20L, 5, OrderStatus.PENDING, null))
+                .add(order(10L, 20L, 7, OrderStatus.PENDING, null));
+
+        assertThat(deltas(changes)).containsExactly(new PurchaseDailyRollup(ORDERED, 10L, 20L, 12, 2, 0, 0, 0));
+    }
+
+    @Test
+    void deltasComeInDaySupplierProductOrder() {
+        PurchaseRollupChanges changes = new PurchaseRollupChanges()
+                .add(order(11L, 20L, 1, OrderStatus.PENDING, null))
+                .add(order(10L, 21L, 1, OrderStatus.DELIVERED, DELIVERED))
+                .add(order(10L, 20L, 1, OrderStatus.PENDING, null));
+
+        assertThat(deltas(changes)).extracting(d -> List.of(d.getDay(), d.getSupplierId(), d.getProductId()))
+                .containsExactly(
+                        List.of(ORDERED, 10L, 20L),
+                        List.of(ORDERED, 10L, 21L),
+                        List.of(ORDERED, 11L, 20L),
+                        List.of(DELIVERED, 10L, 21L));
+    }
+
+    private static List<PurchaseDailyRollup> deltas(PurchaseRollupChanges changes) {
+        List<PurchaseDailyRollup> deltas = new ArrayList<>();
+        changes.deltas().forEach(deltas::add);
+        return deltas;
+    }
+
+    private static PurchaseOrder order(Long supplierId, Long productId, int quantity, OrderStatus status, LocalDate deliveryDate) {
+        PurchaseOrder order = new PurchaseOrder();
+        order.setSupplierId(supplierId);
+        order.setProductId(productId);
+        order.setQuantity(quantity);
+        order.setOrderDate(ORDERED);
+        order.setStatus(status);
+        order.setDeliveryDate(deliveryDate);
+        return order;
+    }
+}
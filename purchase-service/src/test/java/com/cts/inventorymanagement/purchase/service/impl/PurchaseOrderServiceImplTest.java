@@ -0,0 +1,323 @@
+package com.cts.inventorymanagement.purchase.service.impl;
+
+import com.cts.inventorymanagement.purchase.dto.BulkStatusUpdateResponse;
+import com.cts.inventorymanagement.purchase.dto.PageResponse;
+import com.cts.inventorymanagement.purchase.dto.PurchaseOrderDto;
+import com.cts.inventorymanagement.purchase.dto.PurchaseOrderRequest;
+import com.cts.inventorymanagement.purchase.exceptions.InvalidStatusChangeException;
+import com.cts.inventorymanagement.purchase.model.OrderStatus;
+import com.cts.inventorymanagement.purchase.model.PurchaseDailyRollup;
+import com.cts.inventorymanagement.purchase.model.PurchaseOrder;
+import com.cts.inventorymanagement.purchase.repository.PurchaseOrderRepository;
+import com.cts.inventorymanagement.purchase.service.PurchaseOrdersDeliveredEvent;
+import com.cts.inventorymanagement.purchase.service.PurchaseRollupChanges;
+import com.cts.inventorymanagement.purchase.service.PurchaseRollupService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseOrderServiceImplTest {
+
+    private static final LocalDate ORDER_DATE = LocalDate.of(2026, 1, 5);
+
+    @Mock
+    private PurchaseOrderRepository repository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PurchaseRollupService rollupService;
+
+    @InjectMocks
+    private PurchaseOrderServiceImpl service;
+
+    @Test
+    void deliversPendingOrder() {
+        PurchaseOrder order = order(1L, OrderStatus.PENDING);
+        when(repository.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(repository.save(order)).thenReturn(order);
+
+        PurchaseOrderDto result = service.updateOrderStatus(1L, OrderStatus.DELIVERED);
+
+        assertThat(result.getStatus()).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(order.getDeliveryDate()).isEqualTo(LocalDate.now());
+        assertThat(order.getStockReceived()).isFalse();
+        verify(rollupService).record(any());
+        verify(eventPublisher).publishEvent(new PurchaseOrdersDeliveredEvent(List.of(1L)));
+    }
+
+    @Test
+    void cancelledOrderCannotBeDelivered() {
+        when(repository.findByIdForUpdate(1L)).thenReturn(Optional.of(order(1L, OrderStatus.CANCELLED)));
+
+        assertThatThrownBy(() -> service.updateOrderStatus(1L, OrderStatus.DELIVERED))
+                .isInstanceOf(InvalidStatusChangeException.class);
+        verify(repository, never()).save(any());
+        verifyNoInteractions(rollupService, eventPublisher);
+    }
+
+    @Test
+    void deliveredOrderCannotGoBackToPending() {
+        when(repository.findByIdForUpdate(1L)).thenReturn(Optional.of(order(1L, OrderStatus.DELIVERED)));
+
+        assertThatThrownBy(() -> service.updateOrderStatus(1L, OrderStatus.PENDING))
+                .isInstanceOf(InvalidStatusChangeException.class);
+        verify(repository, never()).save(any());
+    }
+
+    @Test
+    void sameStatusIsANoOp() {
+        PurchaseOrder order = order(1L, OrderStatus.DELIVERED);
+        order.setStockReceived(true);
+        when(repository.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+
+        PurchaseOrderDto result = service.updateOrderStatus(1L, OrderStatus.DELIVERED);
+
+        assertThat(result.getStatus()).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(order.getStockReceived()).isTrue();
+        verify(repository, never()).save(any());
+        verifyNoInteractions(rollupService, eventPublisher);
+    }
+
+    @Test
+    void statusChangeReadsTheOrderUnderALock() {
+        PurchaseOrder order = order(1L, OrderStatus.PENDING);
+        when(repository.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+        when(repository.save(order)).thenReturn(order);
+
+        service.updateOrderStatus(1L, OrderStatus.CANCELLED);
+
+        verify(repository, never()).findById(any());
+        verify(rollupService).record(any());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void deletionReadsTheOrderUnderALock() {
+        PurchaseOrder order = order(1L, OrderStatus.PENDING);
+        when(repository.findByIdForUpdate(1L)).thenReturn(Optional.of(order));
+
+        service.deleteOrder(1L);
+
+        verify(repository, never()).findById(any());
+        verify(repository).delete(order);
+        verify(rollupService).record(any());
+    }
+
+    @Test
+    void deliveryLocksTheOrdersItChanges() {
+        PurchaseOrder pending = order(1L, OrderStatus.PENDING);
+        when(repository.findByIdInOrderByIdAsc(anyCollection())).thenReturn(List.of(pending));
+
+        service.deliverOrders(List.of(1L, 1L));
+
+        verify(repository).findByIdInOrderByIdAsc(Set.of(1L));
+        verify(repository, never()).findAllById(any());
+        assertThat(pending.getDeliveryDate()).isEqualTo(LocalDate.now());
+    }
+
+    @Test
+    void deliveryPublishesOnlyNewlyDeliveredOrders() {
+        PurchaseOrder pending = order(1L, OrderStatus.PENDING);
+        PurchaseOrder delivered = order(2L, OrderStatus.DELIVERED);
+        when(repository.findByIdInOrderByIdAsc(anyCollection())).thenReturn(List.of(pending, delivered));
+
+        service.deliverOrders(List.of(1L, 2L));
+
+        assertThat(pending.getStatus()).isEqualTo(OrderStatus.DELIVERED);
+        verify(repository).saveAll(List.of(pending, delivered));
+        verify(eventPublisher).publishEvent(new PurchaseOrdersDeliveredEvent(List.of(1L)));
+    }
+
+    @Test
+    void deliveryWithACancelledOrderIsRejected() {
+        PurchaseOrder pending = order(1L, OrderStatus.PENDING);
+        when(repository.findByIdInOrderByIdAsc(anyCollection())).thenReturn(List.of(pending, order(2L, OrderStatus.CANCELLED)));
+
+        assertThatThrownBy(() -> service.deliverOrders(List.of(1L, 2L)))
+                .isInstanceOf(InvalidStatusChangeException.class)
+                .hasMessageContaining("[2]");
+        assertThat(pending.getStatus()).isEqualTo(OrderStatus.PENDING);
+        verify(repository, never()).saveAll(any());
+        verifyNoInteractions(rollupService, eventPublisher);
+    }
+
+    @Test
+    void deliveryWithUnknownOrdersIsNotFound() {
+        when(repository.findByIdInOrderByIdAsc(anyCollection())).thenReturn(List.of(order(1L, OrderStatus.PENDING)));
+
+        assertThatThrownBy(() -> service.deliverOrders(List.of(1L, 3L)))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void deliveryIsCappedAtOneThousandOrders() {
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().collect(Collectors.toList());
+
+        assertThatThrownBy(() -> service.deliverOrders(ids))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void bulkDeliverySkipsOrdersThatCannotMove() {
+        when(repository.findByIdInOrderByIdAsc(anyCollection())).thenReturn(List.of(
+                order(1L, OrderStatus.PENDING), order(2L, OrderStatus.CANCELLED), order(3L, OrderStatus.DELIVERED)));
+
+        BulkStatusUpdateResponse response = service.updateOrderStatuses(List.of(1L, 2L, 3L, 4L), OrderStatus.DELIVERED);
+
+        assertThat(response.getUpdated()).containsExactly(1L);
+        assertThat(response.getSkipped()).containsExactlyInAnyOrder(2L, 3L, 4L);
+        verify(repository).markDelivered(List.of(1L), LocalDate.now());
+        verify(eventPublisher).publishEvent(new PurchaseOrdersDeliveredEvent(List.of(1L)));
+    }
+
+    @Test
+    void bulkDeliveryOfOnlyCancelledOrdersChangesNothing() {
+        when(repository.findByIdInOrderByIdAsc(anyCollection())).thenReturn(List.of(order(2L, OrderStatus.CANCELLED)));
+
+        BulkStatusUpdateResponse response = service.updateOrderStatuses(List.of(2L), OrderStatus.DELIVERED);
+
+        assertThat(response.getUpdated()).isEmpty();
+        assertThat(response.getSkipped()).containsExactly(2L);
+        verify(repository, never()).markDelivered(any(), any());
+        verifyNoInteractions(rollupService, eventPublisher);
+    }
+
+    @Test
+    void bulkCancellationUpdatesStatusWithoutEvent() {
+        when(repository.findByIdInOrderByIdAsc(anyCollection())).thenReturn(List.of(
+                order(1L, OrderStatus.PENDING), order(3L, OrderStatus.DELIVERED)));
+
+        BulkStatusUpdateResponse response = service.updateOrderStatuses(List.of(1L, 3L), OrderStatus.CANCELLED);
+
+        assertThat(response.getUpdated()).containsExactly(1L);
+        verify(repository).updateStatus(List.of(1L), OrderStatus.CANCELLED);
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void bulkMoveToPendingIsRejected() {
+        assertThatThrownBy(() -> service.updateOrderStatuses(List.of(1L), OrderStatus.PENDING))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void dateRangeIsPagedByOrderDateThenId() {
+        LocalDate end = ORDER_DATE.plusDays(30);
+        Pageable pageable = PageRequest.of(1, 2, Sort.by(Sort.Order.asc("orderDate"), Sort.Order.asc("id")));
+        when(repository.findBySupplierIdAndOrderDateBetween(10L, ORDER_DATE, end, pageable))
+                .thenReturn(new PageImpl<>(List.of(order(3L, OrderStatus.PENDING), order(4L, OrderStatus.DELIVERED)), pageable, 5));
+
+        PageResponse<PurchaseOrderDto> response = service.getOrdersBySupplierBetweenDates(10L, ORDER_DATE, end, 1, 2);
+
+        assertThat(response.getContent()).extracting(PurchaseOrderDto::getId).containsExactly(3L, 4L);
+        assertThat(response.getPage()).isEqualTo(1);
+        assertThat(response.getTotalElements()).isEqualTo(5);
+        assertThat(response.getTotalPages()).isEqualTo(3);
+    }
+
+    @Test
+    void dateRangePageAndSizeAreClamped() {
+        when(repository.findBySupplierIdAndOrderDateBetween(any(), any(), any(), any()))
+                .thenAnswer(invocation -> new PageImpl<>(List.of(), invocation.getArgument(3), 0));
+
+        service.getOrdersBySupplierBetweenDates(10L, ORDER_DATE, ORDER_DATE, -3, 100_000);
+        service.getOrdersBySupplierBetweenDates(10L, ORDER_DATE, ORDER_DATE, 0, 0);
+
+        ArgumentCaptor<Pageable> pageables = ArgumentCaptor.forClass(Pageable.class);
+        verify(repository, times(2)).findBySupplierIdAndOrderDateBetween(eq(10L), eq(ORDER_DATE), eq(ORDER_DATE), pageables.capture());
+        assertThat(pageables.getAllValues()).extracting(Pageable::getPageNumber, Pageable::getPageSize)
+                .containsExactly(tuple(0, 500), tuple(0, 1));
+    }
+
+    @Test
+    void startAfterEndIsABadRequest() {
+        assertThatThrownBy(() -> service.getOrdersBySupplierBetweenDates(10L, ORDER_DATE.plusDays(1), ORDER_DATE, 0, 50))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void bulkCreateSavesAllOrdersTogetherAndRecordsOneRollupChange() {
+        when(repository.saveAll(any())).thenAnswer(invocation -> {
+            List<PurchaseOrder> orders = invocation.getArgument(0);
+            for (int i = 0; i < orders.size(); i++) {
+                orders.get(i).setId(100L + i);
+            }
+            return orders;
+        });
+
+        List<PurchaseOrderDto> created = service.createOrders(List.of(request(20L, 5), request(20L, 3), request(21L, 4)));
+
+        assertThat(created).extracting(PurchaseOrderDto::getId).containsExactly(100L, 101L, 102L);
+        assertThat(created).allSatisfy(order -> assertThat(order.getStatus()).isEqualTo(OrderStatus.PENDING));
+        verify(repository).saveAll(any());
+        verify(repository, never()).save(any());
+        ArgumentCaptor<PurchaseRollupChanges> changes = ArgumentCaptor.forClass(PurchaseRollupChanges.class);
+        verify(rollupService).record(changes.capture());
+        // Orders for the same day, supplier and product merge into one delta
+        assertThat(changes.getValue().deltas()).containsExactly(
+                new PurchaseDailyRollup(ORDER_DATE, 10L, 20L, 8, 2, 0, 0, 0),
+                new PurchaseDailyRollup(ORDER_DATE, 10L, 21L, 4, 1, 0, 0, 0));
+    }
+
+    private static PurchaseOrderRequest request(Long productId, int quantity) {
+        PurchaseOrderRequest request = new PurchaseOrderRequest();
+        request.setSupplierId(10L);
+        request.setProductId(productId);
+        request.setQuantity(quantity);
+        request.setOrderDate(ORDER_DATE);
+        return request;
+    }
+
+    private static PurchaseOrder order(Long id, OrderStatus status) {
+        PurchaseOrder order = new PurchaseOrder();
+        order.setId(id);
+        order.setSupplierId(10L);
+        order.setProductId(20L);
+        order.setQuantity(5);
+        order.setOrderDate(ORDER_DATE);
+        order.setStatus(status);
+        if (status == OrderStatus.DELIVERED) {
+            order.setDeliveryDate(ORDER_DATE.plusDays(3));
+        }
+        return order;
+    }
+}
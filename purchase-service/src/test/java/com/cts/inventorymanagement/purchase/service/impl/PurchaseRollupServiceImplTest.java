@@ -0,0 +1,114 @@
+package com.cts.inventorymanagement.purchase.service.impl;
+
+import com.cts.inventorymanagement.purchase.model.OrderStatus;
+import com.cts.inventorymanagement.purchase.model.PurchaseOrder;
+import com.cts.inventorymanagement.purchase.repository.PurchaseDailyRollupRepository;
+import com.cts.inventorymanagement.purchase.service.PurchaseRollupChanges;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PurchaseRollupServiceImplTest {
+
+    private static final LocalDate ORDERED = LocalDate.of(2026, 1, 5);
+    private static final LocalDate DELIVERED = LocalDate.of(2026, 1, 8);
+
+    @Mock
+    private PurchaseDailyRollupRepository rollupRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @InjectMocks
+    private PurchaseRollupServiceImpl service;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendsOneBatchedUpsertRowPerDelta() {
+        PurchaseOrder order = order(10L, 20L, 5);
+        PurchaseRollupChanges changes = new PurchaseRollupChanges().add(order(11L, 20L, 2)).remove(order)
+                .addAs(order, OrderStatus.DELIVERED, DELIVERED);
+
+        service.record(changes);
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(startsWith("INSERT INTO purchase_daily_rollup"), rows.capture());
+        assertThat(rows.getValue()).containsExactly(
+                new Object[] {Date.valueOf(ORDERED), 11L, 20L, 2L, 1L, 0L, 0L, 0L},
+                new Object[] {Date.valueOf(DELIVERED), 10L, 20L, 0L, 0L, 5L, 1L, 3L});
+    }
+
+    @Test
+    void upsertAddsDeltasToExistingRows() {
+        service.record(new PurchaseRollupChanges().add(order(10L, 20L, 5)));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbcTemplate).batchUpdate(sql.capture(), anyList());
+        assertThat(sql.getValue())
+                .contains("ON DUPLICATE KEY UPDATE")
+                .contains("ordered_quantity = ordered_quantity + VALUES(ordered_quantity)")
+                .contains("lead_time_days_total = lead_time_days_total + VALUES(lead_time_days_total)");
+    }
+
+    @Test
+    void noStatementWhenNothingChanged() {
+        PurchaseOrder order = order(10L, 20L, 5);
+
+        service.record(new PurchaseRollupChanges().remove(order).add(order));
+
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void backfillLocksOrdersBeforeRebuilding() {
+        when(jdbcTemplate.update(startsWith("INSERT IGNORE INTO purchase_rollup_backfill"))).thenReturn(1);
+
+        assertThat(service.backfill()).isTrue();
+
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).queryForObject("SELECT COUNT(*) FROM purchase_order FOR SHARE", Long.class);
+        inOrder.verify(jdbcTemplate).update("DELETE FROM purchase_daily_rollup");
+        inOrder.verify(jdbcTemplate, times(2)).update(startsWith("INSERT INTO purchase_daily_rollup"));
+    }
+
+    @Test
+    void backfillRunsOnlyOnce() {
+        when(jdbcTemplate.update(startsWith("INSERT IGNORE INTO purchase_rollup_backfill"))).thenReturn(0);
+
+        assertThat(service.backfill()).isFalse();
+
+        verify(jdbcTemplate, never()).update("DELETE FROM purchase_daily_rollup");
+        verifyNoMoreInteractions(jdbcTemplate);
+    }
+
+    private static PurchaseOrder order(Long supplierId, Long productId, int quantity) {
+        PurchaseOrder order = new PurchaseOrder();
+        order.setSupplierId(supplierId);
+        order.setProductId(productId);
+        order.setQuantity(quantity);
+        order.setOrderDate(ORDERED);
+        order.setStatus(OrderStatus.PENDING);
+        return order;
+    }
+}
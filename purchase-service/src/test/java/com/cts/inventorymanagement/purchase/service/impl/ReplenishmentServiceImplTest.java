@@ -0,0 +1,195 @@
+package com.cts.inventorymanagement.purchase.service.impl;
+
+import com.cts.inventorymanagement.purchase.client.OrderClient;
+import com.cts.inventorymanagement.purchase.client.StockClient;
+import com.cts.inventorymanagement.purchase.client.SupplierClient;
+import com.cts.inventorymanagement.purchase.dto.PurchaseOrderRequest;
+import com.cts.inventorymanagement.purchase.dto.ReplenishmentReport;
+import com.cts.inventorymanagement.purchase.dto.StockDto;
+import com.cts.inventorymanagement.purchase.dto.SupplierSummary;
+import com.cts.inventorymanagement.purchase.model.OrderStatus;
+import com.cts.inventorymanagement.purchase.repository.PurchaseOrderRepository;
+import com.cts.inventorymanagement.purchase.service.PurchaseOrderService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.tracing.Tracer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplenishmentServiceImplTest {
+
+    private static final int PAGE_SIZE = 3;
+
+    @Mock
+    private StockClient stockClient;
+
+    @Mock
+    private SupplierClient supplierClient;
+
+    @Mock
+    private OrderClient orderClient;
+
+    @Mock
+    private PurchaseOrderRepository repository;
+
+    @Mock
+    private PurchaseOrderService purchaseOrderService;
+
+    @Mock
+    private ObjectProvider<Tracer> tracerProvider;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReplenishmentServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // One partition, 30 days of history, 14 days of cover
+        service = new ReplenishmentServiceImpl(stockClient, supplierClient, orderClient, repository, purchaseOrderService,
+                meterRegistry, tracerProvider, false, 1, PAGE_SIZE, 30, 14);
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.destroy();
+    }
+
+    @Test
+    void ordersUpToReorderLevelPlusCoverDays() {
+        lowStock(stock(1L, 2, 10), stock(2L, 0, 5), stock(3L, 50, 10));
+        when(repository.findProductIdsWithStatus(List.of(1L, 2L, 3L), OrderStatus.PENDING)).thenReturn(Set.of());
+        when(supplierClient.getSuppliersByProducts(List.of(1L, 2L, 3L)))
+                .thenReturn(Map.of(1L, suppliers(7L), 2L, suppliers(7L), 3L, suppliers(7L)));
+        // 60 units over 30 days is 2 a day, 28 for 14 days; 1 unit rounds up to 1
+        when(orderClient.getUnitsOrdered(List.of(1L, 2L, 3L), 30)).thenReturn(Map.of(1L, 60L, 2L, 1L));
+
+        ReplenishmentReport report = service.runReplenishment();
+
+        assertThat(created()).extracting(PurchaseOrderRequest::getProductId, PurchaseOrderRequest::getQuantity)
+                .containsExactly(tuple(1L, 36), tuple(2L, 6), tuple(3L, 1));
+        assertThat(report.getScanned()).isEqualTo(3);
+        assertThat(report.getOrdered()).isEqualTo(3);
+    }
+
+    @Test
+    void productsWithAPendingOrderAreSkipped() {
+        lowStock(stock(1L, 0, 10), stock(2L, 0, 10));
+        when(repository.findProductIdsWithStatus(List.of(1L, 2L), OrderStatus.PENDING)).thenReturn(Set.of(2L));
+        when(supplierClient.getSuppliersByProducts(List.of(1L))).thenReturn(Map.of(1L, suppliers(7L)));
+        when(orderClient.getUnitsOrdered(List.of(1L), 30)).thenReturn(Map.of());
+
+        ReplenishmentReport report = service.runReplenishment();
+
+        assertThat(created()).extracting(PurchaseOrderRequest::getProductId).containsExactly(1L);
+        assertThat(report.getSkippedOpenOrder()).isEqualTo(1);
+        assertThat(report.getOrdered()).isEqualTo(1);
+        assertThat(meterRegistry.counter("purchase.replenishment.items", "outcome", "open-order").count()).isEqualTo(1);
+    }
+
+    @Test
+    void pageWhereEveryProductHasAPendingOrderMakesNoCalls() {
+        lowStock(stock(1L, 0, 10));
+        when(repository.findProductIdsWithStatus(List.of(1L), OrderStatus.PENDING)).thenReturn(Set.of(1L));
+
+        ReplenishmentReport report = service.runReplenishment();
+
+        assertThat(report.getSkippedOpenOrder()).isEqualTo(1);
+        verifyNoInteractions(supplierClient, orderClient, purchaseOrderService);
+    }
+
+    @Test
+    void lowestIdSupplierIsUsedAndProductsWithoutOneAreCounted() {
+        lowStock(stock(1L, 0, 10), stock(2L, 0, 10));
+        when(repository.findProductIdsWithStatus(List.of(1L, 2L), OrderStatus.PENDING)).thenReturn(Set.of());
+        when(supplierClient.getSuppliersByProducts(List.of(1L, 2L))).thenReturn(Map.of(1L, suppliers(9L, 4L, 6L)));
+        when(orderClient.getUnitsOrdered(List.of(1L, 2L), 30)).thenReturn(Map.of());
+
+        ReplenishmentReport report = service.runReplenishment();
+
+        List<PurchaseOrderRequest> orders = created();
+        assertThat(orders).hasSize(1);
+        assertThat(orders.get(0).getSupplierId()).isEqualTo(4L);
+        assertThat(orders.get(0).getOrderDate()).isEqualTo(LocalDate.now());
+        assertThat(report.getSkippedNoSupplier()).isEqualTo(1);
+    }
+
+    @Test
+    void fullPageIsFollowedByTheNextOne() {
+        when(stockClient.getLowStockPage(0L, 0, 1, PAGE_SIZE))
+                .thenReturn(List.of(stock(1L, 0, 10), stock(2L, 0, 10), stock(3L, 0, 10)));
+        when(stockClient.getLowStockPage(3L, 0, 1, PAGE_SIZE)).thenReturn(List.of());
+        when(repository.findProductIdsWithStatus(any(), eq(OrderStatus.PENDING))).thenReturn(Set.of(1L, 2L, 3L));
+
+        ReplenishmentReport report = service.runReplenishment();
+
+        assertThat(report.getScanned()).isEqualTo(3);
+        verify(stockClient).getLowStockPage(3L, 0, 1, PAGE_SIZE);
+    }
+
+    @Test
+    void failedPageIsCountedAndTheRunCarriesOn() {
+        lowStock(stock(1L, 0, 10));
+        when(repository.findProductIdsWithStatus(List.of(1L), OrderStatus.PENDING)).thenReturn(Set.of());
+        when(supplierClient.getSuppliersByProducts(anyList())).thenThrow(new IllegalStateException("supplier-service down"));
+
+        ReplenishmentReport report = service.runReplenishment();
+
+        assertThat(report.getFailed()).isEqualTo(1);
+        assertThat(report.getFailedPartitions()).isZero();
+        verify(purchaseOrderService, never()).createOrders(any());
+        verify(orderClient, never()).getUnitsOrdered(anyList(), anyInt());
+    }
+
+    // A short page is the last one
+    private void lowStock(StockDto... page) {
+        when(stockClient.getLowStockPage(0L, 0, 1, PAGE_SIZE)).thenReturn(List.of(page));
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<PurchaseOrderRequest> created() {
+        ArgumentCaptor<List<PurchaseOrderRequest>> orders = ArgumentCaptor.forClass(List.class);
+        verify(purchaseOrderService).createOrders(orders.capture());
+        return orders.getValue();
+    }
+
+    private static StockDto stock(Long productId, int quantity, int reorderLevel) {
+        StockDto stock = new StockDto();
+        stock.setProductId(productId);
+        stock.setQuantity(quantity);
+        stock.setReorderLevel(reorderLevel);
+        stock.setLowStock(true);
+        return stock;
+    }
+
+    private static List<SupplierSummary> suppliers(Long... ids) {
+        return List.of(ids).stream().map(id -> {
+            SupplierSummary supplier = new SupplierSummary();
+            supplier.setId(id);
+            return supplier;
+        }).collect(Collectors.toList());
+    }
+}
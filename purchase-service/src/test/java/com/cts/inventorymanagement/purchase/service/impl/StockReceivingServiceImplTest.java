@@ -0,0 +1,162 @@
+package com.cts.inventorymanagement.purchase.service.impl;
+
+import com.cts.inventorymanagement.purchase.client.StockClient;
+import com.cts.inventorymanagement.purchase.dto.StockReceiptRequest;
+import com.cts.inventorymanagement.purchase.dto.StockReceiptResponse;
+import com.cts.inventorymanagement.purchase.model.OrderStatus;
+import com.cts.inventorymanagement.purchase.model.PurchaseOrder;
+import com.cts.inventorymanagement.purchase.repository.PurchaseOrderRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class StockReceivingServiceImplTest {
+
+    @Mock
+    private PurchaseOrderRepository repository;
+
+    @Mock
+    private StockClient stockClient;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private StockReceivingServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new StockReceivingServiceImpl(repository, stockClient, meterRegistry);
+    }
+
+    @Test
+    void sendsOnlyDeliveredOrdersNotYetReceived() {
+        PurchaseOrder failed = order(4L);
+        failed.setStockReceiveFailed(true);
+        PurchaseOrder received = order(2L);
+        received.setStockReceived(true);
+        PurchaseOrder pending = order(3L);
+        pending.setStatus(OrderStatus.PENDING);
+        when(repository.findAllById(anyCollection())).thenReturn(List.of(order(1L), received, pending, failed));
+        when(stockClient.receiveStock(any())).thenReturn(response(List.of(1L), List.of(), List.of()));
+
+        service.receive(List.of(1L, 2L, 3L, 4L));
+
+        ArgumentCaptor<StockReceiptRequest> request = ArgumentCaptor.forClass(StockReceiptRequest.class);
+        verify(stockClient).receiveStock(request.capture());
+        assertThat(request.getValue().getLines())
+                .containsExactly(new StockReceiptRequest.Line(1L, 20L, 5));
+    }
+
+    @Test
+    void marksReceivedAndAlreadyReceivedOrders() {
+        when(repository.findAllById(anyCollection())).thenReturn(List.of(order(1L), order(2L)));
+        when(stockClient.receiveStock(any())).thenReturn(response(List.of(1L), List.of(2L), List.of()));
+
+        service.receive(List.of(1L, 2L));
+
+        verify(repository).markStockReceived(List.of(1L, 2L));
+        verify(repository, never()).markStockReceiveFailed(any());
+        assertThat(count("received")).isEqualTo(1);
+        assertThat(count("already-received")).isEqualTo(1);
+    }
+
+    @Test
+    void unknownProductOrdersAreMarkedFailed() {
+        when(repository.findAllById(anyCollection())).thenReturn(List.of(order(1L), order(2L)));
+        when(stockClient.receiveStock(any())).thenReturn(response(List.of(1L), List.of(), List.of(2L)));
+
+        service.receive(List.of(1L, 2L));
+
+        verify(repository).markStockReceived(List.of(1L));
+        verify(repository).markStockReceiveFailed(List.of(2L));
+        assertThat(count("unknown-product")).isEqualTo(1);
+    }
+
+    @Test
+    void failedCallLeavesOrdersPending() {
+        when(repository.findAllById(anyCollection())).thenReturn(List.of(order(1L)));
+        when(stockClient.receiveStock(any())).thenThrow(new IllegalStateException("stock-service unavailable"));
+
+        service.receive(List.of(1L));
+
+        verify(repository, never()).markStockReceived(any());
+        verify(repository, never()).markStockReceiveFailed(any());
+        assertThat(count("failed")).isEqualTo(1);
+    }
+
+    @Test
+    void receivesInBatchesOfOneThousand() {
+        List<PurchaseOrder> orders = LongStream.rangeClosed(1, 1500).mapToObj(StockReceivingServiceImplTest::order)
+                .collect(Collectors.toList());
+        when(repository.findAllById(anyCollection())).thenReturn(orders);
+        when(stockClient.receiveStock(any())).thenReturn(response(List.of(), List.of(), List.of()));
+
+        service.receive(orders.stream().map(PurchaseOrder::getId).collect(Collectors.toList()));
+
+        ArgumentCaptor<StockReceiptRequest> request = ArgumentCaptor.forClass(StockReceiptRequest.class);
+        verify(stockClient, times(2)).receiveStock(request.capture());
+        assertThat(request.getAllValues()).extracting(r -> r.getLines().size()).containsExactly(1000, 500);
+    }
+
+    @Test
+    void retryPagesThroughPendingOrdersByIdAndStopsOnFailure() {
+        List<PurchaseOrder> firstPage = LongStream.rangeClosed(1, 1000).mapToObj(StockReceivingServiceImplTest::order)
+                .collect(Collectors.toList());
+        when(repository.findPendingReceipt(eq(OrderStatus.DELIVERED), eq(0L), any(Limit.class))).thenReturn(firstPage);
+        when(repository.findPendingReceipt(eq(OrderStatus.DELIVERED), eq(1000L), any(Limit.class)))
+                .thenReturn(List.of(order(1001L)));
+        when(stockClient.receiveStock(any()))
+                .thenReturn(response(List.of(), List.of(), List.of()))
+                .thenThrow(new IllegalStateException("stock-service unavailable"));
+
+        service.retryPending();
+
+        verify(stockClient, times(2)).receiveStock(any());
+        verify(repository, times(2)).findPendingReceipt(eq(OrderStatus.DELIVERED), anyLong(), any(Limit.class));
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.counter("purchase.receiving.orders", "outcome", outcome).count();
+    }
+
+    private static StockReceiptResponse response(List<Long> received, List<Long> alreadyReceived, List<Long> unknownProduct) {
+        StockReceiptResponse response = new StockReceiptResponse();
+        response.setReceived(received);
+        response.setAlreadyReceived(alreadyReceived);
+        response.setUnknownProduct(unknownProduct);
+        return response;
+    }
+
+    private static PurchaseOrder order(long id) {
+        PurchaseOrder order = new PurchaseOrder();
+        order.setId(id);
+        order.setSupplierId(10L);
+        order.setProductId(20L);
+        order.setQuantity(5);
+        order.setOrderDate(LocalDate.of(2026, 1, 5));
+        order.setDeliveryDate(LocalDate.of(2026, 1, 8));
+        order.setStatus(OrderStatus.DELIVERED);
+        return order;
+    }
+}
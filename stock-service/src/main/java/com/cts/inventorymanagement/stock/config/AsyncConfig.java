@@ -0,0 +1,32 @@
+package com.cts.inventorymanagement.stock.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Executor for the product status updates fired after a stock change. Each task runs
+ * inside the trace context of the request that submitted it, so the Feign call to
+ * product-service shows up as part of the same trace. Tasks are submitted after the
+ * stock change commits; once the queue is full the submitting thread runs the update
+ * itself instead of failing the request.
+ */
+@Configuration
+public class AsyncConfig {
+
+    @Bean
+    public ThreadPoolTaskExecutor productStatusExecutor(Tracer tracer) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(500);
+        executor.setThreadNamePrefix("product-status-");
+        executor.setTaskDecorator(runnable -> tracer.currentTraceContext().wrap(runnable));
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+}
@@ -1,6 +1,8 @@
 package com.cts.inventorymanagement.stock.controller;
 
 import com.cts.inventorymanagement.stock.dto.StockDto;
+import com.cts.inventorymanagement.stock.dto.StockReceiptRequest;
+import com.cts.inventorymanagement.stock.dto.StockReceiptResponse;
 import com.cts.inventorymanagement.stock.dto.StockUpdateRequest;
 import com.cts.inventorymanagement.stock.dto.ReorderLevelUpdateRequest;
 import com.cts.inventorymanagement.stock.service.StockService;
@@ -100,4 +102,37 @@ public class StockController {
             throw e;
         }
     }
-}
\ No newline at end of file
+
+    // Low-stock items one page at a time for batch jobs: continue from the last productId seen,
+    // optionally split into partitions (productId mod partitions) that can be read in parallel
+    @GetMapping("/low/batch")
+    public List<StockDto> getLowStockPage(
+            @RequestParam(defaultValue = "0") Long afterProductId,
+            @RequestParam(defaultValue = "0") int partition,
+            @RequestParam(defaultValue = "1") int partitions,
+            @RequestParam(defaultValue = "500") int limit) {
+        log.info("Received request for low stock items after product ID {} (partition {}/{}).", afterProductId, partition, partitions);
+        try {
+            List<StockDto> lowStockItems = stockService.getLowStockPage(afterProductId, partition, partitions, limit);
+            log.debug("Returning {} low stock items.", lowStockItems.size());
+            return lowStockItems;
+        } catch (Exception e) {
+            log.error("Error fetching low stock page: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+
+    // Adds delivered purchase orders to stock in one call; each purchase order is applied at most once
+    @PostMapping("/receipts")
+    public StockReceiptResponse receiveStock(@Valid @RequestBody StockReceiptRequest request) {
+        log.info("Received stock receipt with {} lines.", request.getLines().size());
+        try {
+            StockReceiptResponse response = stockService.receiveStock(request);
+            log.debug("Stock receipt applied {} purchase orders.", response.getReceived().size());
+            return response;
+        } catch (Exception e) {
+            log.error("Error applying stock receipt: {}", e.getMessage(), e);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.cts.inventorymanagement.stock.dto;
+
+import java.util.List;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/** Goods received against purchase orders, one line per purchase order. */
+@Data
+public class StockReceiptRequest {
+    @NotEmpty
+    @Size(max = 1000, message = "At most 1000 lines per receipt")
+    private List<@Valid Line> lines;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Line {
+        @NotNull
+        @Positive
+        private Long purchaseOrderId;
+
+        @NotNull
+        @Positive
+        private Long productId;
+
+        @NotNull
+        @Positive
+        private Integer quantity;
+    }
+}
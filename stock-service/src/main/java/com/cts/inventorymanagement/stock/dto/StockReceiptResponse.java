@@ -0,0 +1,20 @@
+package com.cts.inventorymanagement.stock.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Purchase order ids of a receipt by outcome: added to stock now, already added
+ * earlier (nothing done), or not applied because the product has no stock record.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockReceiptResponse {
+    private List<Long> received;
+    private List<Long> alreadyReceived;
+    private List<Long> unknownProduct;
+}
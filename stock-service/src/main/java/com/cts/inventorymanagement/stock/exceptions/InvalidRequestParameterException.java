@@ -0,0 +1,7 @@
+package com.cts.inventorymanagement.stock.exceptions;
+
+public class InvalidRequestParameterException extends RuntimeException {
+    public InvalidRequestParameterException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,58 @@
+package com.cts.inventorymanagement.stock.model;
+
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Marks a purchase order as received into stock. Keyed by the purchase order id, so
+ * a purchase order can only ever add to stock once.
+ */
+@Entity
+@Table(name = "stock_receipts")
+@Data
+@NoArgsConstructor
+public class StockReceipt implements Persistable<Long> {
+    @Id
+    private Long purchaseOrderId;
+
+    private Long productId;
+
+    private Integer quantity;
+
+    private LocalDateTime receivedAt;
+
+    // Always inserted, never merged: saves the SELECT Spring Data would issue for an assigned id
+    @Transient
+    private boolean newReceipt = true;
+
+    public StockReceipt(Long purchaseOrderId, Long productId, Integer quantity, LocalDateTime receivedAt) {
+        this.purchaseOrderId = purchaseOrderId;
+        this.productId = productId;
+        this.quantity = quantity;
+        this.receivedAt = receivedAt;
+    }
+
+    @Override
+    public Long getId() {
+        return purchaseOrderId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newReceipt;
+    }
+
+    @PostLoad
+    void markLoaded() {
+        newReceipt = false;
+    }
+}
@@ -0,0 +1,18 @@
+package com.cts.inventorymanagement.stock.repository;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.cts.inventorymanagement.stock.model.StockReceipt;
+
+@Repository
+public interface StockReceiptRepository extends JpaRepository<StockReceipt, Long> {
+
+    @Query("SELECT r.purchaseOrderId FROM StockReceipt r WHERE r.purchaseOrderId IN :purchaseOrderIds")
+    Set<Long> findReceivedIds(@Param("purchaseOrderIds") Collection<Long> purchaseOrderIds);
+}
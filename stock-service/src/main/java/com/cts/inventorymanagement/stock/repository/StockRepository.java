@@ -1,9 +1,32 @@
 package com.cts.inventorymanagement.stock.repository;
 
 import com.cts.inventorymanagement.stock.model.Stock;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
+
+import java.util.Collection;
+import java.util.List;
+
 @Repository
 public interface StockRepository extends JpaRepository<Stock, Long> {
-}
\ No newline at end of file
+
+    @Query("SELECT s FROM Stock s WHERE s.quantity < s.reorderLevel")
+    List<Stock> findLowStock();
+
+    // Keyset page of low-stock rows in one partition (productId mod partitions), in productId order
+    @Query("SELECT s FROM Stock s WHERE s.quantity < s.reorderLevel AND s.productId > :afterProductId "
+            + "AND MOD(s.productId, :partitions) = :partition ORDER BY s.productId")
+    List<Stock> findLowStockPage(@Param("afterProductId") Long afterProductId, @Param("partition") int partition,
+                                 @Param("partitions") int partitions, Limit limit);
+
+    // Row locks taken in productId order, so concurrent bulk updates cannot deadlock each other
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Stock s WHERE s.productId IN :productIds ORDER BY s.productId")
+    List<Stock> findAllForUpdate(@Param("productIds") Collection<Long> productIds);
+}
@@ -3,6 +3,8 @@ package com.cts.inventorymanagement.stock.service;
 import java.util.List;
 
 import com.cts.inventorymanagement.stock.dto.StockDto;
+import com.cts.inventorymanagement.stock.dto.StockReceiptRequest;
+import com.cts.inventorymanagement.stock.dto.StockReceiptResponse;
 import com.cts.inventorymanagement.stock.dto.StockUpdateRequest;
 
 public interface StockService {
@@ -10,5 +12,7 @@ public interface StockService {
     StockDto updateStock(Long productId, StockUpdateRequest request);
     StockDto addStock(StockDto stockDto);
     List<StockDto> getLowStockItems();
+    List<StockDto> getLowStockPage(Long afterProductId, int partition, int partitions, int limit);
     StockDto updateReorderLevel(Long productId, Integer reorderLevel);
+    StockReceiptResponse receiveStock(StockReceiptRequest request);
 }
\ No newline at end of file
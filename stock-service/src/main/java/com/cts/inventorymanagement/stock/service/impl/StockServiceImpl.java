@@ -3,19 +3,35 @@ package com.cts.inventorymanagement.stock.service.impl;
 import com.cts.inventorymanagement.stock.client.ProductClient;
 import com.cts.inventorymanagement.stock.dto.ProductDto.ProductStatus;
 import com.cts.inventorymanagement.stock.dto.StockDto;
+import com.cts.inventorymanagement.stock.dto.StockReceiptRequest;
+import com.cts.inventorymanagement.stock.dto.StockReceiptResponse;
 import com.cts.inventorymanagement.stock.dto.StockUpdateRequest;
 import com.cts.inventorymanagement.stock.exceptions.InsufficientStockException;
+import com.cts.inventorymanagement.stock.exceptions.InvalidRequestParameterException;
 import com.cts.inventorymanagement.stock.exceptions.StockNotFoundException;
 import com.cts.inventorymanagement.stock.model.Stock;
+import com.cts.inventorymanagement.stock.model.StockReceipt;
+import com.cts.inventorymanagement.stock.repository.StockReceiptRepository;
 import com.cts.inventorymanagement.stock.repository.StockRepository;
 import com.cts.inventorymanagement.stock.service.StockService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -23,8 +39,11 @@ import java.util.stream.Collectors;
 public class StockServiceImpl implements StockService {
 
     private static final Logger log = LoggerFactory.getLogger(StockServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 1000;
     private final StockRepository stockRepository;
+    private final StockReceiptRepository stockReceiptRepository;
     private final ProductClient productClient;
+    private final Executor productStatusExecutor;
 
     @Override
     @Transactional
@@ -41,20 +60,55 @@ public class StockServiceImpl implements StockService {
         }
 
         Stock updatedStock = stockRepository.save(stock);
+        updateProductStatusAsync(productId, previousQuantity, updatedStock.getQuantity());
+        return convertToDto(updatedStock);
+    }
 
-        CompletableFuture.runAsync(() -> {
-            try {
-                if (updatedStock.getQuantity() == 0 && previousQuantity > 0) {
-                    productClient.updateProductStatus(productId, ProductStatus.OUT_OF_STOCK);
-                } else if (previousQuantity == 0 && updatedStock.getQuantity() > 0) {
-                    productClient.updateProductStatus(productId, ProductStatus.ACTIVE);
-                }
-            } catch (Exception e) {
-                log.error("Failed product status update: {}", e.getMessage());
+    @Override
+    @Transactional
+    public StockReceiptResponse receiveStock(StockReceiptRequest request) {
+        // One line per purchase order; a repeat within the request counts as already received
+        Map<Long, StockReceiptRequest.Line> lines = new LinkedHashMap<>();
+        List<Long> alreadyReceived = new ArrayList<>();
+        for (StockReceiptRequest.Line line : request.getLines()) {
+            if (lines.putIfAbsent(line.getPurchaseOrderId(), line) != null) {
+                alreadyReceived.add(line.getPurchaseOrderId());
             }
-        });
+        }
 
-        return convertToDto(updatedStock);
+        // Lock the stock rows before checking receipts, so a concurrent receipt of the same order is seen
+        Set<Long> productIds = lines.values().stream().map(StockReceiptRequest.Line::getProductId).collect(Collectors.toSet());
+        Map<Long, Stock> stocks = stockRepository.findAllForUpdate(productIds).stream()
+            .collect(Collectors.toMap(Stock::getProductId, Function.identity()));
+        Set<Long> receivedBefore = stockReceiptRepository.findReceivedIds(lines.keySet());
+
+        Map<Long, Integer> previousQuantities = new HashMap<>();
+        List<StockReceipt> receipts = new ArrayList<>();
+        List<Long> received = new ArrayList<>();
+        List<Long> unknownProduct = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (StockReceiptRequest.Line line : lines.values()) {
+            if (receivedBefore.contains(line.getPurchaseOrderId())) {
+                alreadyReceived.add(line.getPurchaseOrderId());
+                continue;
+            }
+            Stock stock = stocks.get(line.getProductId());
+            if (stock == null) {
+                unknownProduct.add(line.getPurchaseOrderId());
+                continue;
+            }
+            previousQuantities.putIfAbsent(stock.getProductId(), stock.getQuantity());
+            stock.setQuantity(stock.getQuantity() + line.getQuantity());
+            receipts.add(new StockReceipt(line.getPurchaseOrderId(), line.getProductId(), line.getQuantity(), now));
+            received.add(line.getPurchaseOrderId());
+        }
+        stockReceiptRepository.saveAll(receipts);
+
+        previousQuantities.forEach((productId, previousQuantity) ->
+            updateProductStatusAsync(productId, previousQuantity, stocks.get(productId).getQuantity()));
+        log.info("Received {} purchase orders into stock ({} already received, {} with unknown product)",
+            received.size(), alreadyReceived.size(), unknownProduct.size());
+        return new StockReceiptResponse(received, alreadyReceived, unknownProduct);
     }
 
     @Override
@@ -74,8 +128,18 @@ public class StockServiceImpl implements StockService {
 
     @Override
     public List<StockDto> getLowStockItems() {
-        return stockRepository.findAll().stream()
-            .filter(s -> s.getQuantity() < s.getReorderLevel())
+        return stockRepository.findLowStock().stream()
+            .map(this::convertToDto)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<StockDto> getLowStockPage(Long afterProductId, int partition, int partitions, int limit) {
+        if (partitions < 1 || partition < 0 || partition >= partitions) {
+            throw new InvalidRequestParameterException("partition must be in [0, partitions)");
+        }
+        return stockRepository.findLowStockPage(afterProductId, partition, partitions,
+                Limit.of(Math.min(Math.max(limit, 1), MAX_PAGE_SIZE))).stream()
             .map(this::convertToDto)
             .collect(Collectors.toList());
     }
@@ -89,6 +153,36 @@ public class StockServiceImpl implements StockService {
         return convertToDto(updatedStock);
     }
 
+    // Only a move to or from zero changes the product status. The update is submitted once the
+    // stock change commits, so a rolled-back change never flips the product status
+    private void updateProductStatusAsync(Long productId, int previousQuantity, int newQuantity) {
+        ProductStatus status;
+        if (newQuantity == 0 && previousQuantity > 0) {
+            status = ProductStatus.OUT_OF_STOCK;
+        } else if (previousQuantity == 0 && newQuantity > 0) {
+            status = ProductStatus.ACTIVE;
+        } else {
+            return;
+        }
+        Runnable submit = () -> CompletableFuture.runAsync(() -> {
+            try {
+                productClient.updateProductStatus(productId, status);
+            } catch (Exception e) {
+                log.error("Failed product status update: {}", e.getMessage());
+            }
+        }, productStatusExecutor);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    submit.run();
+                }
+            });
+        } else {
+            submit.run();
+        }
+    }
+
     private StockDto convertToDto(Stock stock) {
         return StockDto.builder()
             .productId(stock.getProductId())
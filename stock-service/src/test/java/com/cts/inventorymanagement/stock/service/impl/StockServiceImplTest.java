@@ -0,0 +1,155 @@
+package com.cts.inventorymanagement.stock.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.cts.inventorymanagement.stock.client.ProductClient;
+import com.cts.inventorymanagement.stock.dto.ProductDto.ProductStatus;
+import com.cts.inventorymanagement.stock.dto.StockReceiptRequest;
+import com.cts.inventorymanagement.stock.dto.StockReceiptResponse;
+import com.cts.inventorymanagement.stock.dto.StockUpdateRequest;
+import com.cts.inventorymanagement.stock.model.Stock;
+import com.cts.inventorymanagement.stock.repository.StockReceiptRepository;
+import com.cts.inventorymanagement.stock.repository.StockRepository;
+
+@ExtendWith(MockitoExtension.class)
+class StockServiceImplTest {
+
+    @Mock
+    private StockRepository stockRepository;
+
+    @Mock
+    private StockReceiptRepository stockReceiptRepository;
+
+    @Mock
+    private ProductClient productClient;
+
+    private StockServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        Executor direct = Runnable::run;
+        service = new StockServiceImpl(stockRepository, stockReceiptRepository, productClient, direct);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void statusUpdateWaitsForCommit() {
+        stock(1L, 0);
+
+        service.updateStock(1L, request(5, StockUpdateRequest.Operation.INCREMENT));
+        verify(productClient, never()).updateProductStatus(any(), any());
+
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(productClient).updateProductStatus(1L, ProductStatus.ACTIVE);
+    }
+
+    @Test
+    void rolledBackChangeSendsNoStatusUpdate() {
+        stock(1L, 3);
+
+        service.updateStock(1L, request(3, StockUpdateRequest.Operation.DECREMENT));
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        verify(productClient, never()).updateProductStatus(any(), any());
+    }
+
+    @Test
+    void withoutATransactionTheUpdateIsSubmittedRightAway() {
+        TransactionSynchronizationManager.clearSynchronization();
+        stock(1L, 3);
+
+        service.updateStock(1L, request(3, StockUpdateRequest.Operation.DECREMENT));
+
+        verify(productClient).updateProductStatus(1L, ProductStatus.OUT_OF_STOCK);
+    }
+
+    @Test
+    void quantityChangeAwayFromZeroSubmitsNothing() {
+        stock(1L, 3);
+
+        service.updateStock(1L, request(2, StockUpdateRequest.Operation.INCREMENT));
+
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).isEmpty();
+    }
+
+    @Test
+    void receiptSubmitsOnlyProductsComingBackIntoStock() {
+        List<Stock> stocks = LongStream.rangeClosed(1, 1000).mapToObj(id -> new Stock(id, id == 7 ? 0 : 5, 2))
+                .collect(Collectors.toList());
+        when(stockRepository.findAllForUpdate(anyCollection())).thenReturn(stocks);
+        when(stockReceiptRepository.findReceivedIds(anyCollection())).thenReturn(Set.of());
+        StockReceiptRequest request = new StockReceiptRequest();
+        request.setLines(stocks.stream()
+                .map(stock -> new StockReceiptRequest.Line(100 + stock.getProductId(), stock.getProductId(), 4))
+                .collect(Collectors.toList()));
+
+        StockReceiptResponse response = service.receiveStock(request);
+
+        assertThat(response.getReceived()).hasSize(1000);
+        assertThat(TransactionSynchronizationManager.getSynchronizations()).hasSize(1);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(productClient).updateProductStatus(7L, ProductStatus.ACTIVE);
+        verifyNoMoreInteractions(productClient);
+    }
+
+    @Test
+    void receiptSortsLinesIntoReceivedAlreadyReceivedAndUnknown() {
+        when(stockRepository.findAllForUpdate(anyCollection())).thenReturn(List.of(new Stock(1L, 5, 2)));
+        when(stockReceiptRepository.findReceivedIds(anyCollection())).thenReturn(Set.of(11L));
+        StockReceiptRequest request = new StockReceiptRequest();
+        request.setLines(List.of(
+                new StockReceiptRequest.Line(10L, 1L, 3),
+                new StockReceiptRequest.Line(10L, 1L, 3),
+                new StockReceiptRequest.Line(11L, 1L, 3),
+                new StockReceiptRequest.Line(12L, 2L, 3)));
+
+        StockReceiptResponse response = service.receiveStock(request);
+
+        assertThat(response.getReceived()).containsExactly(10L);
+        assertThat(response.getAlreadyReceived()).containsExactlyInAnyOrder(10L, 11L);
+        assertThat(response.getUnknownProduct()).containsExactly(12L);
+    }
+
+    private void stock(Long productId, int quantity) {
+        Stock stock = new Stock(productId, quantity, 2);
+        when(stockRepository.findById(productId)).thenReturn(Optional.of(stock));
+        when(stockRepository.save(stock)).thenReturn(stock);
+    }
+
+    private static StockUpdateRequest request(int quantity, StockUpdateRequest.Operation operation) {
+        StockUpdateRequest request = new StockUpdateRequest();
+        request.setQuantity(quantity);
+        request.setOperation(operation);
+        return request;
+    }
+}
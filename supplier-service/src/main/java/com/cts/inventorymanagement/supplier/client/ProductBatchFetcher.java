@@ -0,0 +1,157 @@
+package com.cts.inventorymanagement.supplier.client;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import com.cts.inventorymanagement.supplier.dto.ProductDto;
+
+import io.micrometer.tracing.Tracer;
+
+/**
+ * Loads many products through {@link ProductClient#getProductsByIds} in chunks of
+ * {@code supplier.product-fetch.chunk-size}, several chunks at a time, and stops
+ * waiting at {@code supplier.product-fetch.deadline}. Whatever has not arrived by
+ * then (failed or slow chunks) is reported as unresolved instead of failing the
+ * whole lookup. At most {@code supplier.product-fetch.queue-capacity} chunks wait
+ * for a thread; chunks beyond that would not start before the deadline anyway, so
+ * they are reported as unresolved right away.
+ */
+@Component
+public class ProductBatchFetcher implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProductBatchFetcher.class);
+
+    private final ProductClient productClient;
+    private final ObjectProvider<Tracer> tracerProvider;
+    private final int chunkSize;
+    private final Duration deadline;
+    private final ThreadPoolExecutor executor;
+
+    public ProductBatchFetcher(ProductClient productClient, ObjectProvider<Tracer> tracerProvider,
+            @Value("${supplier.product-fetch.chunk-size:200}") int chunkSize,
+            @Value("${supplier.product-fetch.parallelism:8}") int parallelism,
+            @Value("${supplier.product-fetch.queue-capacity:100}") int queueCapacity,
+            @Value("${supplier.product-fetch.deadline:3s}") Duration deadline) {
+        this.productClient = productClient;
+        this.tracerProvider = tracerProvider;
+        this.chunkSize = chunkSize;
+        this.deadline = deadline;
+        this.executor = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("product-fetch-"));
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    public Result fetch(List<Long> productIds) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(productIds));
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += chunkSize) {
+            chunks.add(ids.subList(from, Math.min(from + chunkSize, ids.size())));
+        }
+
+        Tracer tracer = tracerProvider.getIfAvailable();
+        List<CompletableFuture<List<ProductDto>>> futures = chunks.stream()
+                .map(chunk -> {
+                    CompletableFuture<List<ProductDto>> future = new CompletableFuture<>();
+                    Runnable task = () -> {
+                        if (future.isDone()) {
+                            return; // gave up on it before it started
+                        }
+                        try {
+                            future.complete(productClient.getProductsByIds(chunk));
+                        } catch (Throwable e) {
+                            future.completeExceptionally(e);
+                        }
+                    };
+                    try {
+                        executor.execute(tracer != null ? tracer.currentTraceContext().wrap(task) : task);
+                    } catch (RejectedExecutionException e) {
+                        future.completeExceptionally(e);
+                    }
+                    return future;
+                })
+                .toList();
+
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(deadline.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            // Handled per chunk below
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        Map<Long, ProductDto> found = new HashMap<>();
+        List<Long> unresolved = new ArrayList<>();
+        for (int i = 0; i < chunks.size(); i++) {
+            CompletableFuture<List<ProductDto>> future = futures.get(i);
+            if (future.isDone() && !future.isCompletedExceptionally()) {
+                future.join().forEach(product -> found.put(product.getProductId(), product));
+            } else {
+                logger.warn("Product lookup for {} ids failed: {}", chunks.get(i).size(),
+                        failureMessage(future));
+                future.cancel(false);
+                unresolved.addAll(chunks.get(i));
+            }
+        }
+
+        // Keep the requested order; ids in a completed chunk that came back empty do not exist
+        List<ProductDto> products = ids.stream().map(found::get).filter(Objects::nonNull).toList();
+        Set<Long> unresolvedSet = new HashSet<>(unresolved);
+        List<Long> missing = ids.stream()
+                .filter(id -> !found.containsKey(id) && !unresolvedSet.contains(id))
+                .collect(Collectors.toList());
+        return new Result(products, missing, unresolved);
+    }
+
+    private static String failureMessage(CompletableFuture<?> future) {
+        if (!future.isCompletedExceptionally()) {
+            return "deadline exceeded";
+        }
+        try {
+            future.join();
+            return "completed";
+        } catch (CompletionException | CancellationException e) {
+            return e.getCause() != null ? e.getCause().getMessage() : e.getMessage();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Products found, ids product-service does not know, and ids whose chunk failed
+     * or missed the deadline.
+     */
+    public record Result(List<ProductDto> products, List<Long> missingIds, List<Long> unresolvedIds) {
+
+        public boolean isPartial() {
+            return !unresolvedIds.isEmpty();
+        }
+    }
+}
@@ -1,8 +1,12 @@
 package com.cts.inventorymanagement.supplier.client;
 
+import java.util.List;
+
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
 import com.cts.inventorymanagement.supplier.dto.ProductDto;
 
@@ -10,4 +14,11 @@ import com.cts.inventorymanagement.supplier.dto.ProductDto;
 public interface ProductClient {
     @GetMapping("/products/{id}")
     public ProductDto getProductById(@PathVariable Long id);
+
+    @PostMapping("/products/bulk")
+    List<ProductDto> getProductsByIds(@RequestBody List<Long> ids);
+
+    /** Ids from the list that do not exist in product-service. */
+    @PostMapping("/products/missing")
+    List<Long> findMissingProductIds(@RequestBody List<Long> ids);
 }
\ No newline at end of file
@@ -9,14 +9,24 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.cts.inventorymanagement.supplier.dto.PageResponse;
 import com.cts.inventorymanagement.supplier.dto.PurchaseOrderDto;
 
 @FeignClient(name = "purchase-service")
 public interface PurchaseOrderClient {
-    @GetMapping("/suppliers/{supplierId}")
+    @GetMapping("/purchase-orders/supplier/{supplierId}")
     List<PurchaseOrderDto> getOrdersBySupplier(@PathVariable Long supplierId);
+
+    @GetMapping("/purchase-orders/supplier/{supplierId}/date-range")
+    PageResponse<PurchaseOrderDto> getOrdersBySupplierAndDateRange(
+        @PathVariable Long supplierId,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+        @RequestParam int page,
+        @RequestParam int size
+    );
     
-    @GetMapping("/suppliers/date-range")
+    @GetMapping("/purchase-orders/date-range")
     List<PurchaseOrderDto> getOrdersByDateRange(
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate
@@ -1,6 +1,7 @@
 package com.cts.inventorymanagement.supplier.controller;
 
 import com.cts.inventorymanagement.supplier.dto.*;
+import com.cts.inventorymanagement.supplier.model.SupplierStatus;
 import com.cts.inventorymanagement.supplier.service.SupplierService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
@@ -14,6 +15,7 @@ import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import java.net.URI;
 import java.time.LocalDate; 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/suppliers") // Added a base path for consistency
@@ -34,6 +36,19 @@ public class SupplierController {
         return new ResponseEntity<>(suppliers, HttpStatus.OK);
     }
 
+    // Paged listing without product lists (add includeProducts=true to get them for the page)
+    @GetMapping("/summary")
+    public ResponseEntity<PageResponse<SupplierSummary>> getSupplierSummaries(
+            @RequestParam(required = false) SupplierStatus status,
+            @RequestParam(defaultValue = "false") boolean includeProducts,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        logger.info("GET /suppliers/summary - status: {}, page: {}, size: {}", status, page, size);
+        PageResponse<SupplierSummary> summaries = supplierService.getSupplierSummaries(status, includeProducts, page, size);
+        logger.debug("Returning {} supplier summaries.", summaries.getContent().size());
+        return ResponseEntity.ok(summaries);
+    }
+
     @PostMapping
     public ResponseEntity<SupplierResponse> createSupplier(
             @Valid @RequestBody SupplierRequest request) {
@@ -71,13 +86,25 @@ public class SupplierController {
 
     @GetMapping("/by-product/{productId}")
     public ResponseEntity<List<SupplierResponse>> getSuppliersByProduct(
-            @PathVariable Long productId) {
-        logger.info("GET /suppliers/by-product/{}", productId);
-        List<SupplierResponse> suppliers = supplierService.getSuppliersByProduct(productId);
+            @PathVariable Long productId,
+            @RequestParam(required = false) SupplierStatus status) {
+        logger.info("GET /suppliers/by-product/{} - status: {}", productId, status);
+        List<SupplierResponse> suppliers = supplierService.getSuppliersByProduct(productId, status);
         logger.debug("Returning {} suppliers for product ID: {}.", suppliers.size(), productId);
         return ResponseEntity.ok(suppliers);
     }
 
+    // Suppliers (CURRENT by default) of many products at once, keyed by product id
+    @PostMapping("/by-products")
+    public ResponseEntity<Map<Long, List<SupplierSummary>>> getSuppliersByProducts(
+            @RequestBody List<Long> productIds,
+            @RequestParam(defaultValue = "CURRENT") SupplierStatus status) {
+        logger.info("POST /suppliers/by-products - {} products, status: {}", productIds.size(), status);
+        Map<Long, List<SupplierSummary>> suppliers = supplierService.getSuppliersByProducts(productIds, status);
+        logger.debug("Returning suppliers for {} products.", suppliers.size());
+        return ResponseEntity.ok(suppliers);
+    }
+
     // New endpoint to update supplier contact information
     @PatchMapping("/{id}/contact")
     public ResponseEntity<SupplierResponse> updateSupplierContact(
@@ -99,4 +126,15 @@ public class SupplierController {
         logger.info("Status updated for supplier ID: {} to {}", id, request.getStatus());
         return ResponseEntity.ok(updatedSupplier);
     }
+
+    // Replaces the list of products the supplier supplies; every id must exist
+    @PutMapping("/{id}/products")
+    public ResponseEntity<SupplierResponse> updateSupplierProducts(
+            @PathVariable Long id,
+            @Valid @RequestBody SupplierProductsUpdateRequest request) {
+        logger.info("PUT /suppliers/{}/products - {} products", id, request.getProductsSupplied().size());
+        SupplierResponse updatedSupplier = supplierService.updateSupplierProducts(id, request);
+        logger.info("Products updated for supplier ID: {}", id);
+        return ResponseEntity.ok(updatedSupplier);
+    }
 }
\ No newline at end of file
@@ -18,4 +18,8 @@ public class SupplierDetailsResponse {
     private ContactInfo contactInfo; 
     private List<ProductDto> productsSuppliedDetails;
     private SupplierStatus status; // Added status
+    // True when some products could not be loaded in time; their ids are in unresolvedProductIds
+    private boolean partial;
+    private List<Long> unresolvedProductIds;
+    private List<Long> missingProductIds;
 }
\ No newline at end of file
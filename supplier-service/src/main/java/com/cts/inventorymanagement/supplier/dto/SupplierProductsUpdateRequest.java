@@ -0,0 +1,16 @@
+package com.cts.inventorymanagement.supplier.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SupplierProductsUpdateRequest {
+    @NotEmpty(message = "Products supplied cannot be empty")
+    private List<Long> productsSupplied;
+}
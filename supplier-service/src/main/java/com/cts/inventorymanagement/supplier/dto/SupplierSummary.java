@@ -0,0 +1,30 @@
+package com.cts.inventorymanagement.supplier.dto;
+
+import java.util.List;
+
+import com.cts.inventorymanagement.supplier.model.ContactInfo;
+import com.cts.inventorymanagement.supplier.model.SupplierStatus;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Supplier without its product list, read straight from the query (JPQL constructor
+ * expression). {@code productsSupplied} is only filled in when asked for.
+ */
+@Data
+@NoArgsConstructor
+public class SupplierSummary {
+    private Long id;
+    private String name;
+    private ContactInfo contactInfo;
+    private SupplierStatus status;
+    private List<Long> productsSupplied;
+
+    public SupplierSummary(Long id, String name, String contactNo, String email, SupplierStatus status) {
+        this.id = id;
+        this.name = name;
+        this.contactInfo = new ContactInfo(contactNo, email);
+        this.status = status;
+    }
+}
@@ -4,6 +4,8 @@ import com.cts.inventorymanagement.supplier.dto.ErrorResponse;
 // Corrected import from model to dto if ProductDto, PurchaseOrderDto are in dto package
 // For now, assuming ProductDto and PurchaseOrderDto are in com.cts.inventorymanagement.supplier.dto
 import feign.FeignException;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -58,6 +60,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler({
             InvalidStatusChangeException.class,
             MethodArgumentTypeMismatchException.class,
+            IllegalArgumentException.class,
             ProductNotFoundException.class // <-- Added to specifically handle our custom ProductNotFoundException
     })
     public ResponseEntity<ErrorResponse> handleBadRequestExceptions(
@@ -84,6 +87,14 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(new RuntimeException(message), status, request);
     }
 
+    // Handle calls rejected by an open circuit breaker or a full bulkhead
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    public ResponseEntity<ErrorResponse> handleDownstreamRejected(
+            RuntimeException ex, HttpServletRequest request) {
+
+        return buildErrorResponse(ex, HttpStatus.SERVICE_UNAVAILABLE, request);
+    }
+
     // Generic exception handler for anything not specifically caught
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleAllExceptions(
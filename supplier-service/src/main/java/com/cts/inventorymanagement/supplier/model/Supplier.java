@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import org.hibernate.annotations.BatchSize;
+
 import java.util.List;
 
 @Entity
@@ -21,9 +23,12 @@ public class Supplier {
     @Embedded // Embed the ContactInfo object
     private ContactInfo contactInfo;
 
-    // Assuming productsSupplied is a list of product IDs
-    @ElementCollection(fetch = FetchType.EAGER) // Or LAZY if not always needed
-    @CollectionTable(name = "supplier_products", joinColumns = @JoinColumn(name = "supplier_id"))
+    // Assuming productsSupplied is a list of product IDs. Loaded on first access, for up to
+    // 100 suppliers of the same session per query; listings that do not need it never load it.
+    @ElementCollection(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
+    @CollectionTable(name = "supplier_products", joinColumns = @JoinColumn(name = "supplier_id"),
+            indexes = @Index(name = "idx_supplier_products_product_id", columnList = "product_id"))
     @Column(name = "product_id")
     private List<Long> productsSupplied;
 
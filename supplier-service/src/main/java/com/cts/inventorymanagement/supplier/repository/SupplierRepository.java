@@ -1,13 +1,40 @@
 package com.cts.inventorymanagement.supplier.repository;
 
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import com.cts.inventorymanagement.supplier.dto.SupplierSummary;
 import com.cts.inventorymanagement.supplier.model.Supplier;
+import com.cts.inventorymanagement.supplier.model.SupplierStatus;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface SupplierRepository extends JpaRepository<Supplier, Long> {
-    
-    @Query("SELECT s FROM Supplier s WHERE :productId MEMBER OF s.productsSupplied")
-    List<Supplier> findByProductsSuppliedContaining(@Param("productId") Long productId);
+
+    // The supplier with its product ids in one query, usable after the repository's own transaction ends
+    @EntityGraph(attributePaths = "productsSupplied")
+    Optional<Supplier> findWithProductsSuppliedById(Long id);
+
+    // Joins through the product_id index on supplier_products (MEMBER OF would be a correlated subquery)
+    @Query("SELECT DISTINCT s FROM Supplier s JOIN s.productsSupplied p WHERE p = :productId AND (:status IS NULL OR s.status = :status)")
+    List<Supplier> findByProductId(@Param("productId") Long productId, @Param("status") SupplierStatus status);
+
+    // Suppliers of many products in one query, as (productId, id, name, contactNo, email, status) rows
+    @Query("SELECT p, s.id, s.name, s.contactInfo.contactNo, s.contactInfo.email, s.status FROM Supplier s JOIN s.productsSupplied p "
+            + "WHERE p IN :productIds AND (:status IS NULL OR s.status = :status)")
+    List<Object[]> findSummariesByProductIds(@Param("productIds") Collection<Long> productIds, @Param("status") SupplierStatus status);
+
+    // Summary rows only; supplier_products is not touched
+    @Query(value = "SELECT new com.cts.inventorymanagement.supplier.dto.SupplierSummary(s.id, s.name, s.contactInfo.contactNo, s.contactInfo.email, s.status) "
+            + "FROM Supplier s WHERE (:status IS NULL OR s.status = :status)",
+            countQuery = "SELECT COUNT(s) FROM Supplier s WHERE (:status IS NULL OR s.status = :status)")
+    Page<SupplierSummary> findSummaries(@Param("status") SupplierStatus status, Pageable pageable);
+
+    // Product ids of many suppliers in one query, as (supplierId, productId) rows
+    @Query("SELECT s.id, p FROM Supplier s JOIN s.productsSupplied p WHERE s.id IN :supplierIds")
+    List<Object[]> findProductIdsBySupplierIds(@Param("supplierIds") Collection<Long> supplierIds);
 }
@@ -1,15 +1,20 @@
 package com.cts.inventorymanagement.supplier.service;
 
 import com.cts.inventorymanagement.supplier.dto.*;
+import com.cts.inventorymanagement.supplier.model.SupplierStatus;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 public interface SupplierService {
     List<SupplierResponse> getAllSuppliers();
+    PageResponse<SupplierSummary> getSupplierSummaries(SupplierStatus status, boolean includeProducts, int page, int size);
     SupplierResponse createSupplier(SupplierRequest request);
     SupplierDetailsResponse getSupplierDetails(Long id);
     List<PurchaseOrderDto> getSupplierOrdersBetweenDates(Long supplierId, LocalDate startDate, LocalDate endDate);
-    List<SupplierResponse> getSuppliersByProduct(Long productId);
+    List<SupplierResponse> getSuppliersByProduct(Long productId, SupplierStatus status);
+    Map<Long, List<SupplierSummary>> getSuppliersByProducts(List<Long> productIds, SupplierStatus status);
     SupplierResponse updateSupplierContact(Long id, ContactUpdateRequest request);
     SupplierResponse updateSupplierStatus(Long id, SupplierStatusUpdateRequest request);
+    SupplierResponse updateSupplierProducts(Long id, SupplierProductsUpdateRequest request);
 }
\ No newline at end of file
@@ -1,13 +1,25 @@
 package com.cts.inventorymanagement.supplier.service.impl;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.cts.inventorymanagement.supplier.client.ProductBatchFetcher;
 import com.cts.inventorymanagement.supplier.client.ProductClient;
 import com.cts.inventorymanagement.supplier.client.PurchaseOrderClient;
 import com.cts.inventorymanagement.supplier.exceptions.ProductNotFoundException;
@@ -16,12 +28,15 @@ import com.cts.inventorymanagement.supplier.model.ContactInfo;
 import com.cts.inventorymanagement.supplier.model.Supplier;
 import com.cts.inventorymanagement.supplier.model.SupplierStatus;
 import com.cts.inventorymanagement.supplier.dto.ContactUpdateRequest;
+import com.cts.inventorymanagement.supplier.dto.PageResponse;
 import com.cts.inventorymanagement.supplier.dto.ProductDto;
 import com.cts.inventorymanagement.supplier.dto.PurchaseOrderDto;
 import com.cts.inventorymanagement.supplier.dto.SupplierDetailsResponse;
+import com.cts.inventorymanagement.supplier.dto.SupplierProductsUpdateRequest;
 import com.cts.inventorymanagement.supplier.dto.SupplierRequest;
 import com.cts.inventorymanagement.supplier.dto.SupplierResponse;
 import com.cts.inventorymanagement.supplier.dto.SupplierStatusUpdateRequest;
+import com.cts.inventorymanagement.supplier.dto.SupplierSummary;
 import com.cts.inventorymanagement.supplier.repository.SupplierRepository;
 import com.cts.inventorymanagement.supplier.service.SupplierService;
 
@@ -33,11 +48,18 @@ import feign.FeignException;
 public class SupplierServiceImpl implements SupplierService {
 
     private static final Logger logger = LoggerFactory.getLogger(SupplierServiceImpl.class);
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int MAX_PRODUCT_LOOKUP = 1000;
+    private static final int ORDER_PAGE_SIZE = 500;
+    // product-service checks at most this many ids per /products/missing call
+    private static final int MISSING_CHECK_CHUNK = 5000;
     private final SupplierRepository repository;
     private final ProductClient productClient;
+    private final ProductBatchFetcher productBatchFetcher;
     private final PurchaseOrderClient purchaseClient;
 
     @Override
+    @Transactional(readOnly = true)
     public List<SupplierResponse> getAllSuppliers() {
         logger.info("Fetching all suppliers.");
         List<Supplier> suppliers = repository.findAll();
@@ -48,26 +70,31 @@ public class SupplierServiceImpl implements SupplierService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public PageResponse<SupplierSummary> getSupplierSummaries(SupplierStatus status, boolean includeProducts, int page, int size) {
+        logger.info("Fetching supplier summaries: status={}, page={}, size={}, includeProducts={}", status, page, size, includeProducts);
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE), Sort.by("id"));
+        Page<SupplierSummary> summaries = repository.findSummaries(status, pageable);
+
+        if (includeProducts && summaries.hasContent()) {
+            Map<Long, List<Long>> productIds = new HashMap<>();
+            List<Long> supplierIds = summaries.getContent().stream().map(SupplierSummary::getId).toList();
+            for (Object[] row : repository.findProductIdsBySupplierIds(supplierIds)) {
+                productIds.computeIfAbsent((Long) row[0], key -> new ArrayList<>()).add((Long) row[1]);
+            }
+            summaries.forEach(summary -> summary.setProductsSupplied(productIds.getOrDefault(summary.getId(), List.of())));
+        }
+        logger.debug("Retrieved {} of {} suppliers.", summaries.getNumberOfElements(), summaries.getTotalElements());
+        return PageResponse.of(summaries);
+    }
+
+    @Override
+    @Transactional
     public SupplierResponse createSupplier(SupplierRequest request) {
         logger.info("Attempting to create a new supplier: {}", request.getName());
 
         if (request.getProductsSupplied() != null && !request.getProductsSupplied().isEmpty()) {
-            for (Long productId : request.getProductsSupplied()) {
-                logger.debug("Checking existence of product with ID: {}", productId);
-                try {
-                    productClient.getProductById(productId);
-                    logger.debug("Product with ID: {} found.", productId);
-                } catch (FeignException.NotFound ex) {
-                    logger.error("Product with ID: {} not found in product service. Cannot create supplier.", productId);
-                    throw new ProductNotFoundException("Product with ID: " + productId + " not found. Supplier cannot be created.");
-                } catch (FeignException ex) {
-                    logger.error("Feign client error while checking product ID {}: {}", productId, ex.getMessage());
-                    throw new RuntimeException("Error communicating with product service for product ID: " + productId + ". Details: " + ex.getMessage(), ex);
-                } catch (Exception ex) {
-                    logger.error("Unexpected error while checking product ID {}: {}", productId, ex.getMessage());
-                    throw new RuntimeException("An unexpected error occurred during product check for ID: " + productId + ". Details: " + ex.getMessage(), ex);
-                }
-            }
+            validateProductsExist(request.getProductsSupplied(), "Supplier cannot be created.");
         } else {
             logger.warn("No products specified for supplier {}.", request.getName());
         }
@@ -86,38 +113,32 @@ public class SupplierServiceImpl implements SupplierService {
     @Override
     public SupplierDetailsResponse getSupplierDetails(Long id) {
         logger.info("Fetching details for supplier ID: {}", id);
-        Supplier supplier = repository.findById(id)
+        // No transaction around the product fan-out: the lookup loads the product ids and releases its connection
+        Supplier supplier = repository.findWithProductsSuppliedById(id)
                 .orElseThrow(() -> {
                     logger.warn("Supplier not found with id: {}", id);
                     return new SupplierNotFoundException("Supplier not found with id: " + id);
                 });
 
         logger.debug("Fetching products supplied by supplier ID: {}", id);
-        List<ProductDto> products = supplier.getProductsSupplied().stream()
-                .map(productId -> {
-                    try {
-                        return productClient.getProductById(productId);
-                    } catch (FeignException.NotFound ex) {
-                        logger.warn("Product with ID: {} associated with supplier {} was not found in product service. Excluding from details.", productId, id);
-                        return null;
-                    } catch (FeignException ex) {
-                        logger.error("Feign client error fetching product ID {} for supplier {}: {}", productId, id, ex.getMessage());
-                        return null;
-                    } catch (Exception ex) {
-                        logger.error("Unexpected error fetching product ID {} for supplier {}: {}", productId, id, ex.getMessage());
-                        return null;
-                    }
-                })
-                .filter(java.util.Objects::nonNull)
-                .collect(Collectors.toList());
-        logger.debug("Retrieved {} products for supplier ID: {}", products.size(), id);
+        ProductBatchFetcher.Result products = productBatchFetcher.fetch(supplier.getProductsSupplied());
+        if (!products.missingIds().isEmpty()) {
+            logger.warn("Products {} associated with supplier {} were not found in product service. Excluding from details.", products.missingIds(), id);
+        }
+        if (products.isPartial()) {
+            logger.warn("Returning partial details for supplier {}: {} products could not be loaded.", id, products.unresolvedIds().size());
+        }
+        logger.debug("Retrieved {} products for supplier ID: {}", products.products().size(), id);
 
         SupplierDetailsResponse response = new SupplierDetailsResponse(
                 supplier.getId(),
                 supplier.getName(),
                 supplier.getContactInfo(),
-                products,
-                supplier.getStatus()
+                products.products(),
+                supplier.getStatus(),
+                products.isPartial(),
+                products.unresolvedIds(),
+                products.missingIds()
         );
         logger.info("Returning details for supplier ID: {}", id);
         return response;
@@ -126,19 +147,23 @@ public class SupplierServiceImpl implements SupplierService {
     @Override
     public List<PurchaseOrderDto> getSupplierOrdersBetweenDates(Long supplierId, LocalDate startDate, LocalDate endDate) {
         logger.info("Fetching purchase orders for supplier ID: {} between {} and {}", supplierId, startDate, endDate);
-        List<PurchaseOrderDto> allOrders = purchaseClient.getOrdersBySupplier(supplierId);
-        List<PurchaseOrderDto> filteredOrders = allOrders.stream()
-                .filter(order -> !order.getOrderDate().isBefore(startDate) &&
-                                 !order.getOrderDate().isAfter(endDate))
-                .collect(Collectors.toList());
+        // purchase-service filters by supplier and date; only the matching pages cross the wire
+        List<PurchaseOrderDto> filteredOrders = new ArrayList<>();
+        PageResponse<PurchaseOrderDto> page;
+        int pageNumber = 0;
+        do {
+            page = purchaseClient.getOrdersBySupplierAndDateRange(supplierId, startDate, endDate, pageNumber++, ORDER_PAGE_SIZE);
+            filteredOrders.addAll(page.getContent());
+        } while (pageNumber < page.getTotalPages());
         logger.debug("Retrieved {} purchase orders for supplier ID: {} between {} and {}", filteredOrders.size(), supplierId, startDate, endDate);
         return filteredOrders;
     }
 
     @Override
-    public List<SupplierResponse> getSuppliersByProduct(Long productId) {
-        logger.info("Fetching suppliers for product ID: {}", productId);
-        List<Supplier> suppliers = repository.findByProductsSuppliedContaining(productId);
+    @Transactional(readOnly = true)
+    public List<SupplierResponse> getSuppliersByProduct(Long productId, SupplierStatus status) {
+        logger.info("Fetching suppliers for product ID: {} (status: {})", productId, status);
+        List<Supplier> suppliers = repository.findByProductId(productId, status);
         logger.debug("Retrieved {} suppliers for product ID: {}", suppliers.size(), productId);
         return suppliers.stream()
                 .map(this::convertToResponse)
@@ -146,6 +171,28 @@ public class SupplierServiceImpl implements SupplierService {
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public Map<Long, List<SupplierSummary>> getSuppliersByProducts(List<Long> productIds, SupplierStatus status) {
+        if (productIds.size() > MAX_PRODUCT_LOOKUP) {
+            throw new IllegalArgumentException("At most " + MAX_PRODUCT_LOOKUP + " product ids per request, got " + productIds.size());
+        }
+        logger.info("Fetching suppliers for {} products (status: {})", productIds.size(), status);
+        // Every requested product gets an entry, empty when nobody supplies it
+        Map<Long, List<SupplierSummary>> suppliers = new LinkedHashMap<>();
+        productIds.stream().filter(Objects::nonNull).forEach(id -> suppliers.putIfAbsent(id, new ArrayList<>()));
+        if (suppliers.isEmpty()) {
+            return suppliers;
+        }
+        for (Object[] row : repository.findSummariesByProductIds(suppliers.keySet(), status)) {
+            suppliers.get((Long) row[0]).add(new SupplierSummary((Long) row[1], (String) row[2], (String) row[3],
+                    (String) row[4], (SupplierStatus) row[5]));
+        }
+        logger.debug("Resolved suppliers for {} products.", suppliers.size());
+        return suppliers;
+    }
+
+    @Override
+    @Transactional
     public SupplierResponse updateSupplierContact(Long id, ContactUpdateRequest request) {
         logger.info("Updating contact info for supplier ID: {}", id);
         Supplier supplier = repository.findById(id)
@@ -161,6 +208,7 @@ public class SupplierServiceImpl implements SupplierService {
     }
 
     @Override
+    @Transactional
     public SupplierResponse updateSupplierStatus(Long id, SupplierStatusUpdateRequest request) {
         logger.info("Updating status for supplier ID: {} to {}", id, request.getStatus());
         Supplier supplier = repository.findById(id)
@@ -175,12 +223,57 @@ public class SupplierServiceImpl implements SupplierService {
         return updatedSupplier;
     }
 
+    @Override
+    @Transactional
+    public SupplierResponse updateSupplierProducts(Long id, SupplierProductsUpdateRequest request) {
+        logger.info("Updating products supplied by supplier ID: {} ({} products)", id, request.getProductsSupplied().size());
+        Supplier supplier = repository.findById(id)
+                .orElseThrow(() -> {
+                    logger.warn("Supplier not found with id: {} for products update.", id);
+                    return new SupplierNotFoundException("Supplier not found with id: " + id);
+                });
+
+        validateProductsExist(request.getProductsSupplied(), "Supplier products cannot be updated.");
+        supplier.setProductsSupplied(new ArrayList<>(new LinkedHashSet<>(request.getProductsSupplied())));
+        SupplierResponse updatedSupplier = convertToResponse(repository.save(supplier));
+        logger.info("Products updated for supplier ID: {}", id);
+        return updatedSupplier;
+    }
+
+    /**
+     * Checks the ids with product-service, which answers with the ids it does not
+     * know, in calls of up to {@value #MISSING_CHECK_CHUNK} ids (its per-request cap).
+     */
+    private void validateProductsExist(List<Long> productIds, String consequence) {
+        logger.debug("Checking existence of {} products.", productIds.size());
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(productIds));
+        List<Long> missing = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += MISSING_CHECK_CHUNK) {
+            List<Long> chunk = ids.subList(from, Math.min(from + MISSING_CHECK_CHUNK, ids.size()));
+            try {
+                missing.addAll(productClient.findMissingProductIds(chunk));
+            } catch (FeignException ex) {
+                logger.error("Feign client error while checking {} product IDs: {}", chunk.size(), ex.getMessage());
+                if (ex.status() >= 400 && ex.status() < 500) {
+                    // product-service rejected the ids themselves, so the request is at fault
+                    throw new IllegalArgumentException("Product service rejected the product IDs. " + consequence + " Details: " + ex.contentUTF8(), ex);
+                }
+                throw new RuntimeException("Error communicating with product service while checking products. Details: " + ex.getMessage(), ex);
+            }
+        }
+        if (!missing.isEmpty()) {
+            logger.error("Products with IDs: {} not found in product service. {}", missing, consequence);
+            throw new ProductNotFoundException("Products with IDs: " + missing + " not found. " + consequence);
+        }
+    }
+
     private SupplierResponse convertToResponse(Supplier supplier) {
         SupplierResponse response = new SupplierResponse(
                 supplier.getId(),
                 supplier.getName(),
                 supplier.getContactInfo(),
-                supplier.getProductsSupplied(),
+                // Copied so the response never holds the entity's lazy collection
+                supplier.getProductsSupplied() == null ? null : new ArrayList<>(supplier.getProductsSupplied()),
                 supplier.getStatus()
         );
         logger.debug("Converted Supplier to SupplierResponse. Supplier ID: {}", supplier.getId());
@@ -0,0 +1,78 @@
+package com.cts.inventorymanagement.supplier.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+
+import com.cts.inventorymanagement.supplier.dto.ProductDto;
+
+class ProductBatchFetcherTest {
+
+    private final ProductClient productClient = mock(ProductClient.class);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private ProductBatchFetcher fetcher;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        fetcher.destroy();
+    }
+
+    @Test
+    void chunksBeyondTheQueueAreUnresolvedWithoutWaiting() {
+        // One thread, one queued chunk: the first chunk hangs, the second waits, the other three are rejected
+        when(productClient.getProductsByIds(anyList())).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return List.of();
+        });
+        fetcher = fetcher(1, 1, Duration.ofMillis(200));
+
+        ProductBatchFetcher.Result result = fetcher.fetch(ids(1, 5));
+
+        assertThat(result.unresolvedIds()).containsExactlyInAnyOrderElementsOf(ids(1, 5));
+        assertThat(result.isPartial()).isTrue();
+        assertThat(result.missingIds()).isEmpty();
+    }
+
+    @Test
+    void completedChunksKeepTheRequestedOrder() {
+        when(productClient.getProductsByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> chunk = invocation.getArgument(0);
+            return chunk.stream().filter(id -> id != 3L).map(ProductBatchFetcherTest::product).collect(Collectors.toList());
+        });
+        fetcher = fetcher(2, 10, Duration.ofSeconds(2));
+
+        ProductBatchFetcher.Result result = fetcher.fetch(List.of(4L, 1L, 3L, 2L, 1L));
+
+        assertThat(result.products()).extracting(ProductDto::getProductId).containsExactly(4L, 1L, 2L);
+        assertThat(result.missingIds()).containsExactly(3L);
+        assertThat(result.isPartial()).isFalse();
+    }
+
+    @SuppressWarnings("unchecked")
+    private ProductBatchFetcher fetcher(int parallelism, int queueCapacity, Duration deadline) {
+        return new ProductBatchFetcher(productClient, mock(ObjectProvider.class), 1, parallelism, queueCapacity, deadline);
+    }
+
+    private static List<Long> ids(long from, long to) {
+        return LongStream.rangeClosed(from, to).boxed().collect(Collectors.toList());
+    }
+
+    private static ProductDto product(Long id) {
+        ProductDto product = new ProductDto();
+        product.setProductId(id);
+        return product;
+    }
+}
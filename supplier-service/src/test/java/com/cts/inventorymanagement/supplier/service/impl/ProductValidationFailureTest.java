@@ -0,0 +1,133 @@
+package com.cts.inventorymanagement.supplier.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.cloud.circuitbreaker.resilience4j.Resilience4JAutoConfiguration;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.cts.inventorymanagement.common.feign.FeignClientConfig;
+import com.cts.inventorymanagement.supplier.client.ProductBatchFetcher;
+import com.cts.inventorymanagement.supplier.client.ProductClient;
+import com.cts.inventorymanagement.supplier.client.PurchaseOrderClient;
+import com.cts.inventorymanagement.supplier.dto.SupplierRequest;
+import com.cts.inventorymanagement.supplier.exceptions.GlobalExceptionHandler;
+import com.cts.inventorymanagement.supplier.repository.SupplierRepository;
+
+import feign.Client;
+import feign.Response;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.bulkhead.ThreadPoolBulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.timelimiter.TimeLimiterRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/** product-service rejections reach supplier callers as 400 with the circuit breaker on. */
+class ProductValidationFailureTest {
+
+    private static final SupplierRequest REQUEST = new SupplierRequest("Acme", null, List.of(1L, 2L));
+
+    private final ApplicationContextRunner runner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(JacksonAutoConfiguration.class,
+                    HttpMessageConvertersAutoConfiguration.class, FeignAutoConfiguration.class,
+                    Resilience4JAutoConfiguration.class, FeignClientConfig.class))
+            .withUserConfiguration(ProductService.class)
+            .withPropertyValues("spring.cloud.openfeign.circuitbreaker.enabled=true",
+                    "spring.cloud.circuitbreaker.resilience4j.disable-time-limiter=true");
+
+    private final SupplierRepository repository = mock(SupplierRepository.class);
+
+    @Test
+    void rejectedProductIdsAreABadRequest() {
+        runner.withPropertyValues("product-service.status=400").run(context -> {
+            SupplierServiceImpl service = service(context.getBean(ProductClient.class));
+
+            Throwable error = catchThrowable(() -> service.createSupplier(REQUEST));
+
+            assertThat(error).isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageContaining("Product service rejected the product IDs. Supplier cannot be created.");
+            assertThat(new GlobalExceptionHandler().handleBadRequestExceptions((Exception) error,
+                    new MockHttpServletRequest()).getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+            verifyNoInteractions(repository);
+        });
+    }
+
+    @Test
+    void productServiceFailureIsNotABadRequest() {
+        runner.withPropertyValues("product-service.status=500").run(context -> {
+            SupplierServiceImpl service = service(context.getBean(ProductClient.class));
+
+            assertThat(catchThrowable(() -> service.createSupplier(REQUEST))).isExactlyInstanceOf(RuntimeException.class)
+                    .hasMessageStartingWith("Error communicating with product service");
+            verifyNoInteractions(repository);
+        });
+    }
+
+    private SupplierServiceImpl service(ProductClient productClient) {
+        return new SupplierServiceImpl(repository, productClient, mock(ProductBatchFetcher.class),
+                mock(PurchaseOrderClient.class));
+    }
+
+    // /products/missing answers with product-service.status
+    @Configuration(proxyBeanMethods = false)
+    @EnableFeignClients(clients = ProductClient.class)
+    static class ProductService {
+
+        @Bean
+        Client productServiceClient(@Value("${product-service.status}") int status) {
+            return (request, options) -> Response.builder()
+                    .status(status)
+                    .reason(HttpStatus.valueOf(status).getReasonPhrase())
+                    .request(request)
+                    .headers(Map.of())
+                    .body("{\"message\":\"rejected\"}", StandardCharsets.UTF_8)
+                    .build();
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        CircuitBreakerRegistry circuitBreakerRegistry() {
+            return CircuitBreakerRegistry.ofDefaults();
+        }
+
+        @Bean
+        TimeLimiterRegistry timeLimiterRegistry() {
+            return TimeLimiterRegistry.ofDefaults();
+        }
+
+        @Bean
+        BulkheadRegistry bulkheadRegistry() {
+            return BulkheadRegistry.ofDefaults();
+        }
+
+        @Bean
+        ThreadPoolBulkheadRegistry threadPoolBulkheadRegistry() {
+            return ThreadPoolBulkheadRegistry.ofDefaults();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.cts.inventorymanagement.supplier.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import com.cts.inventorymanagement.supplier.client.ProductBatchFetcher;
+import com.cts.inventorymanagement.supplier.client.ProductClient;
+import com.cts.inventorymanagement.supplier.client.PurchaseOrderClient;
+import com.cts.inventorymanagement.supplier.dto.PageResponse;
+import com.cts.inventorymanagement.supplier.dto.PurchaseOrderDto;
+import com.cts.inventorymanagement.supplier.dto.SupplierResponse;
+import com.cts.inventorymanagement.supplier.dto.SupplierSummary;
+import com.cts.inventorymanagement.supplier.model.Supplier;
+import com.cts.inventorymanagement.supplier.model.SupplierStatus;
+import com.cts.inventorymanagement.supplier.repository.SupplierRepository;
+
+@ExtendWith(MockitoExtension.class)
+class SupplierServiceImplTest {
+
+    @Mock
+    private SupplierRepository repository;
+
+    @Mock
+    private ProductClient productClient;
+
+    @Mock
+    private ProductBatchFetcher productBatchFetcher;
+
+    @Mock
+    private PurchaseOrderClient purchaseClient;
+
+    @InjectMocks
+    private SupplierServiceImpl service;
+
+    @Test
+    void summariesArePagedByIdWithTheStatusFilter() {
+        Pageable pageable = PageRequest.of(2, 20, Sort.by("id"));
+        when(repository.findSummaries(SupplierStatus.CURRENT, pageable))
+                .thenReturn(new PageImpl<>(List.of(summary(41L), summary(42L)), pageable, 42));
+
+        PageResponse<SupplierSummary> response = service.getSupplierSummaries(SupplierStatus.CURRENT, false, 2, 20);
+
+        assertThat(response.getContent()).extracting(SupplierSummary::getId).containsExactly(41L, 42L);
+        assertThat(response.getPage()).isEqualTo(2);
+        assertThat(response.getTotalElements()).isEqualTo(42);
+        assertThat(response.getTotalPages()).isEqualTo(3);
+        assertThat(response.getContent()).allSatisfy(summary -> assertThat(summary.getProductsSupplied()).isNull());
+        verify(repository, never()).findProductIdsBySupplierIds(any());
+    }
+
+    @Test
+    void summaryPageAndSizeAreClamped() {
+        when(repository.findSummaries(eq(null), any())).thenAnswer(invocation -> new PageImpl<>(List.of(), invocation.getArgument(1), 0));
+
+        service.getSupplierSummaries(null, false, -1, 10_000);
+        service.getSupplierSummaries(null, false, 0, 0);
+
+        ArgumentCaptor<Pageable> pageables = ArgumentCaptor.forClass(Pageable.class);
+        verify(repository, times(2)).findSummaries(eq(null), pageables.capture());
+        assertThat(pageables.getAllValues()).extracting(Pageable::getPageNumber, Pageable::getPageSize)
+                .containsExactly(tuple(0, 500), tuple(0, 1));
+    }
+
+    @Test
+    void productIdsAreLoadedForTheWholePageInOneQuery() {
+        Pageable pageable = PageRequest.of(0, 50, Sort.by("id"));
+        when(repository.findSummaries(null, pageable))
+                .thenReturn(new PageImpl<>(List.of(summary(1L), summary(2L)), pageable, 2));
+        when(repository.findProductIdsBySupplierIds(List.of(1L, 2L)))
+                .thenReturn(List.of(new Object[] {1L, 10L}, new Object[] {1L, 11L}));
+
+        PageResponse<SupplierSummary> response = service.getSupplierSummaries(null, true, 0, 50);
+
+        assertThat(response.getContent().get(0).getProductsSupplied()).containsExactly(10L, 11L);
+        assertThat(response.getContent().get(1).getProductsSupplied()).isEmpty();
+    }
+
+    @Test
+    void emptyPageSkipsTheProductQuery() {
+        Pageable pageable = PageRequest.of(5, 50, Sort.by("id"));
+        when(repository.findSummaries(SupplierStatus.PAST, pageable)).thenReturn(new PageImpl<>(List.of(), pageable, 3));
+
+        PageResponse<SupplierSummary> response = service.getSupplierSummaries(SupplierStatus.PAST, true, 5, 50);
+
+        assertThat(response.getContent()).isEmpty();
+        verify(repository, never()).findProductIdsBySupplierIds(anyCollection());
+    }
+
+    @Test
+    void suppliersOfAProductArePassedTheStatusFilter() {
+        when(repository.findByProductId(10L, SupplierStatus.CURRENT))
+                .thenReturn(List.of(new Supplier(1L, "Acme", null, List.of(10L, 11L), SupplierStatus.CURRENT)));
+
+        List<SupplierResponse> suppliers = service.getSuppliersByProduct(10L, SupplierStatus.CURRENT);
+
+        assertThat(suppliers).extracting(SupplierResponse::getId).containsExactly(1L);
+        assertThat(suppliers.get(0).getProductsSupplied()).containsExactly(10L, 11L);
+    }
+
+    @Test
+    void everyRequestedProductGetsAnEntry() {
+        when(repository.findSummariesByProductIds(anyCollection(), eq(SupplierStatus.CURRENT))).thenReturn(List.of(
+                new Object[] {10L, 1L, "Acme", "555-0001", "a@example.com", SupplierStatus.CURRENT},
+                new Object[] {10L, 2L, "Bolt", "555-0002", "b@example.com", SupplierStatus.CURRENT},
+                new Object[] {12L, 1L, "Acme", "555-0001", "a@example.com", SupplierStatus.CURRENT}));
+
+        Map<Long, List<SupplierSummary>> suppliers = service.getSuppliersByProducts(
+                Arrays.asList(12L, 10L, null, 11L, 10L), SupplierStatus.CURRENT);
+
+        assertThat(suppliers).containsOnlyKeys(12L, 10L, 11L);
+        assertThat(suppliers.keySet()).containsExactly(12L, 10L, 11L);
+        assertThat(suppliers.get(10L)).extracting(SupplierSummary::getId).containsExactly(1L, 2L);
+        assertThat(suppliers.get(11L)).isEmpty();
+        assertThat(suppliers.get(12L).get(0).getContactInfo().getEmail()).isEqualTo("a@example.com");
+        verify(repository).findSummariesByProductIds(Set.of(12L, 10L, 11L), SupplierStatus.CURRENT);
+    }
+
+    @Test
+    void noProductIdsNeedNoQuery() {
+        assertThat(service.getSuppliersByProducts(Arrays.asList((Long) null), null)).isEmpty();
+
+        verify(repository, never()).findSummariesByProductIds(anyCollection(), any());
+    }
+
+    @Test
+    void productLookupIsCappedAtOneThousandIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 1001).boxed().collect(Collectors.toList());
+
+        assertThatThrownBy(() -> service.getSuppliersByProducts(ids, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("1000");
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void supplierOrdersAreReadPageByPage() {
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        LocalDate end = LocalDate.of(2026, 1, 31);
+        when(purchaseClient.getOrdersBySupplierAndDateRange(7L, start, end, 0, 500))
+                .thenReturn(new PageResponse<>(List.of(purchaseOrder(1L), purchaseOrder(2L)), 0, 500, 3, 2));
+        when(purchaseClient.getOrdersBySupplierAndDateRange(7L, start, end, 1, 500))
+                .thenReturn(new PageResponse<>(List.of(purchaseOrder(3L)), 1, 500, 3, 2));
+
+        List<PurchaseOrderDto> orders = service.getSupplierOrdersBetweenDates(7L, start, end);
+
+        assertThat(orders).extracting(PurchaseOrderDto::getId).containsExactly(1L, 2L, 3L);
+        verify(purchaseClient, times(2)).getOrdersBySupplierAndDateRange(eq(7L), eq(start), eq(end), anyInt(), eq(500));
+    }
+
+    @Test
+    void supplierWithoutOrdersNeedsOneCall() {
+        LocalDate day = LocalDate.of(2026, 1, 1);
+        when(purchaseClient.getOrdersBySupplierAndDateRange(7L, day, day, 0, 500))
+                .thenReturn(new PageResponse<>(List.of(), 0, 500, 0, 0));
+
+        assertThat(service.getSupplierOrdersBetweenDates(7L, day, day)).isEmpty();
+        verify(purchaseClient).getOrdersBySupplierAndDateRange(7L, day, day, 0, 500);
+    }
+
+    private static PurchaseOrderDto purchaseOrder(Long id) {
+        PurchaseOrderDto order = new PurchaseOrderDto();
+        order.setId(id);
+        return order;
+    }
+
+    private static SupplierSummary summary(Long id) {
+        return new SupplierSummary(id, "Supplier " + id, "555-000" + id, "s" + id + "@example.com", SupplierStatus.CURRENT);
+    }
+}